@@ -26,4 +26,5 @@ public class BlueZAdapterConfiguration extends BaseBluetoothBridgeHandlerConfigu
 
     public @Nullable String address;
     public boolean lazyScan = true;
+    public int manufacturerDataWindow = 0;
 }
@@ -15,6 +15,8 @@ package org.openhab.binding.bluetooth.bluez.internal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +38,9 @@ import org.openhab.binding.bluetooth.bluez.internal.events.AdapterRemovedEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEvent;
 import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEventListener;
 import org.openhab.binding.bluetooth.bluez.internal.events.DeviceRemovedEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.ManufacturerDataEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.RssiEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.ServiceDataEvent;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
@@ -55,6 +60,7 @@ import com.github.hypfvieh.bluetooth.wrapper.BluetoothDevice;
  * @author Hilbrand Bouwkamp - Simplified calling scan and better handling manual scanning
  * @author Connor Petty - Simplified device scan logic
  * @author Benjamin Lafois - Replaced tinyB with bluezDbus
+ * @author Jan Vybíral - Dispatch by object path and coalescing of manufacturer data
  *
  */
 @NonNullByDefault
@@ -78,8 +84,20 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
 
     private @Nullable ScheduledFuture<?> discoveryJob;
 
+    private @Nullable ScheduledFuture<?> statisticsJob;
+
     private final DeviceManagerFactory deviceManagerFactory;
 
+    // the devices by their object path, e.g. /org/bluez/hci0/dev_AA_BB_CC_DD_EE_FF
+    private final Map<String, BlueZBluetoothDevice> devicesByPath = new ConcurrentHashMap<>();
+
+    // manufacturer data updates waiting for the end of the coalescing window, by object path of the device
+    private final Map<String, ManufacturerDataEvent> pendingManufacturerData = new ConcurrentHashMap<>();
+
+    private long manufacturerDataWindow;
+
+    private final BlueZDispatchStatistics statistics = new BlueZDispatchStatistics(System.nanoTime());
+
     /**
      * Constructor
      *
@@ -105,11 +123,13 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             return;
         }
         this.lazyScan = configuration.lazyScan;
+        setManufacturerDataWindow(configuration.manufacturerDataWindow);
 
         logger.debug("Creating BlueZ adapter with address '{}'", adapterAddress);
         updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, "Initializing");
         deviceManagerFactory.getPropertiesChangedHandler().addListener(this);
         discoveryJob = scheduler.scheduleWithFixedDelay(this::initializeAndRefreshDevices, 5, 10, TimeUnit.SECONDS);
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::sampleStatistics, 1, 1, TimeUnit.MINUTES);
     }
 
     @Override
@@ -128,6 +148,11 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             job.cancel(true);
             discoveryJob = null;
         }
+        job = statisticsJob;
+        if (job != null) {
+            job.cancel(true);
+            statisticsJob = null;
+        }
 
         BluetoothAdapter adapter = this.adapter;
         if (adapter != null) {
@@ -140,6 +165,8 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
 
         super.dispose();
+        devicesByPath.clear();
+        pendingManufacturerData.clear();
     }
 
     private @Nullable BluetoothAdapter prepareAdapter(DeviceManagerWrapper deviceManager) {
@@ -232,6 +259,19 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
     }
 
+    private void sampleStatistics() {
+        // not written to the properties, which would update the thing in the storage every minute
+        statistics.sample(System.nanoTime());
+        logger.debug("Dispatch statistics of adapter {}: {}", adapterAddress, statistics);
+    }
+
+    /**
+     * Get the statistics of the events received from BlueZ, shown by the console command {@code openhab:bluez stats}.
+     */
+    public BlueZDispatchStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Temporarily stops the adapter's discovery. BlueZ's {@code Device.Connect()} is unreliable
      * (slow / blocking) while the adapter is actively discovering, so callers pause discovery around
@@ -290,6 +330,14 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         return new BlueZBluetoothDevice(this, address);
     }
 
+    @Override
+    protected void removeDevice(BlueZBluetoothDevice device) {
+        // the device has to be removed from the index after it has been removed from the devices, otherwise an event
+        // received in between would put it back into the index
+        super.removeDevice(device);
+        devicesByPath.values().remove(device);
+    }
+
     @Override
     public void onDBusBlueZEvent(BlueZEvent event) {
         BluetoothAdapter localAdapter = this.adapter;
@@ -305,15 +353,83 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             return;
         }
 
-        BluetoothAddress address = event.getDevice();
-
-        if (address != null) {
-            // now lets forward the event to the corresponding bluetooth device
-            BlueZBluetoothDevice device = getDevice(address);
-            event.dispatch(device);
-        } else {
+        String devicePath = event.getDevicePath();
+        if (devicePath == null) {
             // adapter-scoped event (no device in the path), e.g. adapter removed - handle it here
             event.dispatch(this);
+            return;
+        }
+        dispatchDeviceEvent(devicePath, event);
+    }
+
+    /**
+     * Set the window in milliseconds in which manufacturer data updates of a device are merged, 0 disables merging.
+     */
+    void setManufacturerDataWindow(long manufacturerDataWindow) {
+        this.manufacturerDataWindow = Math.max(0, manufacturerDataWindow);
+    }
+
+    /**
+     * Passes an event of this adapter to the device with the given object path.
+     */
+    void dispatchDeviceEvent(String devicePath, BlueZEvent event) {
+        // now lets forward the event to the corresponding bluetooth device
+        BlueZBluetoothDevice device = devicesByPath.get(devicePath);
+        if (device == null) {
+            BluetoothAddress address = Objects.requireNonNull(event.getDevice());
+            device = getDevice(address);
+            devicesByPath.put(devicePath, device);
+            // the device may have been removed while it was put into the index, it must not be kept there then
+            BlueZBluetoothDevice current = getDevice(address);
+            if (current != device) {
+                devicesByPath.put(devicePath, current);
+                device = current;
+            }
+        }
+
+        if (event instanceof RssiEvent || event instanceof ServiceDataEvent) {
+            statistics.advertisementReceived();
+        } else if (event instanceof ManufacturerDataEvent manufacturerDataEvent) {
+            statistics.advertisementReceived();
+            if (manufacturerDataWindow > 0) {
+                coalesceManufacturerData(devicePath, manufacturerDataEvent);
+                return;
+            }
+        }
+        dispatch(event, device);
+    }
+
+    private void dispatch(BlueZEvent event, BlueZBluetoothDevice device) {
+        statistics.eventDispatched(event.getReceivedNanos(), System.nanoTime());
+        event.dispatch(device);
+    }
+
+    /**
+     * Devices like sensors send their manufacturer data several times a second. The updates of a device are collected
+     * and only the merged data is passed to the device at the end of the window which started with the first update.
+     */
+    private void coalesceManufacturerData(String devicePath, ManufacturerDataEvent event) {
+        boolean[] windowStarted = { false };
+        pendingManufacturerData.compute(devicePath, (path, pending) -> {
+            if (pending == null) {
+                windowStarted[0] = true;
+                return event;
+            }
+            statistics.eventCoalesced();
+            Map<Short, byte[]> data = new HashMap<>(pending.getData());
+            data.putAll(event.getData());
+            ManufacturerDataEvent merged = new ManufacturerDataEvent(path, data);
+            merged.setReceivedNanos(pending.getReceivedNanos());
+            return merged;
+        });
+        if (windowStarted[0]) {
+            scheduler.schedule(() -> {
+                ManufacturerDataEvent pending = pendingManufacturerData.remove(devicePath);
+                BlueZBluetoothDevice device = devicesByPath.get(devicePath);
+                if (pending != null && device != null) {
+                    dispatch(pending, device);
+                }
+            }, manufacturerDataWindow, TimeUnit.MILLISECONDS);
         }
     }
 
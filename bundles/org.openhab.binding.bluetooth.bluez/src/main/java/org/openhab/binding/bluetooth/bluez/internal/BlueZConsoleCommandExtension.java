@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Karaf console commands for the BlueZ binding.
+ *
+ * <pre>
+ * openhab:bluez stats   - show the event dispatch statistics of the adapters
+ * </pre>
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class BlueZConsoleCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public BlueZConsoleCommandExtension(@Reference ThingRegistry thingRegistry) {
+        super("bluez", "BlueZ binding commands.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "show the event dispatch statistics of the adapters"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_STATS.equals(args[0])) {
+            boolean found = false;
+            for (Thing thing : thingRegistry.getAll()) {
+                if (thing.getHandler() instanceof BlueZBridgeHandler bridge) {
+                    found = true;
+                    BlueZDispatchStatistics statistics = bridge.getStatistics();
+                    console.println(thing.getUID() + ":");
+                    console.println("  Advertisements:               " + statistics.getAdvertisements());
+                    console.println("  Advertisement rate (last min): "
+                            + String.format(Locale.ROOT, "%.1f/s", statistics.getAdvertisementRate()));
+                    console.println("  Dispatch latency (avg):        "
+                            + String.format(Locale.ROOT, "%.2f ms", statistics.getDispatchLatency()));
+                    console.println("  Dispatch latency (max):        " + statistics.getMaxDispatchLatency() + " ms");
+                    console.println("  Coalesced manufacturer data:   " + statistics.getCoalescedEvents());
+                }
+            }
+            if (!found) {
+                console.println("No BlueZ bridge things found.");
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link BlueZDispatchStatistics} counts the events an adapter receives from BlueZ and measures the time until
+ * they are passed to the devices. The rate and the latencies are those of the period before the latest
+ * {@link #sample(long)}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class BlueZDispatchStatistics {
+
+    private final LongAdder advertisements = new LongAdder();
+    private final LongAdder dispatchedEvents = new LongAdder();
+    private final LongAdder dispatchLatencyNanos = new LongAdder();
+    private final AtomicLong maxDispatchLatencyNanos = new AtomicLong();
+    private final LongAdder coalescedEvents = new LongAdder();
+
+    // All access must be guarded by "this"
+    private long lastAdvertisements;
+    private long lastDispatchedEvents;
+    private long lastDispatchLatencyNanos;
+    private long lastSampleNanos;
+
+    private volatile double advertisementRate;
+    private volatile double dispatchLatency;
+    private volatile long maxDispatchLatency;
+
+    public BlueZDispatchStatistics(long nowNanos) {
+        lastSampleNanos = nowNanos;
+    }
+
+    /**
+     * An RSSI, manufacturer data or service data update of a device has been received.
+     */
+    public void advertisementReceived() {
+        advertisements.increment();
+    }
+
+    /**
+     * A manufacturer data update has been merged into a pending one.
+     */
+    public void eventCoalesced() {
+        coalescedEvents.increment();
+    }
+
+    /**
+     * An event has been passed to a device.
+     *
+     * @param receivedNanos the {@link System#nanoTime()} when the event was received
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public void eventDispatched(long receivedNanos, long nowNanos) {
+        long latency = Math.max(0, nowNanos - receivedNanos);
+        dispatchedEvents.increment();
+        dispatchLatencyNanos.add(latency);
+        maxDispatchLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Calculates the rate and the latencies for the time since the previous call.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public synchronized void sample(long nowNanos) {
+        long totalAdvertisements = advertisements.sum();
+        long totalDispatched = dispatchedEvents.sum();
+        long totalLatency = dispatchLatencyNanos.sum();
+        long elapsed = nowNanos - lastSampleNanos;
+        long dispatched = totalDispatched - lastDispatchedEvents;
+
+        advertisementRate = elapsed > 0 ? (totalAdvertisements - lastAdvertisements) * 1e9 / elapsed : 0;
+        dispatchLatency = dispatched > 0 ? (totalLatency - lastDispatchLatencyNanos) / 1e6 / dispatched : 0;
+        maxDispatchLatency = TimeUnit.NANOSECONDS.toMillis(maxDispatchLatencyNanos.getAndSet(0));
+
+        lastAdvertisements = totalAdvertisements;
+        lastDispatchedEvents = totalDispatched;
+        lastDispatchLatencyNanos = totalLatency;
+        lastSampleNanos = nowNanos;
+    }
+
+    /**
+     * @return The number of RSSI, manufacturer data and service data updates received.
+     */
+    public long getAdvertisements() {
+        return advertisements.sum();
+    }
+
+    /**
+     * @return The number of manufacturer data updates merged into a pending one.
+     */
+    public long getCoalescedEvents() {
+        return coalescedEvents.sum();
+    }
+
+    /**
+     * @return The RSSI, manufacturer data and service data updates received per second.
+     */
+    public double getAdvertisementRate() {
+        return advertisementRate;
+    }
+
+    /**
+     * @return The average time in milliseconds until an event was passed to its device.
+     */
+    public double getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    /**
+     * @return The maximum time in milliseconds until an event was passed to its device.
+     */
+    public long getMaxDispatchLatency() {
+        return maxDispatchLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%.1f advertisements/s, dispatch latency %.2f ms (max %d ms), %d coalesced manufacturer data updates",
+                advertisementRate, dispatchLatency, maxDispatchLatency, getCoalescedEvents());
+    }
+}
@@ -48,6 +48,7 @@ import org.slf4j.LoggerFactory;
  * @author Benjamin Lafois - Initial contribution and API
  * @author Connor Petty - Code cleanup
  * @author Peter Rosenberg - Add support for ServiceData
+ * @author Jan Vybíral - Reception time of the events
  */
 @NonNullByDefault
 public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHandler {
@@ -66,7 +67,8 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
         this.listeners.remove(listener);
     }
 
-    private void notifyListeners(BlueZEvent event) {
+    private void notifyListeners(BlueZEvent event, long receivedNanos) {
+        event.setReceivedNanos(receivedNanos);
         for (BlueZEventListener listener : this.listeners) {
             event.dispatch(listener);
         }
@@ -84,6 +86,7 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
             return;
         }
 
+        long receivedNanos = System.nanoTime();
         // do this asynchronously so that we don't slow things down for the dbus event dispatcher
         scheduler.execute(() -> {
 
@@ -95,39 +98,39 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
                 switch (key.toLowerCase()) {
                     case "rssi":
                         // Signal Update
-                        onRSSIUpdate(dbusPath, variant);
+                        onRSSIUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "txpower":
                         // TxPower
-                        onTXPowerUpdate(dbusPath, variant);
+                        onTXPowerUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "value":
                         // Characteristc value updated
-                        onValueUpdate(dbusPath, variant);
+                        onValueUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "connected":
-                        onConnectedUpdate(dbusPath, variant);
+                        onConnectedUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "name":
-                        onNameUpdate(dbusPath, variant);
+                        onNameUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "alias":
                         // TODO
                         break;
                     case "manufacturerdata":
-                        onManufacturerDataUpdate(dbusPath, variant);
+                        onManufacturerDataUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "servicedata":
-                        onServiceDataUpdate(dbusPath, variant);
+                        onServiceDataUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "powered":
-                        onPoweredUpdate(dbusPath, variant);
+                        onPoweredUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "discovering":
-                        onDiscoveringUpdate(dbusPath, variant);
+                        onDiscoveringUpdate(dbusPath, variant, receivedNanos);
                         break;
                     case "servicesresolved":
-                        onServicesResolved(dbusPath, variant);
+                        onServicesResolved(dbusPath, variant, receivedNanos);
                         break;
                 }
             });
@@ -137,49 +140,49 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
         });
     }
 
-    private void onRSSIUpdate(String dbusPath, Variant<?> variant) {
+    private void onRSSIUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Short rssi) {
-            notifyListeners(new RssiEvent(dbusPath, rssi));
+            notifyListeners(new RssiEvent(dbusPath, rssi), receivedNanos);
         }
     }
 
-    private void onDiscoveringUpdate(String dbusPath, Variant<?> variant) {
+    private void onDiscoveringUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Boolean discovered) {
-            notifyListeners(new AdapterDiscoveringChangedEvent(dbusPath, discovered));
+            notifyListeners(new AdapterDiscoveringChangedEvent(dbusPath, discovered), receivedNanos);
         }
     }
 
-    private void onPoweredUpdate(String dbusPath, Variant<?> variant) {
+    private void onPoweredUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Boolean powered) {
-            notifyListeners(new AdapterPoweredChangedEvent(dbusPath, powered));
+            notifyListeners(new AdapterPoweredChangedEvent(dbusPath, powered), receivedNanos);
         }
     }
 
-    private void onServicesResolved(String dbusPath, Variant<?> variant) {
+    private void onServicesResolved(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Boolean resolved) {
-            notifyListeners(new ServicesResolvedEvent(dbusPath, resolved));
+            notifyListeners(new ServicesResolvedEvent(dbusPath, resolved), receivedNanos);
         }
     }
 
-    private void onNameUpdate(String dbusPath, Variant<?> variant) {
+    private void onNameUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof String name) {
-            notifyListeners(new NameEvent(dbusPath, name));
+            notifyListeners(new NameEvent(dbusPath, name), receivedNanos);
         }
     }
 
-    private void onTXPowerUpdate(String dbusPath, Variant<?> variant) {
+    private void onTXPowerUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Short txPower) {
-            notifyListeners(new TXPowerEvent(dbusPath, txPower));
+            notifyListeners(new TXPowerEvent(dbusPath, txPower), receivedNanos);
         }
     }
 
-    private void onConnectedUpdate(String dbusPath, Variant<?> variant) {
+    private void onConnectedUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Boolean connected) {
-            notifyListeners(new ConnectedEvent(dbusPath, connected));
+            notifyListeners(new ConnectedEvent(dbusPath, connected), receivedNanos);
         }
     }
 
-    private void onManufacturerDataUpdate(String dbusPath, Variant<?> variant) {
+    private void onManufacturerDataUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Map<?, ?> map) {
             Map<Short, byte[]> eventData = new HashMap<>();
 
@@ -192,12 +195,12 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
             });
 
             if (!eventData.isEmpty()) {
-                notifyListeners(new ManufacturerDataEvent(dbusPath, eventData));
+                notifyListeners(new ManufacturerDataEvent(dbusPath, eventData), receivedNanos);
             }
         }
     }
 
-    private void onServiceDataUpdate(String dbusPath, Variant<?> variant) {
+    private void onServiceDataUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof Map<?, ?> map) {
             Map<String, byte[]> serviceData = new HashMap<>();
 
@@ -210,14 +213,14 @@ public class BlueZPropertiesChangedHandler extends AbstractPropertiesChangedHand
             });
 
             if (!serviceData.isEmpty()) {
-                notifyListeners(new ServiceDataEvent(dbusPath, serviceData));
+                notifyListeners(new ServiceDataEvent(dbusPath, serviceData), receivedNanos);
             }
         }
     }
 
-    private void onValueUpdate(String dbusPath, Variant<?> variant) {
+    private void onValueUpdate(String dbusPath, Variant<?> variant, long receivedNanos) {
         if (variant.getValue() instanceof List<?> byteList && !byteList.isEmpty() && byteList.get(0) instanceof Byte) {
-            notifyListeners(new CharacteristicUpdateEvent(dbusPath, toByteArray(byteList)));
+            notifyListeners(new CharacteristicUpdateEvent(dbusPath, toByteArray(byteList)), receivedNanos);
         }
     }
 
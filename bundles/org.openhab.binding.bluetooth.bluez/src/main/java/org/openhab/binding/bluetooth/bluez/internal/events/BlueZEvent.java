@@ -21,6 +21,7 @@ import org.openhab.binding.bluetooth.BluetoothAddress;
  * changes in the properties of a bluetooth device.
  *
  * @author Benjamin Lafois - Initial Contribution
+ * @author Jan Vybíral - Device path and reception time
  *
  */
 @NonNullByDefault
@@ -28,8 +29,10 @@ public abstract class BlueZEvent {
 
     private String dbusPath;
 
+    private @Nullable String devicePath;
     private @Nullable BluetoothAddress device;
     private @Nullable String adapterName;
+    private long receivedNanos = System.nanoTime();
 
     public BlueZEvent(String dbusPath) {
         this.dbusPath = dbusPath;
@@ -48,18 +51,12 @@ public abstract class BlueZEvent {
         }
         start++;
         int end = dbusPath.indexOf('/', start);
-        String mac;
         if (end == -1) {
-            mac = dbusPath.substring(start);
-        } else {
-            mac = dbusPath.substring(start, end);
-        }
-        if (!mac.startsWith("dev_")) {
-            return;
+            end = dbusPath.length();
         }
-        mac = mac.substring(4); // trim off the "dev_" prefix
-        if (!mac.isEmpty()) {
-            this.device = new BluetoothAddress(mac.replace('_', ':').toUpperCase());
+        // at least one character after the "dev_" prefix
+        if (end - start > 4 && dbusPath.startsWith("dev_", start)) {
+            this.devicePath = dbusPath.substring(0, end);
         }
     }
 
@@ -67,14 +64,40 @@ public abstract class BlueZEvent {
         return dbusPath;
     }
 
+    /**
+     * @return the object path of the device this event is about, e.g. {@code /org/bluez/hci0/dev_AA_BB_CC_DD_EE_FF},
+     *         or null for adapter events
+     */
+    public @Nullable String getDevicePath() {
+        return devicePath;
+    }
+
     public @Nullable BluetoothAddress getDevice() {
-        return device;
+        BluetoothAddress localDevice = device;
+        String localDevicePath = devicePath;
+        if (localDevice == null && localDevicePath != null) {
+            // only parsed when needed, most events are dispatched by their device path
+            String mac = localDevicePath.substring(localDevicePath.lastIndexOf('/') + 5);
+            localDevice = device = new BluetoothAddress(mac.replace('_', ':').toUpperCase());
+        }
+        return localDevice;
     }
 
     public @Nullable String getAdapterName() {
         return adapterName;
     }
 
+    /**
+     * @return the {@link System#nanoTime()} when the D-Bus signal of this event was received
+     */
+    public long getReceivedNanos() {
+        return receivedNanos;
+    }
+
+    public void setReceivedNanos(long receivedNanos) {
+        this.receivedNanos = receivedNanos;
+    }
+
     public abstract void dispatch(BlueZEventListener listener);
 
     @Override
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.bluetooth.BluetoothAddress;
+import org.openhab.binding.bluetooth.bluez.internal.events.ManufacturerDataEvent;
+import org.openhab.binding.bluetooth.bluez.internal.events.RssiEvent;
+import org.openhab.core.thing.Bridge;
+
+/**
+ * Tests the dispatching of events by the {@link BlueZBridgeHandler}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null" })
+public class BlueZBridgeHandlerTest {
+
+    private static final String DEVICE_PATH = "/org/bluez/hci0/dev_00_CC_3F_B2_7E_60";
+    private static final BluetoothAddress ADDRESS = new BluetoothAddress("00:CC:3F:B2:7E:60");
+
+    private final List<BlueZBluetoothDevice> createdDevices = new ArrayList<>();
+
+    private final BlueZBridgeHandler handler = new BlueZBridgeHandler(mock(Bridge.class),
+            mock(DeviceManagerFactory.class)) {
+        @Override
+        protected BlueZBluetoothDevice createDevice(BluetoothAddress address) {
+            BlueZBluetoothDevice device = mock(BlueZBluetoothDevice.class);
+            when(device.getAddress()).thenReturn(address);
+            createdDevices.add(device);
+            return device;
+        }
+    };
+
+    @Test
+    public void eventsOfADeviceAreDispatchedThroughTheIndex() {
+        RssiEvent first = new RssiEvent(DEVICE_PATH, (short) -60);
+        RssiEvent second = new RssiEvent(DEVICE_PATH, (short) -61);
+
+        handler.dispatchDeviceEvent(DEVICE_PATH, first);
+        handler.dispatchDeviceEvent(DEVICE_PATH, second);
+
+        assertEquals(1, createdDevices.size());
+        BlueZBluetoothDevice device = createdDevices.get(0);
+        assertSame(device, handler.getDevice(ADDRESS));
+        verify(device).onRssiUpdate(first);
+        verify(device).onRssiUpdate(second);
+    }
+
+    @Test
+    public void removedDeviceIsDroppedFromTheIndex() {
+        handler.dispatchDeviceEvent(DEVICE_PATH, new RssiEvent(DEVICE_PATH, (short) -60));
+        BlueZBluetoothDevice removed = createdDevices.get(0);
+
+        handler.removeDevice(removed);
+        RssiEvent event = new RssiEvent(DEVICE_PATH, (short) -61);
+        handler.dispatchDeviceEvent(DEVICE_PATH, event);
+
+        assertEquals(2, createdDevices.size());
+        BlueZBluetoothDevice device = createdDevices.get(1);
+        assertSame(device, handler.getDevice(ADDRESS));
+        verify(removed, never()).onRssiUpdate(event);
+        verify(device).onRssiUpdate(event);
+    }
+
+    @Test
+    public void manufacturerDataIsPassedOnImmediatelyWithoutWindow() {
+        ManufacturerDataEvent event = new ManufacturerDataEvent(DEVICE_PATH, Map.of((short) 1, new byte[] { 1 }));
+
+        handler.dispatchDeviceEvent(DEVICE_PATH, event);
+
+        verify(createdDevices.get(0)).onManufacturerDataUpdate(event);
+    }
+
+    @Test
+    public void manufacturerDataIsMergedWithinWindow() {
+        handler.setManufacturerDataWindow(1000);
+
+        Map<Short, byte[]> first = Map.of((short) 1, new byte[] { 1 }, (short) 2, new byte[] { 2 });
+        handler.dispatchDeviceEvent(DEVICE_PATH, new ManufacturerDataEvent(DEVICE_PATH, first));
+        handler.dispatchDeviceEvent(DEVICE_PATH,
+                new ManufacturerDataEvent(DEVICE_PATH, Map.of((short) 1, new byte[] { 3 })));
+        BlueZBluetoothDevice device = createdDevices.get(0);
+        verify(device, never()).onManufacturerDataUpdate(any());
+
+        // the merged update is passed on at the end of the window
+        ArgumentCaptor<ManufacturerDataEvent> captor = ArgumentCaptor.forClass(ManufacturerDataEvent.class);
+        verify(device, timeout(5000)).onManufacturerDataUpdate(captor.capture());
+        Map<Short, byte[]> data = captor.getValue().getData();
+        assertEquals(2, data.size());
+        assertArrayEquals(new byte[] { 3 }, data.get((short) 1));
+        assertArrayEquals(new byte[] { 2 }, data.get((short) 2));
+
+        // a new window is started by the next update
+        ManufacturerDataEvent next = new ManufacturerDataEvent(DEVICE_PATH, Map.of((short) 1, new byte[] { 4 }));
+        handler.dispatchDeviceEvent(DEVICE_PATH, next);
+        verify(device, timeout(5000)).onManufacturerDataUpdate(next);
+    }
+}
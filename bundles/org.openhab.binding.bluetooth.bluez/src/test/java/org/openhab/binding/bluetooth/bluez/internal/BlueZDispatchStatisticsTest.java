@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluez.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link BlueZDispatchStatistics}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class BlueZDispatchStatisticsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testSampleCoversTheTimeSinceThePreviousSample() {
+        BlueZDispatchStatistics statistics = new BlueZDispatchStatistics(0);
+        for (int i = 0; i < 20; i++) {
+            statistics.advertisementReceived();
+        }
+        statistics.eventCoalesced();
+        statistics.eventDispatched(SECOND, SECOND + 2 * MILLISECOND);
+        statistics.eventDispatched(SECOND, SECOND + 4 * MILLISECOND);
+        statistics.sample(10 * SECOND);
+
+        assertEquals(2.0, statistics.getAdvertisementRate(), 1e-9);
+        assertEquals(3.0, statistics.getDispatchLatency(), 1e-9);
+        assertEquals(4, statistics.getMaxDispatchLatency());
+
+        statistics.advertisementReceived();
+        statistics.eventDispatched(11 * SECOND, 11 * SECOND + MILLISECOND);
+        statistics.sample(15 * SECOND);
+
+        assertEquals(0.2, statistics.getAdvertisementRate(), 1e-9);
+        assertEquals(1.0, statistics.getDispatchLatency(), 1e-9);
+        assertEquals(1, statistics.getMaxDispatchLatency());
+        assertEquals(21, statistics.getAdvertisements());
+        assertEquals(1, statistics.getCoalescedEvents());
+    }
+}
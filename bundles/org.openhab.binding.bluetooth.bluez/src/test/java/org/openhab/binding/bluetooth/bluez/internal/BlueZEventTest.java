@@ -24,6 +24,7 @@ import org.openhab.binding.bluetooth.bluez.internal.events.BlueZEventListener;
  *
  * @author Benjamin Lafois - Initial Contribution
  * @author Connor Petty - Added additional test cases
+ * @author Jan Vybíral - Device path
  */
 @NonNullByDefault
 public class BlueZEventTest {
@@ -33,6 +34,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dsqdsq/ds/dd");
         assertEquals("hci0", event.getAdapterName());
         assertNull(event.getDevice());
+        assertNull(event.getDevicePath());
     }
 
     @Test
@@ -40,6 +42,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dev_00_CC_3F_B2_7E_60");
         assertEquals("hci0", event.getAdapterName());
         assertEquals(new BluetoothAddress("00:CC:3F:B2:7E:60"), event.getDevice());
+        assertEquals("/org/bluez/hci0/dev_00_CC_3F_B2_7E_60", event.getDevicePath());
     }
 
     @Test
@@ -47,6 +50,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dev_A4_34_D9_ED_D3_74/service0026/char0027");
         assertEquals("hci0", event.getAdapterName());
         assertEquals(new BluetoothAddress("A4:34:D9:ED:D3:74"), event.getDevice());
+        assertEquals("/org/bluez/hci0/dev_A4_34_D9_ED_D3_74", event.getDevicePath());
     }
 
     @Test
@@ -54,6 +58,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dev_00_CC_3F_B2_7E_60/");
         assertEquals("hci0", event.getAdapterName());
         assertEquals(new BluetoothAddress("00:CC:3F:B2:7E:60"), event.getDevice());
+        assertEquals("/org/bluez/hci0/dev_00_CC_3F_B2_7E_60", event.getDevicePath());
     }
 
     @Test
@@ -61,6 +66,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dev_");
         assertEquals("hci0", event.getAdapterName());
         assertNull(event.getDevice());
+        assertNull(event.getDevicePath());
     }
 
     @Test
@@ -68,6 +74,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0/dev_/");
         assertEquals("hci0", event.getAdapterName());
         assertNull(event.getDevice());
+        assertNull(event.getDevicePath());
     }
 
     @Test
@@ -75,6 +82,7 @@ public class BlueZEventTest {
         BlueZEvent event = new DummyBlueZEvent("/org/bluez/hci0");
         assertEquals("hci0", event.getAdapterName());
         assertNull(event.getDevice());
+        assertNull(event.getDevicePath());
     }
 
     private static class DummyBlueZEvent extends BlueZEvent {
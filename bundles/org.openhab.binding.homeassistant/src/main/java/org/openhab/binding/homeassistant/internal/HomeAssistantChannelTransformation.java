@@ -28,7 +28,11 @@ import org.slf4j.LoggerFactory;
  * Provides a channel transformation for a Home Assistant channel with a
  * Jinja2 template, providing the additional context and extensions required by Home Assistant
  *
+ * <p>
+ * Value templates of the simple forms supported by {@link NativeValueTemplate} are rendered in Java.
+ *
  * @author Cody Cutrer - Initial contribution
+ * @author Jan Vybíral - Render simple value templates in Java
  */
 @NonNullByDefault
 public class HomeAssistantChannelTransformation extends ChannelTransformation {
@@ -43,6 +47,8 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     private final HomeAssistantPythonBridge python;
     private final AbstractComponent<?> component;
     private final Value template;
+    private final @Nullable String source;
+    private final @Nullable NativeValueTemplate nativeTemplate;
     private final boolean command;
     private final String defaultValue;
     private final boolean parseValueAsInteger;
@@ -69,6 +75,9 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         this.component = component;
         this.command = command;
         this.template = command ? python.newCommandTemplate(template) : python.newValueTemplate(template);
+        String source = python.getTemplateSource(template);
+        this.source = source;
+        this.nativeTemplate = command || source == null ? null : NativeValueTemplate.compile(source);
         this.defaultValue = defaultValue;
         this.parseValueAsInteger = parseValueAsInteger;
     }
@@ -97,9 +106,16 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value) {
+        NativeValueTemplate nativeTemplate = this.nativeTemplate;
+        if (nativeTemplate != null && value instanceof String payload) {
+            String result = python.renderNativeTemplate(nativeTemplate, payload);
+            if (result != null) {
+                return result;
+            }
+        }
         try {
-            return command ? python.renderCommandTemplate(template, value)
-                    : python.renderValueTemplate(template, value, defaultValue);
+            return command ? python.renderPooledCommandTemplate(template, source, value)
+                    : python.renderPooledValueTemplate(template, source, value, defaultValue);
         } catch (PolyglotException e) {
             logger.warn("Applying template for component {} failed: {}", component.getHaID().toShortTopic(),
                     e.getMessage(), e);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Karaf console commands for the Home Assistant binding.
+ *
+ * <pre>
+ * openhab:homeassistant stats   - show the template render statistics
+ * </pre>
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class HomeAssistantConsoleCommandExtension extends AbstractConsoleCommandExtension
+        implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private final HomeAssistantPythonBridge python;
+
+    @Activate
+    public HomeAssistantConsoleCommandExtension(@Reference HomeAssistantPythonBridge python) {
+        super("homeassistant", "Home Assistant binding commands.");
+        this.python = python;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "show the template render statistics"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_STATS.equals(args[0])) {
+            long nativeRenders = python.getNativeRenders();
+            long pythonRenders = python.getPythonRenders();
+            long pooledRenders = python.getPooledRenders();
+            long total = nativeRenders + pythonRenders + pooledRenders;
+            console.println("Rendered in Java:             " + nativeRenders + share(nativeRenders, total));
+            console.println("Rendered by main context:     " + pythonRenders + share(pythonRenders, total));
+            console.println("Rendered by template context: " + pooledRenders + share(pooledRenders, total));
+            console.println("Passed from Java to Python:   " + python.getNativeFallbacks());
+            console.println("Template contexts:            " + python.getTemplateContexts() + " ("
+                    + python.getIdleTemplateContexts() + " idle)");
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private static String share(long count, long total) {
+        return total == 0 ? "" : String.format(" (%.1f%%)", 100.0 * count / total);
+    }
+}
@@ -21,6 +21,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -32,83 +38,118 @@ import org.graalvm.python.embedding.VirtualFileSystem;
 import org.openhab.binding.homeassistant.internal.config.dto.MqttComponentConfig;
 import org.openhab.binding.homeassistant.internal.exception.ConfigurationException;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.Configuration;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Centralizes all calls into python to ensure thread safety and a single cached context
  *
+ * <p>
+ * Templates are usually rendered by the same context, which only renders one template at a time. Additionally, a
+ * configurable number of template contexts is created in the background. Value and command templates without
+ * variables are rendered by an idle template context if there is one, so several templates can be rendered in
+ * parallel. As Python objects can't be shared between contexts, each template context compiles the templates again
+ * from their source.
+ *
  * @author Cody Cutrer - Initial contribution
+ * @author Jan Vybíral - Template contexts and render statistics
  */
 @NonNullByDefault
-@Component(service = HomeAssistantPythonBridge.class)
+@Component(service = HomeAssistantPythonBridge.class, configurationPid = "org.openhab.binding.homeassistant")
 public class HomeAssistantPythonBridge {
     private static final String PYTHON = "python";
+    private static final int MAX_TEMPLATE_CONTEXTS = 8;
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final String BRIDGE_SCRIPT = """
+            # we need to set up the path just like it would have been set up on Linux, even if we're
+            # on Windows
+            import os
+            import sys
+
+            try:
+                import requests
+                requests.urllib3.disable_warnings(requests.urllib3.exceptions.InsecureRequestWarning)
+            except Exception:
+                pass
+
+            if os.sep != '/':
+                sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
+
+            from homeassistant.helpers.template import Template
+            from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
+            from homeassistant.components.mqtt.discovery import process_discovery_config
+
+            def new_raw_template(template):
+                return Template(template)
+
+            def new_command_template(template):
+                return MqttCommandTemplate(template)
+
+            def render_command_template(template, value):
+                return template.render(value=value)
+
+            def render_command_template_with_variables(template, value, variables):
+                return template.render(value=value, variables=variables)
+
+            def new_value_template(template):
+                return MqttValueTemplate(template)
+
+            def render_value_template(template, payload, default):
+                return template.render_with_possible_json_value(payload=payload, default=default)
+
+            def render_value_template_with_variables(template, payload, default, variables):
+                return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
+            """;
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
     private final Context context;
     private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth, renderCommandTemplateMeth,
             renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth, renderValueTemplateWithVariablesMeth,
             processDiscoveryConfigMeth, listMeth;
 
-    @Activate
+    private final BlockingQueue<TemplateContext> idleTemplateContexts = new LinkedBlockingQueue<>();
+    private final ExecutorService executor = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("homeassistant-python"));
+    private int templateContexts; // guarded by this
+    private volatile int maxTemplateContexts;
+    private volatile boolean active = true;
+
+    private final LongAdder nativeRenders = new LongAdder();
+    private final LongAdder nativeFallbacks = new LongAdder();
+    private final LongAdder pythonRenders = new LongAdder();
+    private final LongAdder pooledRenders = new LongAdder();
+
+    /**
+     * Creates a bridge rendering all templates with a single context.
+     */
     public HomeAssistantPythonBridge() {
-        VirtualFileSystem vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class)
-                .build();
+        this(0);
+    }
+
+    @Activate
+    public HomeAssistantPythonBridge(@Nullable Map<String, Object> properties) {
+        this(getTemplateContexts(properties));
+    }
 
+    /**
+     * @param templateContexts The number of additional contexts rendering templates in parallel.
+     */
+    public HomeAssistantPythonBridge(int templateContexts) {
         // Set cache path if not already configured (e.g., by test environment)
         if (System.getProperty("polyglot.engine.userResourceCache") == null) {
             File cachePath = Path.of(OpenHAB.getUserDataFolder(), "cache", "org.graalvm.polyglot").toFile();
             System.setProperty("polyglot.engine.userResourceCache", cachePath.getAbsolutePath());
         }
-        context = GraalPyResources.contextBuilder(vfs).logHandler(new LogHandler(logger))
-                .option("engine.WarnInterpreterOnly", "false").build();
+        context = createContext();
 
         Value bindings = context.getBindings(PYTHON);
 
-        context.eval(PYTHON,
-                """
-                        # we need to set up the path just like it would have been set up on Linux, even if we're
-                        # on Windows
-                        import os
-                        import sys
-
-                        try:
-                            import requests
-                            requests.urllib3.disable_warnings(requests.urllib3.exceptions.InsecureRequestWarning)
-                        except Exception:
-                            pass
-
-                        if os.sep != '/':
-                            sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
-
-                        from homeassistant.helpers.template import Template
-                        from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
-                        from homeassistant.components.mqtt.discovery import process_discovery_config
-
-                        def new_raw_template(template):
-                            return Template(template)
-
-                        def new_command_template(template):
-                            return MqttCommandTemplate(template)
-
-                        def render_command_template(template, value):
-                            return template.render(value=value)
-
-                        def render_command_template_with_variables(template, value, variables):
-                            return template.render(value=value, variables=variables)
-
-                        def new_value_template(template):
-                            return MqttValueTemplate(template)
-
-                        def render_value_template(template, payload, default):
-                            return template.render_with_possible_json_value(payload=payload, default=default)
-
-                        def render_value_template_with_variables(template, payload, default, variables):
-                            return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
-                        """);
-
         newRawTemplateMeth = bindings.getMember("new_raw_template");
         newCommandTemplateMeth = bindings.getMember("new_command_template");
         renderCommandTemplateMeth = bindings.getMember("render_command_template");
@@ -118,6 +159,86 @@ public class HomeAssistantPythonBridge {
         renderValueTemplateWithVariablesMeth = bindings.getMember("render_value_template_with_variables");
         processDiscoveryConfigMeth = bindings.getMember("process_discovery_config");
         listMeth = bindings.getMember("list");
+
+        setTemplateContexts(templateContexts);
+    }
+
+    @Modified
+    protected void modified(@Nullable Map<String, Object> properties) {
+        setTemplateContexts(getTemplateContexts(properties));
+    }
+
+    @Deactivate
+    public void deactivate() {
+        synchronized (this) {
+            active = false;
+            TemplateContext templateContext;
+            while ((templateContext = idleTemplateContexts.poll()) != null) {
+                templateContexts--;
+                templateContext.close();
+            }
+        }
+        // a template context still being created is closed as soon as it is released
+        executor.shutdown();
+    }
+
+    private static int getTemplateContexts(@Nullable Map<String, Object> properties) {
+        int templateContexts = new Configuration(properties).as(HomeAssistantConfiguration.class).templateContexts;
+        return Math.max(0, Math.min(MAX_TEMPLATE_CONTEXTS, templateContexts));
+    }
+
+    private Context createContext() {
+        VirtualFileSystem vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class)
+                .build();
+        Context pythonContext = GraalPyResources.contextBuilder(vfs).logHandler(new LogHandler(logger))
+                .option("engine.WarnInterpreterOnly", "false").build();
+        pythonContext.eval(PYTHON, BRIDGE_SCRIPT);
+        return pythonContext;
+    }
+
+    private synchronized void setTemplateContexts(int size) {
+        maxTemplateContexts = size;
+        TemplateContext templateContext;
+        while (templateContexts > size && (templateContext = idleTemplateContexts.poll()) != null) {
+            templateContexts--;
+            templateContext.close();
+        }
+        if (active && templateContexts < size) {
+            executor.execute(this::createTemplateContexts);
+        }
+    }
+
+    private void createTemplateContexts() {
+        while (true) {
+            synchronized (this) {
+                if (!active || templateContexts >= maxTemplateContexts) {
+                    return;
+                }
+                templateContexts++;
+            }
+            long start = System.nanoTime();
+            try {
+                TemplateContext templateContext = new TemplateContext();
+                logger.debug("Created template context in {}ms",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                releaseTemplateContext(templateContext);
+            } catch (PolyglotException | IllegalStateException e) {
+                synchronized (this) {
+                    templateContexts--;
+                }
+                logger.warn("Failed to create template context: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private synchronized void releaseTemplateContext(TemplateContext templateContext) {
+        if (active && templateContexts <= maxTemplateContexts) {
+            idleTemplateContexts.add(templateContext);
+        } else {
+            templateContexts--;
+            templateContext.close();
+        }
     }
 
     public Value newRawTemplate(String template) {
@@ -129,10 +250,12 @@ public class HomeAssistantPythonBridge {
     }
 
     public String renderCommandTemplate(Value template, Object value) {
+        pythonRenders.increment();
         return renderCommandTemplateMeth.execute(template, value).asString();
     }
 
     public String renderCommandTemplate(Value template, Object value, Map<String, @Nullable Object> variables) {
+        pythonRenders.increment();
         return renderCommandTemplateWithVariablesMeth.execute(template, value, variables).asString();
     }
 
@@ -141,14 +264,126 @@ public class HomeAssistantPythonBridge {
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue) {
+        pythonRenders.increment();
         return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue,
             Map<String, @Nullable Object> variables) {
+        pythonRenders.increment();
         return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
     }
 
+    /**
+     * Renders a command template, with an idle template context if possible.
+     *
+     * @param template The command template.
+     * @param source The source of the template, or {@code null} if it has to be rendered by the main context.
+     * @param value The command value.
+     */
+    public String renderPooledCommandTemplate(Value template, @Nullable String source, Object value) {
+        TemplateContext templateContext = source != null && isShareable(value) ? idleTemplateContexts.poll() : null;
+        if (source == null || templateContext == null) {
+            return renderCommandTemplate(template, value);
+        }
+        try {
+            pooledRenders.increment();
+            return templateContext.renderCommandTemplate(source, value);
+        } finally {
+            releaseTemplateContext(templateContext);
+        }
+    }
+
+    /**
+     * Renders a value template, with an idle template context if possible.
+     *
+     * @param template The value template.
+     * @param source The source of the template, or {@code null} if it has to be rendered by the main context.
+     * @param payload The received payload.
+     * @param defaultValue The default value.
+     */
+    public String renderPooledValueTemplate(Value template, @Nullable String source, Object payload,
+            String defaultValue) {
+        TemplateContext templateContext = source != null && isShareable(payload) ? idleTemplateContexts.poll() : null;
+        if (source == null || templateContext == null) {
+            return renderValueTemplate(template, payload, defaultValue);
+        }
+        try {
+            pooledRenders.increment();
+            return templateContext.renderValueTemplate(source, payload, defaultValue);
+        } finally {
+            releaseTemplateContext(templateContext);
+        }
+    }
+
+    /**
+     * Renders a template in Java.
+     *
+     * @return The rendered payload, or {@code null} if the template has to be rendered by Python.
+     */
+    public @Nullable String renderNativeTemplate(NativeValueTemplate template, String payload) {
+        String result = template.render(payload);
+        if (result == null) {
+            nativeFallbacks.increment();
+        } else {
+            nativeRenders.increment();
+        }
+        return result;
+    }
+
+    /**
+     * @return The source of a template created by {@link #newRawTemplate}, or {@code null} if it's not available.
+     */
+    public @Nullable String getTemplateSource(Value template) {
+        try {
+            Value source = template.getMember("template");
+            return source != null && source.isString() ? source.asString() : null;
+        } catch (PolyglotException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static boolean isShareable(Object value) {
+        // values of other types may be objects of the main context
+        return value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+    /**
+     * @return The number of templates rendered in Java.
+     */
+    public long getNativeRenders() {
+        return nativeRenders.sum();
+    }
+
+    /**
+     * @return The number of renders of Java templates passed to Python, because of the payload.
+     */
+    public long getNativeFallbacks() {
+        return nativeFallbacks.sum();
+    }
+
+    /**
+     * @return The number of templates rendered by the main context.
+     */
+    public long getPythonRenders() {
+        return pythonRenders.sum();
+    }
+
+    /**
+     * @return The number of templates rendered by template contexts.
+     */
+    public long getPooledRenders() {
+        return pooledRenders.sum();
+    }
+
+    public synchronized int getTemplateContexts() {
+        return templateContexts;
+    }
+
+    public int getIdleTemplateContexts() {
+        return idleTemplateContexts.size();
+    }
+
     public List<MqttComponentConfig> processDiscoveryConfig(String topic, String payload) {
         try {
             @SuppressWarnings("unchecked")
@@ -205,4 +440,64 @@ public class HomeAssistantPythonBridge {
         Object r = value.as(Object.class);
         return r;
     }
+
+    /**
+     * An additional context only rendering templates, with the compiled templates cached by their source.
+     * It is only used by one thread at a time.
+     */
+    private class TemplateContext {
+        private final Context context;
+        private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth,
+                renderCommandTemplateMeth, renderValueTemplateMeth;
+        private final Map<String, Value> commandTemplates = new TemplateCache();
+        private final Map<String, Value> valueTemplates = new TemplateCache();
+
+        TemplateContext() {
+            context = createContext();
+            try {
+                Value bindings = context.getBindings(PYTHON);
+                newRawTemplateMeth = bindings.getMember("new_raw_template");
+                newCommandTemplateMeth = bindings.getMember("new_command_template");
+                renderCommandTemplateMeth = bindings.getMember("render_command_template");
+                newValueTemplateMeth = bindings.getMember("new_value_template");
+                renderValueTemplateMeth = bindings.getMember("render_value_template");
+                // load the template engine before the context is used
+                renderValueTemplate("{{ value_json.value | float }}", "{\"value\": 1}",
+                        HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_NONE);
+                valueTemplates.clear();
+            } catch (PolyglotException | IllegalStateException e) {
+                context.close();
+                throw e;
+            }
+        }
+
+        String renderCommandTemplate(String source, Object value) {
+            Value template = commandTemplates.computeIfAbsent(source,
+                    s -> newCommandTemplateMeth.execute(newRawTemplateMeth.execute(s)));
+            return renderCommandTemplateMeth.execute(template, value).asString();
+        }
+
+        String renderValueTemplate(String source, Object payload, String defaultValue) {
+            Value template = valueTemplates.computeIfAbsent(source,
+                    s -> newValueTemplateMeth.execute(newRawTemplateMeth.execute(s)));
+            return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
+        }
+
+        void close() {
+            context.close();
+        }
+    }
+
+    private static class TemplateCache extends LinkedHashMap<String, Value> {
+        private static final long serialVersionUID = 1L;
+
+        TemplateCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Value> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    }
 }
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * A value template of a simple form, rendered in Java instead of Python.
+ *
+ * <p>
+ * Most value templates sent by devices only select a JSON attribute and optionally convert it, e.g.
+ * {@code {{ value_json.temperature | float | round(1) }}}. Such templates consist of a single expression with the
+ * root {@code value} or {@code value_json}, attribute ({@code .name}) or key ({@code ['name']}) lookups, and the
+ * filters {@code float}, {@code int} and {@code round}. Everything else, e.g. arithmetic, other filters or text around
+ * the expression, is rendered by Python.
+ *
+ * <p>
+ * The result is identical to the result of Home Assistant's {@code render_with_possible_json_value}. Whenever the
+ * payload isn't handled exactly like in Python, e.g. an attribute is missing, a value can't be converted or a float
+ * would be formatted in scientific notation, {@link #render} returns {@code null} and the template has to be rendered
+ * by Python.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class NativeValueTemplate {
+
+    /** Attributes of a Python dict, which Jinja resolves before the keys when using the {@code .name} syntax */
+    private static final Set<String> DICT_ATTRIBUTES = Set.of("clear", "copy", "fromkeys", "get", "items", "keys",
+            "pop", "popitem", "setdefault", "update", "values");
+    private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern EXPRESSION = Pattern.compile("\\{\\{(.*)\\}\\}", Pattern.DOTALL);
+    private static final int MAX_PRECISION = 300;
+
+    /** Python's {@code None} */
+    private static final Object NONE = new Object();
+
+    private enum Filter {
+        FLOAT,
+        INT,
+        ROUND
+    }
+
+    private record FilterCall(Filter filter, int precision) {
+    }
+
+    private record ParsedPayload(String payload, @Nullable JsonElement json) {
+    }
+
+    /** The last parsed payload, all channels of a state topic receive the same payload instance one after another */
+    private static volatile @Nullable ParsedPayload lastPayload;
+
+    private final boolean json;
+    private final List<String> keys;
+    private final List<FilterCall> filters;
+
+    private NativeValueTemplate(boolean json, List<String> keys, List<FilterCall> filters) {
+        this.json = json;
+        this.keys = keys;
+        this.filters = filters;
+    }
+
+    /**
+     * Compiles a template, if it has one of the supported simple forms.
+     *
+     * @param template The template source.
+     * @return The compiled template, or {@code null} if the template has to be rendered by Python.
+     */
+    public static @Nullable NativeValueTemplate compile(String template) {
+        Matcher matcher = EXPRESSION.matcher(template.strip());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new Parser(matcher.group(1)).parse();
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param payload The received payload.
+     * @return The rendered payload, or {@code null} if the template has to be rendered by Python for this payload.
+     */
+    public @Nullable String render(String payload) {
+        Object value;
+        if (json) {
+            JsonElement element = parse(payload);
+            for (String key : keys) {
+                if (element == null || !element.isJsonObject()) {
+                    return null;
+                }
+                element = ((JsonObject) element).get(key);
+            }
+            if (element == null) {
+                return null;
+            }
+            value = toPython(element);
+        } else {
+            value = payload;
+        }
+        for (FilterCall call : filters) {
+            if (value == null) {
+                return null;
+            }
+            value = switch (call.filter()) {
+                case FLOAT -> toFloat(value);
+                case INT -> toInt(value);
+                case ROUND -> round(value, call.precision());
+            };
+        }
+        return value == null ? null : toStr(value);
+    }
+
+    private static @Nullable JsonElement parse(String payload) {
+        ParsedPayload last = lastPayload;
+        if (last != null && last.payload() == payload) {
+            return last.json();
+        }
+        JsonElement json;
+        try {
+            // Python's json.loads doesn't accept the extensions of the lenient mode
+            JsonReader reader = new JsonReader(new StringReader(payload));
+            reader.setStrictness(Strictness.STRICT);
+            json = JsonParser.parseReader(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                json = null;
+            }
+        } catch (JsonParseException | IOException e) {
+            // this includes payloads which are valid for Python, like NaN, so these are left to Python as well
+            json = null;
+        }
+        lastPayload = new ParsedPayload(payload, json);
+        return json;
+    }
+
+    private static @Nullable Object toPython(JsonElement element) {
+        if (element.isJsonNull()) {
+            return NONE;
+        }
+        if (!element.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isString()) {
+            return primitive.getAsString();
+        }
+        String number = primitive.getAsString();
+        try {
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return Double.parseDouble(number);
+            }
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Python's {@code float(value)} */
+    private static @Nullable Double toFloat(Object value) {
+        if (value instanceof Double d) {
+            return d;
+        }
+        if (value instanceof Long l) {
+            return l.doubleValue();
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1.0 : 0.0;
+        }
+        if (value instanceof String s && DECIMAL.matcher(s).matches()) {
+            return Double.parseDouble(s);
+        }
+        return null;
+    }
+
+    /** Jinja's {@code do_int(value)} */
+    private static @Nullable Long toInt(Object value) {
+        if (value instanceof Long l) {
+            return l;
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1L : 0L;
+        }
+        if (value instanceof String s && INTEGER.matcher(s).matches()) {
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        Double d = toFloat(value);
+        return d == null ? null : truncate(d);
+    }
+
+    /** Home Assistant's {@code forgiving_round(value, precision)} */
+    private static @Nullable Object round(Object value, int precision) {
+        Double d = toFloat(value);
+        if (d == null || !Double.isFinite(d)) {
+            return null;
+        }
+        if (precision == 0) {
+            // Python's round() rounds half to even
+            return truncate(Math.rint(d));
+        }
+        // keep the sign of values rounded to zero, like Python
+        return Math.copySign(new BigDecimal(d).setScale(precision, RoundingMode.HALF_EVEN).doubleValue(), d);
+    }
+
+    private static @Nullable Long truncate(double d) {
+        return Double.isFinite(d) && Math.abs(d) < 0x1p63 ? (long) d : null;
+    }
+
+    /** Python's {@code str(value)} of the rendered value, followed by {@code strip()} of the whole output */
+    private static @Nullable String toStr(Object value) {
+        if (value == NONE) {
+            return "None";
+        }
+        if (value instanceof Boolean b) {
+            return b ? "True" : "False";
+        }
+        if (value instanceof Long l) {
+            return l.toString();
+        }
+        if (value instanceof Double d) {
+            return floatRepr(d);
+        }
+        String s = (String) value;
+        // Python strips Unicode whitespace as well
+        if (!s.isEmpty() && (s.charAt(0) > 0x7f || s.charAt(s.length() - 1) > 0x7f)) {
+            return null;
+        }
+        return s.strip();
+    }
+
+    /** Python's {@code repr(float)}, for the values Python doesn't format in scientific notation */
+    private static @Nullable String floatRepr(double d) {
+        if (d == 0) {
+            return Double.toString(d);
+        }
+        double abs = Math.abs(d);
+        if (!Double.isFinite(d) || abs < 1e-4 || abs >= 1e16) {
+            return null;
+        }
+        // Double.toString() and Python use the shortest representation which parses back to the same value
+        String s = new BigDecimal(Double.toString(d)).stripTrailingZeros().toPlainString();
+        return s.indexOf('.') < 0 ? s + ".0" : s;
+    }
+
+    /**
+     * Parses the expression of a template.
+     */
+    private static class Parser {
+        private final String expression;
+        private int pos;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        @Nullable
+        NativeValueTemplate parse() {
+            skipWhitespace();
+            String root = identifier();
+            boolean json;
+            if ("value_json".equals(root)) {
+                json = true;
+            } else if ("value".equals(root)) {
+                json = false;
+            } else {
+                return null;
+            }
+
+            List<String> keys = new ArrayList<>();
+            while (pos < expression.length() && (peek() == '.' || peek() == '[')) {
+                if (!json) {
+                    // attributes of a string
+                    return null;
+                }
+                String key;
+                if (peek() == '.') {
+                    pos++;
+                    key = identifier();
+                    if (key == null || key.startsWith("_") || DICT_ATTRIBUTES.contains(key)) {
+                        return null;
+                    }
+                } else {
+                    pos++;
+                    skipWhitespace();
+                    key = string();
+                    skipWhitespace();
+                    if (key == null || !consume(']')) {
+                        return null;
+                    }
+                }
+                keys.add(key);
+            }
+
+            List<FilterCall> filters = new ArrayList<>();
+            skipWhitespace();
+            while (consume('|')) {
+                skipWhitespace();
+                FilterCall call = filter();
+                if (call == null) {
+                    return null;
+                }
+                filters.add(call);
+                skipWhitespace();
+            }
+            return pos == expression.length() ? new NativeValueTemplate(json, List.copyOf(keys), List.copyOf(filters))
+                    : null;
+        }
+
+        private @Nullable FilterCall filter() {
+            String name = identifier();
+            if (name == null) {
+                return null;
+            }
+            Filter filter = switch (name) {
+                case "float" -> Filter.FLOAT;
+                case "int" -> Filter.INT;
+                case "round" -> Filter.ROUND;
+                default -> null;
+            };
+            if (filter == null) {
+                return null;
+            }
+            skipWhitespace();
+            if (!consume('(')) {
+                return new FilterCall(filter, 0);
+            }
+            skipWhitespace();
+            int start = pos;
+            if (filter == Filter.ROUND) {
+                // the precision
+                while (pos < expression.length() && Character.isDigit(peek())) {
+                    pos++;
+                }
+            } else {
+                // the default value, which is only used if the conversion fails, and then Python renders the template
+                if (pos < expression.length() && peek() == '-') {
+                    pos++;
+                }
+                while (pos < expression.length() && (Character.isDigit(peek()) || peek() == '.')) {
+                    pos++;
+                }
+            }
+            String argument = expression.substring(start, pos);
+            skipWhitespace();
+            if (!consume(')')) {
+                return null;
+            }
+            if (argument.isEmpty()) {
+                return new FilterCall(filter, 0);
+            }
+            if (filter != Filter.ROUND) {
+                return DECIMAL.matcher(argument).matches() ? new FilterCall(filter, 0) : null;
+            }
+            if (argument.length() > 3 || Integer.parseInt(argument) > MAX_PRECISION) {
+                return null;
+            }
+            return new FilterCall(filter, Integer.parseInt(argument));
+        }
+
+        private @Nullable String identifier() {
+            int start = pos;
+            while (pos < expression.length()) {
+                char c = peek();
+                if (c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                        || (pos > start && c >= '0' && c <= '9')) {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            return pos > start ? expression.substring(start, pos) : null;
+        }
+
+        private @Nullable String string() {
+            if (pos >= expression.length() || (peek() != '\'' && peek() != '"')) {
+                return null;
+            }
+            char quote = expression.charAt(pos++);
+            int end = expression.indexOf(quote, pos);
+            if (end < 0) {
+                return null;
+            }
+            String value = expression.substring(pos, end);
+            pos = end + 1;
+            // escape sequences are left to Python
+            return value.indexOf('\\') < 0 ? value : null;
+        }
+
+        private boolean consume(char c) {
+            if (pos < expression.length() && peek() == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            return expression.charAt(pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < expression.length() && Character.isWhitespace(peek())) {
+                pos++;
+            }
+        }
+    }
+}
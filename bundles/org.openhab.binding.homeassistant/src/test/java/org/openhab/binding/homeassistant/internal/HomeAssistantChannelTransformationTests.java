@@ -13,12 +13,16 @@
 package org.openhab.binding.homeassistant.internal;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
+import java.util.Objects;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -108,6 +112,46 @@ public class HomeAssistantChannelTransformationTests extends AbstractHomeAssista
                 is("off"));
     }
 
+    @Test
+    public void testNativeTemplatesRenderLikePython() {
+        String[][] cases = { { "{{ value }}", " ON " }, { "{{ value_json.temperature }}", "{\"temperature\": 21.5}" },
+                { "{{ value_json.temperature }}", "{\"temperature\": 21}" },
+                { "{{ value_json.temperature }}", "{\"temperature\": 1e3}" },
+                { "{{ value_json['state'] }}", "{\"state\": true}" }, { "{{ value_json.state }}", "{\"state\": null}" },
+                { "{{ value_json.a.b }}", "{\"a\": {\"b\": \"x\"}}" }, { "{{ value | float }}", "21" },
+                { "{{ value_json.v | float(0) }}", "{\"v\": \"21.5\"}" }, { "{{ value_json.v | int }}", "{\"v\": -21.7}" },
+                { "{{ value_json.v | int }}", "{\"v\": \"4.2\"}" }, { "{{ value_json.v | round }}", "{\"v\": 2.5}" },
+                { "{{ value_json.v | round(1) }}", "{\"v\": 21.456}" },
+                { "{{ value_json.v | round(2) }}", "{\"v\": 2.675}" },
+                { "{{ value_json.v | float | round(1) }}", "{\"v\": \"-0.04\"}" } };
+        for (String[] c : cases) {
+            NativeValueTemplate nativeTemplate = NativeValueTemplate.compile(c[0]);
+            assertThat(c[0], nativeTemplate, is(notNullValue()));
+            String expected = PYTHON.renderValueTemplate(PYTHON.newValueTemplate(PYTHON.newRawTemplate(c[0])), c[1],
+                    HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_DEFAULT);
+            assertThat(c[0] + " " + c[1], Objects.requireNonNull(nativeTemplate).render(c[1]), is(expected));
+        }
+    }
+
+    @Test
+    public void testTemplateContext() throws InterruptedException {
+        HomeAssistantPythonBridge python = new HomeAssistantPythonBridge(1);
+        try {
+            for (int i = 0; i < 600 && python.getIdleTemplateContexts() == 0; i++) {
+                Thread.sleep(100);
+            }
+            assertThat(python.getIdleTemplateContexts(), is(1));
+
+            Value template = python.newValueTemplate(python.newRawTemplate("{{ value_json.v * 2 }}"));
+            assertThat(python.renderPooledValueTemplate(template, "{{ value_json.v * 2 }}", "{\"v\": 21}",
+                    HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_DEFAULT), is("42"));
+            assertThat(python.getPooledRenders(), is(1L));
+            assertThat(python.getPythonRenders(), is(0L));
+        } finally {
+            python.deactivate();
+        }
+    }
+
     protected @Nullable Object transform(String template, Object value) {
         return new HomeAssistantChannelTransformation(PYTHON, component, PYTHON.newRawTemplate(template), false)
                 .transform(value);
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class NativeValueTemplateTests {
+
+    @Test
+    public void testCompile() {
+        assertThat(NativeValueTemplate.compile("{{ value }}"), is(notNullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.temperature}}"), is(notNullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json['state'] }}"), is(notNullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.a.b | float(0) | round(1) }}"), is(notNullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value | int }}"), is(notNullValue()));
+
+        assertThat(NativeValueTemplate.compile("{{ value_json.temperature * 10 }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.temperature }} °C"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.a }}{{ value_json.b }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.state | lower }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.values }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value.upper }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{{ value_json.a | round(1, 'floor') }}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("{% if value_json.a %}on{% endif %}"), is(nullValue()));
+        assertThat(NativeValueTemplate.compile("static"), is(nullValue()));
+    }
+
+    @Test
+    public void testRender() {
+        assertThat(render("{{ value }}", " ON "), is("ON"));
+        assertThat(render("{{ value_json.temperature }}", "{\"temperature\": 21.5}"), is("21.5"));
+        assertThat(render("{{ value_json.temperature }}", "{\"temperature\": 21}"), is("21"));
+        assertThat(render("{{ value_json.temperature }}", "{\"temperature\": 21.0}"), is("21.0"));
+        assertThat(render("{{ value_json.temperature }}", "{\"temperature\": 1e3}"), is("1000.0"));
+        assertThat(render("{{ value_json.state }}", "{\"state\": \"ON\"}"), is("ON"));
+        assertThat(render("{{ value_json['state'] }}", "{\"state\": true}"), is("True"));
+        assertThat(render("{{ value_json.state }}", "{\"state\": null}"), is("None"));
+        assertThat(render("{{ value_json.a.b }}", "{\"a\": {\"b\": 0.1}}"), is("0.1"));
+    }
+
+    @Test
+    public void testFilters() {
+        assertThat(render("{{ value | float }}", "21"), is("21.0"));
+        assertThat(render("{{ value_json.v | float }}", "{\"v\": \"21.5\"}"), is("21.5"));
+        assertThat(render("{{ value_json.v | float(0) }}", "{\"v\": 3}"), is("3.0"));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": 21.7}"), is("21"));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": -21.7}"), is("-21"));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": \"42\"}"), is("42"));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": \"4.2\"}"), is("4"));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": true}"), is("1"));
+        assertThat(render("{{ value_json.v | round }}", "{\"v\": 2.5}"), is("2"));
+        assertThat(render("{{ value_json.v | round }}", "{\"v\": 3.5}"), is("4"));
+        assertThat(render("{{ value_json.v | round(1) }}", "{\"v\": 21.456}"), is("21.5"));
+        assertThat(render("{{ value_json.v | round(2) }}", "{\"v\": 2.675}"), is("2.67"));
+        assertThat(render("{{ value_json.v | round(2) }}", "{\"v\": 20}"), is("20.0"));
+        assertThat(render("{{ value_json.v | float | round(1) }}", "{\"v\": \"-0.04\"}"), is("-0.0"));
+    }
+
+    @Test
+    public void testFallback() {
+        // the attribute is missing
+        assertThat(render("{{ value_json.temperature }}", "{\"humidity\": 50}"), is(nullValue()));
+        // not JSON
+        assertThat(render("{{ value_json.temperature }}", "ON"), is(nullValue()));
+        // JSON only accepted by Python
+        assertThat(render("{{ value_json.temperature }}", "{\"temperature\": NaN}"), is(nullValue()));
+        // the conversion fails, Python renders the default value or the error
+        assertThat(render("{{ value_json.v | float(0) }}", "{\"v\": \"unknown\"}"), is(nullValue()));
+        assertThat(render("{{ value_json.v | int }}", "{\"v\": null}"), is(nullValue()));
+        // Python formats these with scientific notation
+        assertThat(render("{{ value_json.v }}", "{\"v\": 0.00001}"), is(nullValue()));
+        assertThat(render("{{ value_json.v }}", "{\"v\": 1e16}"), is(nullValue()));
+        // Python's repr of dicts and lists
+        assertThat(render("{{ value_json.v }}", "{\"v\": {\"a\": 1}}"), is(nullValue()));
+        assertThat(render("{{ value_json.v }}", "{\"v\": [1, 2]}"), is(nullValue()));
+    }
+
+    private @Nullable String render(String template, String payload) {
+        return Objects.requireNonNull(NativeValueTemplate.compile(template)).render(payload);
+    }
+}
@@ -278,7 +278,7 @@ public class IpCameraGroupHandler extends BaseThingHandler {
         }
         GroupServlet localServlet = servlet;
         if (localServlet != null) {
-            if (localServlet.snapshotStreamsOpen > 0) {
+            if (!localServlet.snapshotStreams.isEmpty()) {
                 cameraOrder.get(cameraIndex).getSnapshot();
             }
         }
@@ -40,6 +40,7 @@ import org.osgi.service.http.HttpService;
  * found on port 8080
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Jan Vybíral - Non-blocking mjpeg streams
  */
 @NonNullByDefault
 public class CameraServlet extends IpCameraServlet {
@@ -51,6 +52,7 @@ public class CameraServlet extends IpCameraServlet {
     public OpenStreams openStreams = new OpenStreams();
     private OpenStreams openSnapshotStreams = new OpenStreams();
     private OpenStreams openAutoFpsStreams = new OpenStreams();
+    private int autoFpsCounter = 0;
 
     public CameraServlet(IpCameraHandler handler, HttpService httpService) {
         super(handler, httpService, INIT_PARAMETERS);
@@ -163,96 +165,38 @@ public class CameraServlet extends IpCameraServlet {
             case "/snapshots.mjpeg":
                 handler.streamingSnapshotMjpeg = true;
                 handler.startSnapshotPolling();
-                StreamOutput output = new StreamOutput(resp);
-                openSnapshotStreams.addStream(output);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(handler.cameraConfig.getPollTime());
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openSnapshotStreams.removeStream(output);
-                        logger.debug("Now there are {} snapshots.mjpeg streams open.",
-                                openSnapshotStreams.getNumberOfStreams());
-                        if (openSnapshotStreams.isEmpty()) {
-                            handler.streamingSnapshotMjpeg = false;
-                            handler.stopSnapshotPolling();
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openSnapshotStreams.addStream(new StreamOutput(req.startAsync(req, resp), this::snapshotStreamClosed));
+                openSnapshotStreams.startSnapshotJob(() -> openSnapshotStreams.queueFrame(handler.getSnapshot()),
+                        handler.cameraConfig.getPollTime());
+                return;
             case "/ipcamera.mjpeg":
+                AsyncContext context = req.startAsync(req, resp);
+                StreamOutput output;
                 if (openStreams.isEmpty()) {
                     logger.debug("First stream requested, opening up stream from camera");
                     handler.openCamerasStream();
                     if (handler.usingRtspForMjpeg()) {
-                        output = new StreamOutput(resp);
+                        output = new StreamOutput(context, this::mjpegStreamClosed);
                     } else {
-                        output = new StreamOutput(resp, handler.mjpegContentType);
+                        output = new StreamOutput(context, this::mjpegStreamClosed, handler.mjpegContentType);
                     }
                 } else if (handler.usingRtspForMjpeg()) {
-                    output = new StreamOutput(resp);
+                    output = new StreamOutput(context, this::mjpegStreamClosed);
                 } else {
                     ChannelTracking tracker = handler.channelTrackingMap.get(handler.getTinyUrl(handler.mjpegUri));
                     if (tracker == null || !tracker.getChannel().isOpen()) {
                         logger.debug("Not the first stream requested but the stream from camera was closed");
                         handler.openCamerasStream();
                     }
-                    output = new StreamOutput(resp, handler.mjpegContentType);
+                    output = new StreamOutput(context, this::mjpegStreamClosed, handler.mjpegContentType);
                 }
                 openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
-                                    // in handler's pollCameraRunnable() check for frozen camera
-                                    handler.ffmpegMjpeg = null;
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
-                output = new StreamOutput(resp);
-                openAutoFpsStreams.addStream(output);
-                int counter = 0;
-                do {
-                    try {
-                        if (handler.motionDetected) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        } // every 8 seconds if no motion or the first three snapshots to fill any FIFO
-                        else if (counter % 8 == 0 || counter < 3) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        }
-                        counter++;
-                        Thread.sleep(1000);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openAutoFpsStreams.removeStream(output);
-                        logger.debug("Now there are {} autofps.mjpeg streams open.",
-                                openAutoFpsStreams.getNumberOfStreams());
-                        if (openAutoFpsStreams.isEmpty()) {
-                            handler.streamingAutoFps = false;
-                            logger.debug("All autofps.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openAutoFpsStreams.addStream(new StreamOutput(req.startAsync(req, resp), this::autoFpsStreamClosed));
+                openAutoFpsStreams.startSnapshotJob(this::queueAutoFpsFrame, 1000);
+                return;
             case "/instar":
                 InstarHandler instar = new InstarHandler(handler);
                 instar.alarmTriggered(pathInfo + "?" + req.getQueryString());
@@ -272,6 +216,49 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private void snapshotStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} snapshots.mjpeg streams open.", openSnapshotStreams.getNumberOfStreams());
+        if (openSnapshotStreams.isEmpty()) {
+            handler.streamingSnapshotMjpeg = false;
+            handler.stopSnapshotPolling();
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
+    private void mjpegStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+        if (openStreams.isEmpty()) {
+            if (output.isSnapshotBased) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
+                    // in handler's pollCameraRunnable() check for frozen camera
+                    handler.ffmpegMjpeg = null;
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
+    private void queueAutoFpsFrame() {
+        // every 8 seconds if no motion, new streams start with the last frame
+        if (handler.motionDetected || autoFpsCounter % 8 == 0) {
+            openAutoFpsStreams.queueFrame(handler.getSnapshot());
+        }
+        autoFpsCounter++;
+    }
+
+    private void autoFpsStreamClosed(StreamOutput output) {
+        logger.debug("Now there are {} autofps.mjpeg streams open.", openAutoFpsStreams.getNumberOfStreams());
+        if (openAutoFpsStreams.isEmpty()) {
+            handler.streamingAutoFps = false;
+            logger.debug("All autofps.mjpeg streams have stopped.");
+        }
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -16,6 +16,9 @@ import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
@@ -33,15 +36,18 @@ import org.osgi.service.http.HttpService;
  * server normally found on port 8080
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Jan Vybíral - Non-blocking mjpeg streams
  */
 @NonNullByDefault
 public class GroupServlet extends IpCameraServlet {
     private static final long serialVersionUID = -234658667574L;
+    private static final Dictionary<Object, Object> INIT_PARAMETERS = new Hashtable<>(
+            Map.of("async-supported", "true"));
     private final IpCameraGroupHandler handler;
-    public int snapshotStreamsOpen = 0;
+    public OpenStreams snapshotStreams = new OpenStreams();
 
     public GroupServlet(IpCameraGroupHandler handler, HttpService httpService) {
-        super(handler, httpService);
+        super(handler, httpService, INIT_PARAMETERS);
         this.handler = handler;
     }
 
@@ -85,21 +91,9 @@ public class GroupServlet extends IpCameraServlet {
             case "/ipcamera.mjpeg":
             case "/snapshots.mjpeg":
                 req.getSession().setMaxInactiveInterval(0);
-                snapshotStreamsOpen++;
-                StreamOutput output = new StreamOutput(resp);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(1005);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        snapshotStreamsOpen--;
-                        if (snapshotStreamsOpen == 0) {
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                snapshotStreams.addStream(new StreamOutput(req.startAsync(req, resp), this::snapshotStreamClosed));
+                snapshotStreams.startSnapshotJob(() -> snapshotStreams.queueFrame(handler.getSnapshot()), 1005);
+                return;
             default:
                 // example is "/1ipcameraxx.ts"
                 if (pathInfo.endsWith(".ts")) {
@@ -108,6 +102,12 @@ public class GroupServlet extends IpCameraServlet {
         }
     }
 
+    private void snapshotStreamClosed(StreamOutput output) {
+        if (snapshotStreams.isEmpty()) {
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
     private String resolveIndexToPath(String uri) {
         if (!"i".equals(uri.substring(1, 2))) {
             return handler.getOutputFolder(Integer.parseInt(uri.substring(1, 2)));
@@ -139,4 +139,10 @@ public class GroupServlet extends IpCameraServlet {
         }
         super.sendSnapshotImage(response, contentType, snapshot);
     }
+
+    @Override
+    public void dispose() {
+        snapshotStreams.closeAllStreams();
+        super.dispose();
+    }
 }
@@ -12,56 +12,179 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.BINDING_ID;
+
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams of a camera and holds a ring of the most recent frames
+ * which is shared by all streams, to allow 1 to many streams without needing to open more than 1 source stream. Each
+ * stream reads the frames from the ring at its own pace, so a slow client never holds up the others.
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Jan Vybíral - Shared ring of frames instead of a FIFO buffer per stream
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
-    public String boundary = "thisMjpegStream";
+    static final int RING_SIZE = 50;
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PART_HEADER = ("--" + StreamOutput.SNAPSHOT_BOUNDARY
+            + "\r\nContent-Type: image/jpeg\r\nContent-Length: ").getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * A frame is shared by all streams and never changed once it is in the ring.
+     */
+    static final class Frame {
+        final long sequence;
+        private final byte[][] data;
+        private volatile byte[] @Nullable [] part;
+
+        private Frame(long sequence, byte[] data) {
+            this.sequence = sequence;
+            this.data = new byte[][] { data };
+        }
 
-    public synchronized void addStream(StreamOutput stream) {
+        /**
+         * @return the frame as it was received
+         */
+        byte[][] getData() {
+            return data;
+        }
+
+        /**
+         * @return the frame as a part of a multipart stream, with the header only created once for all streams
+         */
+        byte[][] getPart() {
+            byte[][] localPart = part;
+            if (localPart == null) {
+                byte[] jpeg = data[0];
+                byte[] length = (jpeg.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                byte[] header = new byte[PART_HEADER.length + length.length];
+                System.arraycopy(PART_HEADER, 0, header, 0, PART_HEADER.length);
+                System.arraycopy(length, 0, header, PART_HEADER.length, length.length);
+                localPart = new byte[][] { header, jpeg, CRLF };
+                part = localPart;
+            }
+            return localPart;
+        }
+    }
+
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    // All access to the ring must be guarded by the ring
+    private final @Nullable Frame[] ring = new Frame[RING_SIZE];
+    private long lastSequence = -1;
+    private long firstSequence = 0;
+    private @Nullable ScheduledFuture<?> snapshotJob;
+    public volatile String boundary = "thisMjpegStream";
+
+    public void addStream(StreamOutput stream) {
         openStreams.add(stream);
+        stream.start(this);
     }
 
     public synchronized void removeStream(StreamOutput stream) {
-        openStreams.remove(stream);
+        if (openStreams.remove(stream) && openStreams.isEmpty()) {
+            stopSnapshotJob();
+            // do not send old frames to the next stream
+            synchronized (ring) {
+                for (int i = 0; i < RING_SIZE; i++) {
+                    ring[i] = null;
+                }
+                firstSequence = lastSequence + 1;
+            }
+        }
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
-    public synchronized void updateContentType(String contentType, String boundary) {
+    public void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    /**
+     * Adds a frame to the ring, replacing the oldest one, and wakes up the streams waiting for a frame.
+     */
+    public void queueFrame(byte[] frame) {
+        synchronized (ring) {
+            lastSequence++;
+            ring[(int) (lastSequence % RING_SIZE)] = new Frame(lastSequence, frame);
+        }
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.sendFrames();
         }
     }
 
-    public synchronized void closeAllStreams() {
+    /**
+     * Periodically runs the job creating the frames of snapshot based streams, as long as there are open streams.
+     */
+    public synchronized void startSnapshotJob(Runnable job, long intervalMs) {
+        if (snapshotJob == null && !openStreams.isEmpty()) {
+            snapshotJob = ThreadPoolManager.getScheduledPool(BINDING_ID).scheduleWithFixedDelay(job, 0, intervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopSnapshotJob() {
+        ScheduledFuture<?> job = snapshotJob;
+        if (job != null) {
+            job.cancel(false);
+            snapshotJob = null;
+        }
+    }
+
+    /**
+     * @return the sequence number of the first frame of a new stream. Snapshot based streams start with the most
+     *         recent frame, so that clients don't have to wait for the next snapshot.
+     */
+    long getFirstSequence(boolean isSnapshotBased) {
+        synchronized (ring) {
+            return isSnapshotBased && lastSequence >= firstSequence ? lastSequence : lastSequence + 1;
+        }
+    }
+
+    /**
+     * @param sequence the sequence number of the next frame of a stream
+     * @param skipToNewest true if the stream can skip frames to catch up, which is possible when each frame is a
+     *            complete picture
+     * @return the next frame to send, which is a later one if the frames in between were skipped or have been replaced
+     *         in the ring, or null if there is no new frame yet
+     */
+    @Nullable
+    Frame getFrame(long sequence, boolean skipToNewest) {
+        synchronized (ring) {
+            if (sequence > lastSequence || lastSequence < firstSequence) {
+                return null;
+            }
+            long next = skipToNewest ? lastSequence
+                    : Math.max(Math.max(sequence, firstSequence), lastSequence - RING_SIZE + 1);
+            return ring[(int) (next % RING_SIZE)];
+        }
+    }
+
+    public void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
-        openStreams.clear();
+        synchronized (this) {
+            openStreams.clear();
+            stopSnapshotJob();
+        }
     }
 }
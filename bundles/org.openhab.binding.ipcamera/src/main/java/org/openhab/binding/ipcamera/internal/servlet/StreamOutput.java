@@ -13,90 +13,158 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.OpenStreams.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. The frames are taken from the ring of the {@link OpenStreams}
+ * and written with non-blocking servlet I/O, so no thread is held for the lifetime of the stream. Snapshot based
+ * streams skip to the most recent frame when the client can't keep up.
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Jan Vybíral - Non-blocking output from the shared ring of frames
  */
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener, AsyncListener {
+    static final String SNAPSHOT_BOUNDARY = "thisMjpegStream";
+
     public final Logger logger = LoggerFactory.getLogger(getClass());
+    private final AsyncContext context;
     private final HttpServletResponse response;
-    private final String boundary;
+    private final Consumer<StreamOutput> closeListener;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private @Nullable OpenStreams openStreams;
+    // All access to the fields below must be guarded by "this"
+    private long nextSequence;
+    private byte[] @Nullable [] pending;
+    private int pendingIndex;
+    private long pendingSequence;
     private boolean connected = false;
+    private boolean closed = false;
+    private boolean firstFrame = true;
+    private long skippedFrames;
     public boolean isSnapshotBased = false;
 
-    public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
-        contentType = "multipart/x-mixed-replace; boundary=" + boundary;
-        this.response = response;
-        output = response.getOutputStream();
+    /**
+     * Creates a stream which sends each frame as a jpeg part of the multipart stream.
+     *
+     * @param context the started asynchronous request
+     * @param closeListener is called once when the stream has been closed
+     */
+    public StreamOutput(AsyncContext context, Consumer<StreamOutput> closeListener) throws IOException {
+        this(context, closeListener, "multipart/x-mixed-replace; boundary=" + SNAPSHOT_BOUNDARY);
         isSnapshotBased = true;
     }
 
-    public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
+    /**
+     * Creates a stream which forwards the frames unchanged.
+     *
+     * @param context the started asynchronous request
+     * @param closeListener is called once when the stream has been closed
+     * @param contentType the content type of the stream from the camera, or empty if not known yet
+     */
+    public StreamOutput(AsyncContext context, Consumer<StreamOutput> closeListener, String contentType)
+            throws IOException {
+        this.context = context;
+        this.response = (HttpServletResponse) context.getResponse();
+        this.closeListener = closeListener;
         this.contentType = contentType;
-        this.response = response;
         output = response.getOutputStream();
+        context.setTimeout(0);
+        context.addListener(this);
         if (!contentType.isEmpty()) {
             sendInitialHeaders();
             connected = true;
         }
     }
 
-    public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
-        if (!connected) {
+    synchronized void start(OpenStreams openStreams) {
+        this.openStreams = openStreams;
+        nextSequence = openStreams.getFirstSequence(isSnapshotBased);
+        // from now on onWritePossible() is called each time the output can take more data
+        output.setWriteListener(this);
+    }
+
+    public void updateContentType(String contentType) {
+        synchronized (this) {
+            this.contentType = contentType;
+            if (connected) {
+                return;
+            }
             sendInitialHeaders();
-            // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
             connected = true;
         }
-        output.write(header.getBytes());
-        output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
+        sendFrames();
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
+    @Override
+    public void onWritePossible() throws IOException {
+        sendFrames();
     }
 
-    public void updateContentType(String contentType) {
-        this.contentType = contentType;
-        if (!connected) {
-            sendInitialHeaders();
-            connected = true;
+    void sendFrames() {
+        if (!writeFrames()) {
+            // Occurs when browser stops the stream.
+            close();
         }
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
-        if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+    /**
+     * Writes frames until either all frames have been sent or the client can't take more data without blocking. In
+     * the latter case, the container calls {@link #onWritePossible()} once the client is ready again.
+     *
+     * @return false if the stream failed
+     */
+    private synchronized boolean writeFrames() {
+        OpenStreams localOpenStreams = openStreams;
+        if (!connected || closed || localOpenStreams == null) {
+            return true;
+        }
+        try {
+            while (true) {
+                byte[][] localPending = pending;
+                if (localPending == null) {
+                    Frame frame = localOpenStreams.getFrame(nextSequence, isSnapshotBased);
+                    if (frame == null) {
+                        return true;
+                    }
+                    if (frame.sequence > nextSequence) {
+                        skippedFrames += frame.sequence - nextSequence;
+                    }
+                    localPending = isSnapshotBased ? frame.getPart() : frame.getData();
+                    pending = localPending;
+                    pendingIndex = 0;
+                    pendingSequence = frame.sequence;
+                }
+                while (pendingIndex < localPending.length) {
+                    if (!output.isReady()) {
+                        return true;
+                    }
+                    output.write(localPending[pendingIndex++]);
+                }
+                pending = null;
+                if (isSnapshotBased && firstFrame) {
+                    // iOS needs to have two jpgs sent for the picture to appear instantly.
+                    firstFrame = false;
+                } else {
+                    nextSequence = pendingSequence + 1;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            return false;
         }
     }
 
@@ -106,10 +174,50 @@ public class StreamOutput {
         response.setHeader("Access-Control-Expose-Headers", "*");
     }
 
+    @Override
+    public void onError(@Nullable Throwable t) {
+        close();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) throws IOException {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) throws IOException {
+    }
+
     public void close() {
+        long skipped;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = null;
+            skipped = skippedFrames;
+        }
+        logger.debug("Stream closed, {} frames were skipped because the client was too slow.", skipped);
+        OpenStreams localOpenStreams = openStreams;
+        if (localOpenStreams != null) {
+            localOpenStreams.removeStream(this);
+        }
         try {
-            output.close();
-        } catch (IOException e) {
+            context.complete();
+        } catch (IllegalStateException e) {
+            // the request has already been completed
         }
+        closeListener.accept(this);
     }
 }
@@ -15,13 +15,16 @@ package org.openhab.binding.knx.internal.client;
 import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -70,7 +73,12 @@ import io.calimero.secure.Security;
 /**
  * KNX Client which encapsulates the communication with the KNX bus via the calimero library.
  *
+ * Received group telegrams are passed to the listeners of their group address using an index of the group addresses
+ * of all registered listeners. The telegrams are queued and dispatched in batches by a single task on the KNX
+ * scheduler, in the order they were received. Group read requests are scheduled by a {@link ReadScheduler}.
+ *
  * @author Simon Kaufmann - initial contribution and API.
+ * @author Jan Vybíral - Group address index and batched dispatch, read scheduler
  *
  */
 @NonNullByDefault
@@ -85,6 +93,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private ClientState state = ClientState.INIT;
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int MAX_DISPATCH_BATCH_SIZE = 64;
+    private static final GroupAddressListener[] NO_LISTENERS = new GroupAddressListener[0];
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
 
@@ -108,13 +118,28 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    // group address -> listeners, rebuilt whenever a listener is (un)registered
+    private volatile Map<GroupAddress, GroupAddressListener[]> groupAddressIndex = Map.of();
+    private final ReadScheduler readScheduler;
+    private final Queue<Telegram> telegrams = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
 
     @FunctionalInterface
     private interface ListenerNotification {
         void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
     }
 
+    private record Telegram(ListenerNotification action, GroupAddressListener[] listeners, IndividualAddress source,
+            GroupAddress destination, byte[] asdu, long receivedNanos) {
+    }
+
+    private final ListenerNotification groupWrite = (listener, source, destination, asdu) -> listener
+            .onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
+    private final ListenerNotification groupRead = (listener, source, destination, asdu) -> listener
+            .onGroupRead(AbstractKNXClient.this, source, destination, asdu);
+    private final ListenerNotification groupReadResponse = (listener, source, destination, asdu) -> listener
+            .onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
+
     @NonNullByDefault({})
     private final ProcessListener processListener = new ProcessListener() {
 
@@ -125,20 +150,17 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> listener
-                    .onGroupWrite(AbstractKNXClient.this, source, destination, asdu));
+            processEvent("Group Write", e, groupWrite);
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> listener
-                    .onGroupRead(AbstractKNXClient.this, source, destination, asdu));
+            processEvent("Group Read Request", e, groupRead);
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> listener
-                    .onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu));
+            processEvent("Group Read Response", e, groupReadResponse);
         }
     };
 
@@ -154,6 +176,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.statusUpdateCallback = statusUpdateCallback;
         this.commandExtensionData = commandExtensionData;
         this.openhabSecurity = openhabSecurity;
+        this.readScheduler = new ReadScheduler(this::readFromKNX, knxScheduler, commandExtensionData.busStatistics(),
+                readingPause, TimeUnit.SECONDS.toMillis(responseTimeout));
     }
 
     public void initialize() {
@@ -312,7 +336,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (tmpLink != null) {
             tmpLink.removeLinkListener(this);
         }
-        readDatapoints.clear();
+        readScheduler.clear();
+        telegrams.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, ManagementProcedures::detach);
@@ -341,12 +366,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        boolean isHandled = false;
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                isHandled = true;
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        GroupAddressListener[] listeners = groupAddressIndex.getOrDefault(destination, NO_LISTENERS);
+        boolean isHandled = listeners.length > 0;
+        commandExtensionData.busStatistics().telegramReceived(isHandled);
+        if (isHandled) {
+            telegrams.add(new Telegram(action, listeners, source, destination, asdu, System.nanoTime()));
+            scheduleDispatch();
         }
         // Store information about unhandled GAs, can be shown on console using knx:list-unknown-ga.
         // The idea is to store GA, message type, and size as key. The value counts the number of packets.
@@ -364,50 +389,79 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
+    private void scheduleDispatch() {
+        if (dispatching.compareAndSet(false, true)) {
+            knxScheduler.execute(this::dispatchTelegrams);
+        }
+    }
+
+    /**
+     * Passes a batch of queued telegrams to their listeners. Further telegrams are dispatched by a new task, so that
+     * a busy bus doesn't occupy a thread of the scheduler permanently.
+     */
+    private void dispatchTelegrams() {
+        BusStatistics statistics = commandExtensionData.busStatistics();
+        try {
+            for (int i = 0; i < MAX_DISPATCH_BATCH_SIZE; i++) {
+                Telegram telegram = telegrams.poll();
+                if (telegram == null) {
+                    break;
+                }
+                for (GroupAddressListener listener : telegram.listeners()) {
+                    try {
+                        telegram.action().apply(listener, telegram.source(), telegram.destination(), telegram.asdu());
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to process telegram from '{}' to '{}': {}", telegram.source(),
+                                telegram.destination(), e.getMessage(), e);
+                    }
+                }
+                statistics.telegramDispatched(telegram.listeners().length,
+                        System.nanoTime() - telegram.receivedNanos());
+            }
+            statistics.batchDispatched();
+        } finally {
+            dispatching.set(false);
+        }
+        if (!telegrams.isEmpty()) {
+            scheduleDispatch();
+        }
+    }
+
+    private void updateGroupAddressIndex() {
+        Map<GroupAddress, GroupAddressListener[]> index = new HashMap<>();
+        for (GroupAddressListener listener : groupAddressListeners) {
+            for (GroupAddress groupAddress : listener.getGroupAddresses()) {
+                GroupAddressListener[] listeners = index.getOrDefault(groupAddress, NO_LISTENERS);
+                GroupAddressListener[] extended = new GroupAddressListener[listeners.length + 1];
+                System.arraycopy(listeners, 0, extended, 0, listeners.length);
+                extended[listeners.length] = listener;
+                index.put(groupAddress, extended);
+            }
+        }
+        groupAddressIndex = Map.copyOf(index);
+        logger.debug("Bridge {} listens to {} group addresses of {} things", thingUID, index.size(),
+                groupAddressListeners.size());
+    }
+
     private void readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
         }
+        readScheduler.tick();
+    }
+
+    private void readFromKNX(Datapoint datapoint) throws KNXException, InterruptedException {
         ProcessCommunicator processCommunicator = this.processCommunicator;
         if (processCommunicator == null) {
-            return;
+            throw new KNXException("KNX bus is not connected");
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            // TODO #8872: allow write access, currently only listening mode
-            if (openhabSecurity.groupKeys().containsKey(datapoint.getDatapoint().getMainAddress())) {
-                logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
-                        datapoint.getDatapoint().getMainAddress());
-                return;
-            }
-
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
-                // KnxIllegalArgumentException
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException | CancellationException e) {
-                logger.debug("Interrupted sending KNX read request");
-            } catch (Exception e) {
-                // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
-                // Not catching this would end the scheduled read for all DPs in case of an error.
-                // Severity is warning as this is likely caused by a configuration error.
-                logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
-                        e.getMessage());
-            }
+        // TODO #8872: allow write access, currently only listening mode
+        if (openhabSecurity.groupKeys().containsKey(datapoint.getMainAddress())) {
+            logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
+                    datapoint.getMainAddress());
+            return;
         }
+        processCommunicator.read(datapoint);
     }
 
     public void dispose() {
@@ -510,22 +564,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readScheduler.add(datapoint, readRetriesLimit);
     }
 
     @Override
     public final void registerGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.add(listener);
+        synchronized (groupAddressListeners) {
+            groupAddressListeners.add(listener);
+            updateGroupAddressIndex();
+        }
     }
 
     @Override
     public final void unregisterGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.remove(listener);
+        synchronized (groupAddressListeners) {
+            if (groupAddressListeners.remove(listener)) {
+                updateGroupAddressIndex();
+            }
+        }
     }
 
     @Override
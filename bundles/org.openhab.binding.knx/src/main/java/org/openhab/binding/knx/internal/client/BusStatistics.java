@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Statistics of the group telegrams received from the KNX bus, their dispatch to the things, and the group read
+ * requests sent to the bus, shown on the console using knx:bus-stats.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class BusStatistics {
+
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder unhandledTelegrams = new LongAdder();
+    private final LongAdder dispatchedTelegrams = new LongAdder();
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder completedReads = new LongAdder();
+    private final LongAdder failedReads = new LongAdder();
+    private final LongAdder readNanos = new LongAdder();
+    private volatile int pendingReads;
+    private volatile int pendingInitialReads;
+    private volatile int runningReads;
+    private volatile int concurrentReads;
+    private volatile long estimatedReadMillis;
+
+    void telegramReceived(boolean handled) {
+        telegrams.increment();
+        if (!handled) {
+            unhandledTelegrams.increment();
+        }
+    }
+
+    void batchDispatched() {
+        batches.increment();
+    }
+
+    /**
+     * Records a telegram passed to the things listening to its group address.
+     *
+     * @param listeners The number of things the telegram was passed to.
+     * @param latencyNanos The time between receiving the telegram and the end of its dispatch in nanoseconds.
+     */
+    void telegramDispatched(int listeners, long latencyNanos) {
+        dispatchedTelegrams.increment();
+        dispatches.add(listeners);
+        this.latencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    void readCompleted(long nanos) {
+        completedReads.increment();
+        readNanos.add(nanos);
+    }
+
+    void readFailed() {
+        failedReads.increment();
+    }
+
+    void updateReadQueue(int pending, int pendingInitial, int running, int concurrent, long estimatedMillis) {
+        pendingReads = pending;
+        pendingInitialReads = pendingInitial;
+        runningReads = running;
+        concurrentReads = concurrent;
+        estimatedReadMillis = estimatedMillis;
+    }
+
+    /**
+     * @return The number of group telegrams received.
+     */
+    public long getTelegrams() {
+        return telegrams.sum();
+    }
+
+    /**
+     * @return The number of group telegrams to group addresses no thing listens to.
+     */
+    public long getUnhandledTelegrams() {
+        return unhandledTelegrams.sum();
+    }
+
+    /**
+     * @return The number of times a telegram was passed to a thing.
+     */
+    public long getDispatches() {
+        return dispatches.sum();
+    }
+
+    /**
+     * @return The number of batches telegrams were dispatched in.
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return The average number of telegrams per minute since the binding was started.
+     */
+    public long getTelegramsPerMinute() {
+        long minutes = TimeUnit.NANOSECONDS.toMinutes(System.nanoTime() - startNanos);
+        return minutes == 0 ? getTelegrams() : getTelegrams() / minutes;
+    }
+
+    public long getAverageLatencyMicros() {
+        long dispatched = dispatchedTelegrams.sum();
+        return dispatched == 0 ? 0 : latencyNanos.sum() / dispatched / 1000;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxLatencyNanos.get() / 1000;
+    }
+
+    public long getCompletedReads() {
+        return completedReads.sum();
+    }
+
+    public long getFailedReads() {
+        return failedReads.sum();
+    }
+
+    /**
+     * @return The average time in milliseconds between sending a group read request and receiving the response.
+     */
+    public long getAverageReadMillis() {
+        long completed = completedReads.sum();
+        return completed == 0 ? 0 : readNanos.sum() / completed / 1_000_000;
+    }
+
+    /**
+     * @return The number of datapoints waiting to be read.
+     */
+    public int getPendingReads() {
+        return pendingReads;
+    }
+
+    /**
+     * @return The number of waiting datapoints which have not been read since the bridge connected.
+     */
+    public int getPendingInitialReads() {
+        return pendingInitialReads;
+    }
+
+    /**
+     * @return The number of read requests waiting for their response.
+     */
+    public int getRunningReads() {
+        return runningReads;
+    }
+
+    /**
+     * @return The number of read requests currently allowed to wait for their response at the same time.
+     */
+    public int getConcurrentReads() {
+        return concurrentReads;
+    }
+
+    /**
+     * @return The estimated time in milliseconds until all waiting datapoints are read.
+     */
+    public long getEstimatedReadMillis() {
+        return estimatedReadMillis;
+    }
+}
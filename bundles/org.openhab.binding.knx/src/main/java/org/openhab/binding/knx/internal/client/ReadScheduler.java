@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.datapoint.Datapoint;
+
+/**
+ * Schedules the group read requests of the things.
+ *
+ * <p>
+ * Datapoints are queued once per group address, no matter how many things request them. Group addresses which have
+ * not been read since the bridge connected are read first, followed by periodic reads, followed by retries of failed
+ * reads, so that all things get a state as soon as possible after a restart.
+ *
+ * <p>
+ * {@link #tick()} is called every {@code readingPause} milliseconds and starts at most one read. Several reads may
+ * be waiting for their response at the same time: the number of concurrent reads grows while the bus answers quickly,
+ * and is reduced to one when a read fails or the bus load is high.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+class ReadScheduler {
+
+    static final int MAX_CONCURRENT_READS = 3;
+    // a TP1 line transfers roughly 50 telegrams per second
+    static final int BUS_LOAD_LIMIT = 20;
+
+    /**
+     * Sends a group read request and waits for the response.
+     */
+    @FunctionalInterface
+    interface Reader {
+        void read(Datapoint datapoint) throws KNXException, InterruptedException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    private final Reader reader;
+    private final Executor executor;
+    private final BusStatistics statistics;
+    private final long readingPauseMillis;
+    private final long responseTimeoutMillis;
+
+    // guarded by this
+    private final Map<GroupAddress, ReadDatapoint> initialReads = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> periodicReads = new LinkedHashMap<>();
+    private final Map<GroupAddress, ReadDatapoint> retries = new LinkedHashMap<>();
+    private final Set<GroupAddress> inFlight = new HashSet<>();
+    private final Set<GroupAddress> readGroupAddresses = new HashSet<>();
+    private int concurrency = 1;
+    private long lastLoadTelegrams;
+    private long lastLoadNanos = System.nanoTime();
+    private long busLoad;
+
+    /**
+     * @param reader Sends the read requests.
+     * @param executor Executes the read requests.
+     * @param statistics The statistics of the bus, used to measure the bus load.
+     * @param readingPauseMillis The minimum time between starting two reads.
+     * @param responseTimeoutMillis The time to wait for a response.
+     */
+    ReadScheduler(Reader reader, Executor executor, BusStatistics statistics, long readingPauseMillis,
+            long responseTimeoutMillis) {
+        this.reader = reader;
+        this.executor = executor;
+        this.statistics = statistics;
+        this.readingPauseMillis = readingPauseMillis;
+        this.responseTimeoutMillis = responseTimeoutMillis;
+    }
+
+    /**
+     * Queues a datapoint, unless its group address is already queued.
+     */
+    synchronized void add(Datapoint datapoint, int retryLimit) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        if (initialReads.containsKey(groupAddress) || periodicReads.containsKey(groupAddress)
+                || retries.containsKey(groupAddress) || inFlight.contains(groupAddress)) {
+            return;
+        }
+        ReadDatapoint readDatapoint = new ReadDatapoint(datapoint, retryLimit);
+        if (readGroupAddresses.contains(groupAddress)) {
+            periodicReads.put(groupAddress, readDatapoint);
+        } else {
+            initialReads.put(groupAddress, readDatapoint);
+        }
+        updateStatistics();
+    }
+
+    /**
+     * Removes all queued datapoints, e.g. when the connection is lost.
+     */
+    synchronized void clear() {
+        initialReads.clear();
+        periodicReads.clear();
+        retries.clear();
+        readGroupAddresses.clear();
+        concurrency = 1;
+        updateStatistics();
+    }
+
+    /**
+     * Starts the next read, if the bus load and the number of reads waiting for a response allow it.
+     */
+    void tick() {
+        ReadDatapoint datapoint;
+        synchronized (this) {
+            updateBusLoad();
+            int allowed = busLoad > BUS_LOAD_LIMIT ? 1 : concurrency;
+            if (inFlight.size() >= allowed) {
+                return;
+            }
+            datapoint = next();
+            if (datapoint == null) {
+                return;
+            }
+            inFlight.add(datapoint.getDatapoint().getMainAddress());
+            updateStatistics();
+        }
+        executor.execute(() -> read(datapoint));
+    }
+
+    private @Nullable ReadDatapoint next() {
+        for (Map<GroupAddress, ReadDatapoint> queue : List.of(initialReads, periodicReads, retries)) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    private void read(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        datapoint.incrementRetries();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", groupAddress);
+            reader.read(datapoint.getDatapoint());
+            success = true;
+            statistics.readCompleted(System.nanoTime() - start);
+        } catch (KNXException e) {
+            // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
+            // KnxIllegalArgumentException
+            statistics.readFailed();
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                synchronized (this) {
+                    retries.putIfAbsent(groupAddress, datapoint);
+                }
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.", groupAddress,
+                        e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        groupAddress, datapoint.getLimit());
+            }
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted sending KNX read request");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
+            // Severity is warning as this is likely caused by a configuration error.
+            statistics.readFailed();
+            logger.warn("Error reading datapoint {}: {}", groupAddress, e.getMessage());
+        } finally {
+            synchronized (this) {
+                inFlight.remove(groupAddress);
+                if (success) {
+                    readGroupAddresses.add(groupAddress);
+                    // additional reads only while the responses arrive quickly
+                    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (latencyMillis < responseTimeoutMillis / 4 && concurrency < MAX_CONCURRENT_READS) {
+                        concurrency++;
+                    }
+                } else {
+                    concurrency = 1;
+                }
+                updateStatistics();
+            }
+        }
+    }
+
+    private void updateBusLoad() {
+        long now = System.nanoTime();
+        long elapsed = now - lastLoadNanos;
+        if (elapsed >= TimeUnit.SECONDS.toNanos(1)) {
+            long telegrams = statistics.getTelegrams();
+            busLoad = (telegrams - lastLoadTelegrams) * TimeUnit.SECONDS.toNanos(1) / elapsed;
+            lastLoadTelegrams = telegrams;
+            lastLoadNanos = now;
+        }
+    }
+
+    private void updateStatistics() {
+        int pending = initialReads.size() + periodicReads.size() + retries.size();
+        long averageReadMillis = statistics.getAverageReadMillis();
+        // reads are started every readingPause, and each of them occupies one of the concurrent reads until done
+        long millisPerRead = Math.max(readingPauseMillis, averageReadMillis / Math.max(1, concurrency));
+        statistics.updateReadQueue(pending, initialReads.size(), inFlight.size(), concurrency,
+                pending * millisPerRead);
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.BusStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -33,13 +34,16 @@ import org.osgi.service.component.annotations.Reference;
  * The {@link KNXCommandExtension} is responsible for handling console commands
  *
  * @author Holger Friedrich - Initial contribution
+ * @author Jan Vybíral - Bus statistics
  */
 @NonNullByDefault
 @Component(service = ConsoleCommandExtension.class)
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_BUS_STATS = "bus-stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST_UNKNOWN_GA, CMD_BUS_STATS), false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -60,14 +64,36 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
                 }
             }
             return;
+        } else if (args.length == 1 && CMD_BUS_STATS.equalsIgnoreCase(args[0])) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                BusStatistics statistics = bridgeHandler.getCommandExtensionData().busStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel() + "\":");
+                console.println("  Group telegrams:           " + statistics.getTelegrams());
+                console.println("  Telegrams per minute:      " + statistics.getTelegramsPerMinute());
+                console.println("  Unhandled telegrams:       " + statistics.getUnhandledTelegrams());
+                console.println("  Dispatches to things:      " + statistics.getDispatches());
+                console.println("  Dispatch batches:          " + statistics.getBatches());
+                console.println("  Dispatch latency (avg):    " + statistics.getAverageLatencyMicros() + " µs");
+                console.println("  Dispatch latency (max):    " + statistics.getMaxLatencyMicros() + " µs");
+                console.println("  Pending reads:             " + statistics.getPendingReads() + " ("
+                        + statistics.getPendingInitialReads() + " not read since connecting)");
+                console.println("  Running reads:             " + statistics.getRunningReads() + " of "
+                        + statistics.getConcurrentReads() + " allowed");
+                console.println("  Completed / failed reads:  " + statistics.getCompletedReads() + " / "
+                        + statistics.getFailedReads());
+                console.println("  Read response time (avg):  " + statistics.getAverageReadMillis() + " ms");
+                console.println("  Time to full state (est.): " + statistics.getEstimatedReadMillis() / 1000 + " s");
+            }
+            return;
         }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_BUS_STATS, "show the telegram, dispatch and read statistics of the bridges"));
     }
 
     @Override
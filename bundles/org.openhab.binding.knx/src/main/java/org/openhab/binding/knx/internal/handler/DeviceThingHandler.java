@@ -16,6 +16,8 @@ import static org.openhab.binding.knx.internal.KNXBindingConstants.CHANNEL_RESET
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -80,6 +82,7 @@ import io.calimero.datapoint.Datapoint;
  *
  * @author Simon Kaufmann - Initial contribution and API
  * @author Jan N. Klug - Refactored for performance
+ * @author Jan Vybíral - Index channels by group address
  */
 @NonNullByDefault
 public class DeviceThingHandler extends BaseThingHandler implements GroupAddressListener {
@@ -93,6 +96,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     private final Map<GroupAddress, ScheduledFuture<?>> readFutures = new ConcurrentHashMap<>();
     private final Map<ChannelUID, ScheduledFuture<?>> channelFutures = new ConcurrentHashMap<>();
     private final Map<ChannelUID, KNXChannel> knxChannels = new ConcurrentHashMap<>();
+    private volatile Map<GroupAddress, List<KNXChannel>> knxChannelsByGroupAddress = Map.of();
     private final Random random = new Random();
     protected @Nullable IndividualAddress address;
     private int readInterval;
@@ -158,6 +162,15 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
             groupAddresses.addAll(knxChannel.getAllGroupAddresses());
         }
 
+        Map<GroupAddress, List<KNXChannel>> channelsByGroupAddress = new HashMap<>();
+        for (KNXChannel knxChannel : knxChannels.values()) {
+            for (GroupAddress groupAddress : knxChannel.getAllGroupAddresses()) {
+                channelsByGroupAddress.computeIfAbsent(groupAddress, ga -> new ArrayList<>()).add(knxChannel);
+            }
+        }
+        channelsByGroupAddress.replaceAll((ga, channels) -> List.copyOf(channels));
+        knxChannelsByGroupAddress = Map.copyOf(channelsByGroupAddress);
+
         if (modified) {
             updateThing(thingBuilder.build());
         }
@@ -178,6 +191,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         groupAddressesWriteBlocked.clear();
         groupAddressesRespondingSpec.clear();
         knxChannels.clear();
+        knxChannelsByGroupAddress = Map.of();
 
         detachFromClient();
     }
@@ -248,6 +262,11 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
+    }
+
     /** Handling commands triggered from openHAB */
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
@@ -323,7 +342,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
     public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination, byte[] asdu) {
         logger.trace("onGroupRead Thing '{}' received a GroupValueRead telegram from '{}' for destination '{}'",
                 getThing().getUID(), source, destination);
-        for (KNXChannel knxChannel : knxChannels.values()) {
+        for (KNXChannel knxChannel : knxChannelsByGroupAddress.getOrDefault(destination, List.of())) {
             if (knxChannel.isControl()) {
                 OutboundSpec responseSpec = knxChannel.getResponseSpec(destination, RefreshType.REFRESH);
                 if (responseSpec != null) {
@@ -364,7 +383,7 @@ public class DeviceThingHandler extends BaseThingHandler implements GroupAddress
         logger.debug("onGroupWrite Thing '{}' received a GroupValueWrite telegram from '{}' for destination '{}'",
                 getThing().getUID(), source, destination);
 
-        for (KNXChannel knxChannel : knxChannels.values()) {
+        for (KNXChannel knxChannel : knxChannelsByGroupAddress.getOrDefault(destination, List.of())) {
             InboundSpec listenSpec = knxChannel.getListenSpec(destination);
             if (listenSpec != null) {
                 logger.trace(
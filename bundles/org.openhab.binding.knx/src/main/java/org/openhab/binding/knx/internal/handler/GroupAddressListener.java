@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -23,6 +25,7 @@ import io.calimero.GroupAddress;
  * on the KNX bus
  *
  * @author Karel Goderis - Initial contribution
+ * @author Jan Vybíral - Group addresses for the dispatch index
  */
 @NonNullByDefault
 public interface GroupAddressListener extends BusMessageListener {
@@ -33,4 +36,12 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     boolean listensTo(GroupAddress destination);
+
+    /**
+     * Get all GroupAddresses the GroupAddressListener has an interest in.
+     *
+     * The client indexes the listeners by these addresses when they are registered, so the addresses must not change
+     * while the listener is registered.
+     */
+    Set<GroupAddress> getGroupAddresses();
 }
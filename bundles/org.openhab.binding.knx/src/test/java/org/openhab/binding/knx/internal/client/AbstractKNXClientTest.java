@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler.CommandExtensionData;
+import org.openhab.core.thing.ThingStatus;
+import org.openhab.core.thing.ThingUID;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+import io.calimero.secure.Security;
+
+/**
+ * Tests the dispatching of group telegrams by the {@link AbstractKNXClient}.
+ *
+ * Telegrams are written by a second process communicator to a {@link DummyKNXNetworkLink}, which loops them back to
+ * the client.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null" })
+class AbstractKNXClientTest {
+
+    private static final GroupAddress FIRST = new GroupAddress(1, 0, 1);
+    private static final GroupAddress SECOND = new GroupAddress(1, 0, 2);
+    private static final GroupAddress UNKNOWN = new GroupAddress(1, 0, 3);
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final DummyKNXNetworkLink link = new DummyKNXNetworkLink();
+    private final DummyProcessListener processListener = new DummyProcessListener();
+    private final CommandExtensionData commandExtensionData = new CommandExtensionData(new TreeMap<>(),
+            new BusStatistics());
+    private final StatusUpdateCallback statusUpdateCallback = mock(StatusUpdateCallback.class);
+    private final ScheduledExecutorService knxScheduler = mock(ScheduledExecutorService.class);
+
+    private final AbstractKNXClient client = new AbstractKNXClient(0, new ThingUID("knx", "ip", "test"), 5, 50, 3,
+            knxScheduler, commandExtensionData, Security.newSecurity(), statusUpdateCallback) {
+        @Override
+        protected KNXNetworkLink establishConnection() {
+            return link;
+        }
+    };
+
+    @NonNullByDefault({})
+    private ProcessCommunicator bus;
+
+    @BeforeEach
+    void setUp() throws KNXException {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(knxScheduler).execute(any());
+
+        client.initialize();
+        verify(statusUpdateCallback).updateStatus(ThingStatus.ONLINE);
+
+        bus = new ProcessCommunicatorImpl(link);
+        bus.addProcessListener(processListener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.detach();
+        client.dispose();
+    }
+
+    private static GroupAddressListener listener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(groupAddresses));
+        return listener;
+    }
+
+    private void write(GroupAddress groupAddress, boolean value) throws KNXException {
+        bus.write(groupAddress, value);
+        // the telegram went over the link
+        assertArrayEquals(new byte[] { (byte) (value ? 1 : 0) }, processListener.getLastFrame());
+    }
+
+    /**
+     * Runs the dispatch tasks passed to the scheduler.
+     */
+    private void dispatch() {
+        while (!tasks.isEmpty()) {
+            List<Runnable> started = new ArrayList<>(tasks);
+            tasks.clear();
+            started.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void telegramsReachOnlyTheListenersOfTheirGroupAddressInOrder() throws KNXException {
+        GroupAddressListener first = listener(FIRST);
+        GroupAddressListener both = listener(FIRST, SECOND);
+        client.registerGroupAddressListener(first);
+        client.registerGroupAddressListener(both);
+
+        write(FIRST, true);
+        write(SECOND, true);
+        write(FIRST, false);
+        write(UNKNOWN, true);
+
+        // the telegrams are queued and passed on in a single batch
+        assertEquals(1, tasks.size());
+        verify(first, never()).onGroupWrite(any(), any(), any(), any());
+        dispatch();
+
+        InOrder firstOrder = inOrder(first);
+        firstOrder.verify(first).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 1 }));
+        firstOrder.verify(first).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 0 }));
+        InOrder bothOrder = inOrder(both);
+        bothOrder.verify(both).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 1 }));
+        bothOrder.verify(both).onGroupWrite(eq(client), any(), eq(SECOND), aryEq(new byte[] { 1 }));
+        bothOrder.verify(both).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 0 }));
+        verify(first, never()).onGroupWrite(any(), any(), eq(SECOND), any());
+        verify(first, never()).onGroupWrite(any(), any(), eq(UNKNOWN), any());
+        verify(both, never()).onGroupWrite(any(), any(), eq(UNKNOWN), any());
+
+        BusStatistics statistics = commandExtensionData.busStatistics();
+        assertEquals(4, statistics.getTelegrams());
+        assertEquals(1, statistics.getUnhandledTelegrams());
+        assertEquals(5, statistics.getDispatches());
+        assertEquals(1, statistics.getBatches());
+        assertEquals(1, commandExtensionData.unknownGA().size());
+    }
+
+    @Test
+    void indexIsRebuiltWhenAListenerIsRegistered() throws KNXException {
+        write(FIRST, true);
+        dispatch();
+        assertEquals(1, commandExtensionData.busStatistics().getUnhandledTelegrams());
+
+        GroupAddressListener listener = listener(FIRST);
+        client.registerGroupAddressListener(listener);
+        write(FIRST, false);
+        dispatch();
+
+        verify(listener).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 0 }));
+        verify(listener, never()).onGroupWrite(any(), any(), any(), aryEq(new byte[] { 1 }));
+        assertEquals(1, commandExtensionData.busStatistics().getUnhandledTelegrams());
+    }
+
+    @Test
+    void indexIsRebuiltWhenAListenerIsUnregistered() throws KNXException {
+        GroupAddressListener removed = listener(FIRST, SECOND);
+        GroupAddressListener remaining = listener(FIRST);
+        client.registerGroupAddressListener(removed);
+        client.registerGroupAddressListener(remaining);
+
+        client.unregisterGroupAddressListener(removed);
+        write(FIRST, true);
+        write(SECOND, true);
+        dispatch();
+
+        verify(removed, never()).onGroupWrite(any(), any(), any(), any());
+        verify(remaining).onGroupWrite(eq(client), any(), eq(FIRST), aryEq(new byte[] { 1 }));
+        verify(remaining, never()).onGroupWrite(any(), any(), eq(SECOND), any());
+        assertEquals(1, commandExtensionData.busStatistics().getUnhandledTelegrams());
+    }
+}
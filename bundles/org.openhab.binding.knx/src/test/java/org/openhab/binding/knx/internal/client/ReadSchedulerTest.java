@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXFormatException;
+import io.calimero.KNXTimeoutException;
+import io.calimero.datapoint.CommandDP;
+import io.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author Jan Vybíral - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ReadSchedulerTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<GroupAddress> reads = new ArrayList<>();
+    private final List<GroupAddress> failing = new ArrayList<>();
+    private final BusStatistics statistics = new BusStatistics();
+    private final ReadScheduler scheduler = new ReadScheduler(this::read, tasks::add, statistics, 50, 10_000);
+
+    private void read(Datapoint datapoint) throws KNXException {
+        reads.add(datapoint.getMainAddress());
+        if (failing.contains(datapoint.getMainAddress())) {
+            throw new KNXTimeoutException("no response");
+        }
+    }
+
+    private static Datapoint datapoint(String groupAddress) throws KNXFormatException {
+        return new CommandDP(new GroupAddress(groupAddress), "test", 0, "1.001");
+    }
+
+    /**
+     * Runs the started reads, one tick after the other.
+     */
+    private void tick(int times) {
+        for (int i = 0; i < times; i++) {
+            scheduler.tick();
+            List<Runnable> started = new ArrayList<>(tasks);
+            tasks.clear();
+            started.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void testGroupAddressesAreReadOnce() throws KNXFormatException {
+        scheduler.add(datapoint("1/2/3"), 3);
+        scheduler.add(datapoint("1/2/3"), 3);
+        scheduler.add(datapoint("1/2/4"), 3);
+        assertEquals(2, statistics.getPendingReads());
+
+        tick(5);
+        assertEquals(List.of(new GroupAddress("1/2/3"), new GroupAddress("1/2/4")), reads);
+        assertEquals(0, statistics.getPendingReads());
+        assertEquals(2, statistics.getCompletedReads());
+    }
+
+    @Test
+    void testInitialReadsFirst() throws KNXFormatException {
+        scheduler.add(datapoint("1/1/1"), 3);
+        tick(1);
+        reads.clear();
+
+        // 1/1/1 has been read before, so the other group addresses are read first
+        scheduler.add(datapoint("1/1/1"), 3);
+        scheduler.add(datapoint("1/1/2"), 3);
+        scheduler.add(datapoint("1/1/3"), 3);
+        assertEquals(2, statistics.getPendingInitialReads());
+
+        tick(3);
+        assertEquals(List.of(new GroupAddress("1/1/2"), new GroupAddress("1/1/3"), new GroupAddress("1/1/1")),
+                reads);
+    }
+
+    @Test
+    void testRetries() throws KNXFormatException {
+        failing.add(new GroupAddress("2/0/1"));
+        scheduler.add(datapoint("2/0/1"), 2);
+        scheduler.add(datapoint("2/0/2"), 3);
+
+        tick(5);
+        // the failed read is retried after the other reads, and given up after the limit
+        assertEquals(List.of(new GroupAddress("2/0/1"), new GroupAddress("2/0/2"), new GroupAddress("2/0/1")),
+                reads);
+        assertEquals(2, statistics.getFailedReads());
+        assertEquals(0, statistics.getPendingReads());
+    }
+
+    @Test
+    void testConcurrentReads() throws KNXFormatException {
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint("3/0/" + i), 3);
+        }
+
+        // one read at a time, as long as no read has completed
+        scheduler.tick();
+        scheduler.tick();
+        assertEquals(1, tasks.size());
+        tick(1);
+
+        // fast responses allow more reads at the same time
+        for (int i = 0; i < ReadScheduler.MAX_CONCURRENT_READS + 1; i++) {
+            scheduler.tick();
+        }
+        assertEquals(2, tasks.size());
+        tick(1);
+        for (int i = 0; i < ReadScheduler.MAX_CONCURRENT_READS + 1; i++) {
+            scheduler.tick();
+        }
+        assertEquals(ReadScheduler.MAX_CONCURRENT_READS, tasks.size());
+
+        // a failure allows a single read again
+        failing.add(new GroupAddress("3/0/9"));
+        tasks.forEach(Runnable::run);
+        tasks.clear();
+        tick(10);
+        assertEquals(1, statistics.getConcurrentReads());
+    }
+}
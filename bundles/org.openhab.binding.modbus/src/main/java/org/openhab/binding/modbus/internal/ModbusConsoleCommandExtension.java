@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Karaf console commands for the Modbus binding.
+ *
+ * <pre>
+ * openhab:modbus stats   - show the statistics of the coalesced read requests
+ * </pre>
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusConsoleCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public ModbusConsoleCommandExtension(@Reference ThingRegistry thingRegistry) {
+        super("modbus", "Modbus binding commands.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "show the statistics of the coalesced read requests"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_STATS.equals(args[0])) {
+            boolean found = false;
+            for (Thing thing : thingRegistry.getAll()) {
+                if (thing.getHandler() instanceof AbstractModbusEndpointThingHandler<?, ?> endpoint) {
+                    ModbusReadPlanner planner = endpoint.getReadPlanner();
+                    if (planner == null) {
+                        continue;
+                    }
+                    found = true;
+                    console.println(thing.getUID() + ":");
+                    console.println("  Registered polls:         " + planner.getRegisteredPolls());
+                    console.println("  Planned requests:         " + planner.getPlannedRequests());
+                    console.println("  Executed merged requests: " + planner.getExecutedRequests());
+                    console.println("  Saved requests:           " + planner.getSavedRequests());
+                }
+            }
+            if (!found) {
+                console.println("No Modbus endpoints coalescing read requests found.");
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plans the regular polls of the pollers of an endpoint.
+ *
+ * <p>
+ * The requests of pollers with the same unit id, function code and refresh interval are merged, if they overlap or
+ * are at most {@code maxGap} registers (or coils) apart, and the merged request doesn't exceed the maximum number of
+ * registers or bits of a Modbus read request. Each merged request is polled once, and the pollers receive the part of
+ * the response they requested, so the data things see exactly the same results as before.
+ *
+ * <p>
+ * Changes of the registered polls are applied with a short delay, so that pollers initializing one after another
+ * don't cause a new plan each.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlanner {
+
+    static final long REPLAN_DELAY_MILLIS = 200;
+
+    /**
+     * A regular poll registered by a poller.
+     */
+    public static class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long refreshMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Registration(ModbusReadRequestBlueprint request, long refreshMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.refreshMillis = refreshMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+    }
+
+    /**
+     * A request polling the data of one or more registrations.
+     *
+     * @param request The request sent to the slave.
+     * @param refreshMillis The poll interval.
+     * @param registrations The registrations served by the request.
+     */
+    record PlannedRequest(ModbusReadRequestBlueprint request, long refreshMillis, List<Registration> registrations) {
+    }
+
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long refreshMillis) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int maxGap;
+
+    private final Set<Registration> registrations = new LinkedHashSet<>();
+    private final List<PollTask> pollTasks = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> replanJob;
+    private boolean closed;
+    private volatile int plannedRequests;
+
+    private final LongAdder executedRequests = new LongAdder();
+    private final LongAdder savedRequests = new LongAdder();
+
+    /**
+     * @param comms The communication interface of the endpoint.
+     * @param scheduler The scheduler applying changes of the registered polls.
+     * @param maxGap Maximum number of unused registers or coils between two merged requests.
+     */
+    public ModbusReadPlanner(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler, int maxGap) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.maxGap = Math.max(0, maxGap);
+    }
+
+    /**
+     * Registers a regular poll.
+     *
+     * @return The registration, to be passed to {@link #unregister}.
+     */
+    public synchronized Registration register(ModbusReadRequestBlueprint request, long refreshMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, refreshMillis, resultCallback, failureCallback);
+        registrations.add(registration);
+        scheduleReplan();
+        return registration;
+    }
+
+    public synchronized void unregister(Registration registration) {
+        if (registrations.remove(registration)) {
+            scheduleReplan();
+        }
+    }
+
+    /**
+     * Unregisters all polls.
+     */
+    public synchronized void close() {
+        closed = true;
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+            replanJob = null;
+        }
+        unregisterPollTasks();
+        registrations.clear();
+    }
+
+    private void scheduleReplan() {
+        if (closed) {
+            return;
+        }
+        ScheduledFuture<?> localReplanJob = replanJob;
+        if (localReplanJob != null) {
+            localReplanJob.cancel(false);
+        }
+        replanJob = scheduler.schedule(this::replan, REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void replan() {
+        replanJob = null;
+        if (closed) {
+            return;
+        }
+        unregisterPollTasks();
+        List<PlannedRequest> plan = plan(registrations, maxGap);
+        for (PlannedRequest planned : plan) {
+            if (planned.registrations().size() == 1) {
+                Registration registration = planned.registrations().get(0);
+                pollTasks.add(comms.registerRegularPoll(registration.request, registration.refreshMillis, 0,
+                        registration.resultCallback, registration.failureCallback));
+            } else {
+                FanOutCallback callback = new FanOutCallback(planned);
+                pollTasks.add(comms.registerRegularPoll(planned.request(), planned.refreshMillis(), 0, callback,
+                        callback));
+            }
+        }
+        plannedRequests = plan.size();
+        logger.debug("Polling the requests of {} pollers with {} requests on endpoint {}", registrations.size(),
+                plan.size(), comms.getEndpoint());
+    }
+
+    private void unregisterPollTasks() {
+        pollTasks.forEach(comms::unregisterRegularPoll);
+        pollTasks.clear();
+    }
+
+    /**
+     * Merges the requests of the registrations.
+     *
+     * @param registrations The registrations.
+     * @param maxGap Maximum number of unused registers or coils between two merged requests.
+     * @return The requests to poll.
+     */
+    static List<PlannedRequest> plan(Collection<Registration> registrations, int maxGap) {
+        Map<GroupKey, List<Registration>> groups = new LinkedHashMap<>();
+        for (Registration registration : registrations) {
+            ModbusReadRequestBlueprint request = registration.request;
+            groups.computeIfAbsent(
+                    new GroupKey(request.getUnitID(), request.getFunctionCode(), registration.refreshMillis),
+                    k -> new ArrayList<>()).add(registration);
+        }
+
+        List<PlannedRequest> plan = new ArrayList<>();
+        for (Map.Entry<GroupKey, List<Registration>> group : groups.entrySet()) {
+            GroupKey key = group.getKey();
+            List<Registration> sorted = new ArrayList<>(group.getValue());
+            sorted.sort(Comparator.comparingInt((Registration r) -> r.request.getReference())
+                    .thenComparingInt(r -> r.request.getDataLength()));
+            int maxLength = switch (key.functionCode()) {
+                case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+                default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+            };
+
+            List<Registration> members = new ArrayList<>();
+            int start = 0;
+            int end = 0;
+            for (Registration registration : sorted) {
+                int requestStart = registration.request.getReference();
+                int requestEnd = requestStart + registration.request.getDataLength();
+                if (!members.isEmpty() && requestStart <= end + maxGap
+                        && Math.max(end, requestEnd) - start <= maxLength) {
+                    members.add(registration);
+                    end = Math.max(end, requestEnd);
+                } else {
+                    if (!members.isEmpty()) {
+                        plan.add(toPlannedRequest(key, start, end, members));
+                    }
+                    members = new ArrayList<>();
+                    members.add(registration);
+                    start = requestStart;
+                    end = requestEnd;
+                }
+            }
+            if (!members.isEmpty()) {
+                plan.add(toPlannedRequest(key, start, end, members));
+            }
+        }
+        return plan;
+    }
+
+    private static PlannedRequest toPlannedRequest(GroupKey key, int start, int end, List<Registration> members) {
+        if (members.size() == 1) {
+            return new PlannedRequest(members.get(0).request, key.refreshMillis(), List.copyOf(members));
+        }
+        int maxTries = members.stream().mapToInt(r -> r.request.getMaxTries()).max().orElse(1);
+        return new PlannedRequest(
+                new ModbusReadRequestBlueprint(key.unitId(), key.functionCode(), start, end - start, maxTries),
+                key.refreshMillis(), List.copyOf(members));
+    }
+
+    /**
+     * @return The number of polls registered by pollers.
+     */
+    public synchronized int getRegisteredPolls() {
+        return registrations.size();
+    }
+
+    /**
+     * @return The number of requests the registered polls are polled with.
+     */
+    public int getPlannedRequests() {
+        return plannedRequests;
+    }
+
+    /**
+     * @return The number of merged requests executed.
+     */
+    public long getExecutedRequests() {
+        return executedRequests.sum();
+    }
+
+    /**
+     * @return The number of requests saved by merging.
+     */
+    public long getSavedRequests() {
+        return savedRequests.sum();
+    }
+
+    /**
+     * Passes the parts of the response of a merged request to the registrations.
+     */
+    private class FanOutCallback implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final PlannedRequest planned;
+
+        FanOutCallback(PlannedRequest planned) {
+            this.planned = planned;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            executedRequests.increment();
+            savedRequests.add(planned.registrations().size() - 1);
+            int start = planned.request().getReference();
+            ModbusRegisterArray registers = result.getRegisters().isPresent() ? result.getRegisters().get() : null;
+            BitArray bits = result.getBits().isPresent() ? result.getBits().get() : null;
+            for (Registration registration : planned.registrations()) {
+                ModbusReadRequestBlueprint request = registration.request;
+                int offset = request.getReference() - start;
+                int length = request.getDataLength();
+                if (registers != null && registers.size() >= offset + length) {
+                    byte[] bytes = Arrays.copyOfRange(registers.getBytes(), offset * 2, (offset + length) * 2);
+                    registration.resultCallback
+                            .handle(new AsyncModbusReadResult(request, new ModbusRegisterArray(bytes)));
+                } else if (bits != null && bits.size() >= offset + length) {
+                    BitArray slice = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        slice.setBit(i, bits.getBit(offset + i));
+                    }
+                    registration.resultCallback.handle(new AsyncModbusReadResult(request, slice));
+                } else {
+                    registration.failureCallback.handle(new AsyncModbusFailure<>(request, new IllegalStateException(
+                            String.format("Response of merged request %s is too short", planned.request()))));
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            executedRequests.increment();
+            savedRequests.add(planned.registrations().size() - 1);
+            for (Registration registration : planned.registrations()) {
+                registration.failureCallback.handle(new AsyncModbusFailure<>(registration.request, failure.getCause()));
+            }
+        }
+    }
+}
@@ -90,7 +90,11 @@ import org.slf4j.LoggerFactory;
  * synchronized
  * to avoid data race conditions.
  *
+ * With skipUnchangedData, the raw registers or bit of the value are compared to the previous poll, and unchanged data
+ * is neither decoded nor transformed, until updateUnchangedValuesEveryMillis has passed since the last update.
+ *
  * @author Sami Salonen - Initial contribution
+ * @author Jan Vybíral - Skip unchanged data
  */
 @NonNullByDefault
 public class ModbusDataThingHandler extends BaseThingHandler {
@@ -136,6 +140,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadFunctionCode functionCode;
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
+    private volatile boolean skipUnchangedData;
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
@@ -145,6 +150,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // raw registers (or bit) of the value in the last processed poll, for skipUnchangedData
+    private final int[] lastRawData = new int[4];
+    private int lastRawDataLength;
+    private long lastRawDataProcessedMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -397,6 +406,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             ModbusDataConfiguration localConfig = config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = localConfig.getUpdateUnchangedValuesEveryMillis();
+            skipUnchangedData = localConfig.isSkipUnchangedData();
             Bridge bridge = getBridge();
             if (bridge == null || !bridge.getStatus().equals(ThingStatus.ONLINE)) {
                 logger.debug("Thing {} '{}' has no bridge or it is not online", getThing().getUID(),
@@ -480,6 +490,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastRawDataLength = 0;
     }
 
     @Override
@@ -814,6 +825,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
+        if (skipUnchangedData) {
+            int registerIndex = readIndex.get() - pollStart;
+            int registerCount = Math.max(1, readValueType.getBits() / 16);
+            if (isRawDataUnchanged(registers, registerIndex, registerCount)) {
+                return;
+            }
+        }
         State numericState;
 
         // extractIndex:
@@ -852,6 +870,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (skipUnchangedData && isRawDataUnchanged(boolValue ? 1 : 0)) {
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -877,6 +898,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        lastRawDataLength = 0;
         Map<ChannelUID, State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -945,6 +967,47 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Compare the registers of the value to the last processed poll, reading them directly from the polled data.
+     *
+     * @return true if the registers are unchanged and the values don't need to be updated yet
+     */
+    private boolean isRawDataUnchanged(ModbusRegisterArray registers, int index, int count) {
+        if (index < 0 || count > lastRawData.length || index + count > registers.size()) {
+            // let extraction handle out-of-bounds data
+            lastRawDataLength = 0;
+            return false;
+        }
+        boolean unchanged = lastRawDataLength == count;
+        for (int i = 0; i < count; i++) {
+            int register = registers.getRegister(index + i);
+            unchanged &= lastRawData[i] == register;
+            lastRawData[i] = register;
+        }
+        lastRawDataLength = count;
+        return isUpdateSkipped(unchanged);
+    }
+
+    private boolean isRawDataUnchanged(int bit) {
+        boolean unchanged = lastRawDataLength == 1 && lastRawData[0] == bit;
+        lastRawData[0] = bit;
+        lastRawDataLength = 1;
+        return isUpdateSkipped(unchanged);
+    }
+
+    private boolean isUpdateSkipped(boolean unchanged) {
+        long now = System.currentTimeMillis();
+        if (unchanged && updateUnchangedValuesEveryMillis > 0L
+                && now - lastRawDataProcessedMillis <= updateUnchangedValuesEveryMillis) {
+            if (statusInfo.getStatus() != ThingStatus.ONLINE) {
+                updateStatusIfChanged(ThingStatus.ONLINE);
+            }
+            return true;
+        }
+        lastRawDataProcessedMillis = now;
+        return false;
+    }
+
     /**
      * Update linked channels
      *
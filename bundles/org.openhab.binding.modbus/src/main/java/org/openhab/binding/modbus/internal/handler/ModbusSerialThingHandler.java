@@ -59,6 +59,9 @@ public class ModbusSerialThingHandler
 
         this.config = config;
 
+        coalesceReads = config.isCoalesceReads();
+        maxReadGap = config.getMaxReadGap();
+
         EndpointPoolConfiguration poolConfiguration = new EndpointPoolConfiguration();
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
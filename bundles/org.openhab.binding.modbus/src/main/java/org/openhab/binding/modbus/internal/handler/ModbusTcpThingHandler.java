@@ -53,6 +53,9 @@ public class ModbusTcpThingHandler
         this.config = config;
         endpoint = new ModbusTCPSlaveEndpoint(host, config.getPort(), config.getRtuEncoded());
 
+        coalesceReads = config.isCoalesceReads();
+        maxReadGap = config.getMaxReadGap();
+
         EndpointPoolConfiguration poolConfiguration = new EndpointPoolConfiguration();
         this.poolConfiguration = poolConfiguration;
         poolConfiguration.setConnectMaxTries(config.getConnectMaxTries());
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.PlannedRequest;
+import org.openhab.binding.modbus.internal.ModbusReadPlanner.Registration;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlannerTest {
+
+    private static class RecordingCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<AsyncModbusReadResult> results = new ArrayList<>();
+        private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private static final RecordingCallback NO_CALLBACK = new RecordingCallback();
+
+    private static Registration registration(ModbusReadFunctionCode functionCode, int start, int length,
+            long refreshMillis) {
+        return registration(functionCode, start, length, refreshMillis, NO_CALLBACK);
+    }
+
+    private static Registration registration(ModbusReadFunctionCode functionCode, int start, int length,
+            long refreshMillis, RecordingCallback callback) {
+        return new Registration(new ModbusReadRequestBlueprint(1, functionCode, start, length, 3), refreshMillis,
+                callback, callback);
+    }
+
+    @Test
+    public void testOverlappingAndAdjacentRequestsAreMerged() {
+        List<PlannedRequest> plan = ModbusReadPlanner.plan(
+                List.of(registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5, 1000),
+                        registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 1000),
+                        registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 2, 1000)),
+                0);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).request().getReference(), is(equalTo(0)));
+        assertThat(plan.get(0).request().getDataLength(), is(equalTo(15)));
+        assertThat(plan.get(0).registrations().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGap() {
+        List<Registration> registrations = List.of(
+                registration(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2, 1000),
+                registration(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2, 1000));
+        assertThat(ModbusReadPlanner.plan(registrations, 2).size(), is(equalTo(2)));
+
+        List<PlannedRequest> plan = ModbusReadPlanner.plan(registrations, 3);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).request().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testMaximumLength() {
+        assertThat(ModbusReadPlanner.plan(
+                List.of(registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100, 1000),
+                        registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 26, 1000)),
+                0).size(), is(equalTo(2)));
+        assertThat(ModbusReadPlanner.plan(
+                List.of(registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100, 1000),
+                        registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25, 1000)),
+                0).size(), is(equalTo(1)));
+        assertThat(ModbusReadPlanner.plan(List.of(registration(ModbusReadFunctionCode.READ_COILS, 0, 1000, 1000),
+                registration(ModbusReadFunctionCode.READ_COILS, 1000, 1000, 1000)), 0).size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAndRefreshAreNotMerged() {
+        List<PlannedRequest> plan = ModbusReadPlanner.plan(
+                List.of(registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 1000),
+                        registration(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2, 1000),
+                        registration(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, 500)),
+                10);
+        assertThat(plan.size(), is(equalTo(3)));
+        for (PlannedRequest planned : plan) {
+            assertThat(planned.registrations().size(), is(equalTo(1)));
+            assertThat(planned.request(), is(sameInstance(planned.registrations().get(0).getRequest())));
+        }
+    }
+
+    @Test
+    public void testResponseIsSlicedToRegistrations() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenReturn(mock(PollTask.class));
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, mock(ScheduledExecutorService.class), 1);
+
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2, 3),
+                1000, first, first);
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 1, 3),
+                1000, second, second);
+        planner.replan();
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms).registerRegularPoll(request.capture(), eq(1000L), eq(0L), callback.capture(), any());
+        assertThat(request.getValue().getReference(), is(equalTo(0)));
+        assertThat(request.getValue().getDataLength(), is(equalTo(4)));
+
+        callback.getValue()
+                .handle(new AsyncModbusReadResult(request.getValue(), new ModbusRegisterArray(10, 11, 12, 13)));
+        assertThat(first.results.size(), is(equalTo(1)));
+        assertThat(registers(first.results.get(0)), is(equalTo(List.of(10, 11))));
+        assertThat(second.results.size(), is(equalTo(1)));
+        assertThat(registers(second.results.get(0)), is(equalTo(List.of(13))));
+        assertThat(second.results.get(0).getRequest().getReference(), is(equalTo(3)));
+        assertThat(planner.getSavedRequests(), is(equalTo(1L)));
+
+        planner.close();
+        verify(comms).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testBitsAreSlicedToRegistrations() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, mock(ScheduledExecutorService.class), 0);
+
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 0, 2, 3), 1000, first,
+                first);
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_COILS, 2, 2, 3), 1000, second,
+                second);
+        planner.replan();
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms).registerRegularPoll(request.capture(), anyLong(), anyLong(), callback.capture(), any());
+        callback.getValue()
+                .handle(new AsyncModbusReadResult(request.getValue(), new BitArray(true, false, false, true)));
+
+        assertThat(bits(first.results.get(0)), is(equalTo(List.of(true, false))));
+        assertThat(bits(second.results.get(0)), is(equalTo(List.of(false, true))));
+    }
+
+    @Test
+    public void testFailureIsPassedToAllRegistrations() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, mock(ScheduledExecutorService.class), 0);
+
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 1, 3),
+                1000, first, first);
+        planner.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 1, 1, 3),
+                1000, second, second);
+        planner.replan();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCallback = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms).registerRegularPoll(request.capture(), anyLong(), anyLong(), any(), failureCallback.capture());
+        Exception cause = new IllegalStateException("timeout");
+        failureCallback.getValue().handle(new AsyncModbusFailure<>(request.getValue(), cause));
+
+        assertThat(first.failures.size(), is(equalTo(1)));
+        assertThat(first.failures.get(0).getCause(), is(sameInstance(cause)));
+        assertThat(second.failures.get(0).getRequest().getReference(), is(equalTo(1)));
+    }
+
+    private static List<Integer> registers(AsyncModbusReadResult result) {
+        ModbusRegisterArray registers = result.getRegisters().get();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < registers.size(); i++) {
+            values.add(registers.getRegister(i));
+        }
+        return values;
+    }
+
+    private static List<Boolean> bits(AsyncModbusReadResult result) {
+        BitArray bits = result.getBits().get();
+        List<Boolean> values = new ArrayList<>();
+        for (int i = 0; i < bits.size(); i++) {
+            values.add(bits.getBit(i));
+        }
+        return values;
+    }
+}
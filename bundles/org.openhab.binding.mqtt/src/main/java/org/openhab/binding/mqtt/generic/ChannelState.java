@@ -24,6 +24,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.binding.mqtt.handler.TopicPayloadCache;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
 import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.core.library.types.DecimalType;
@@ -62,6 +63,7 @@ public class ChannelState implements MqttMessageSubscriber {
     protected final ChannelTransformation incomingTransformation;
     protected final ChannelTransformation outgoingTransformation;
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
+    private @Nullable TopicPayloadCache payloadCache;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
@@ -145,6 +147,20 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        final TopicPayloadCache payloadCache = this.payloadCache;
+        if (payloadCache == null) {
+            processMessage(topic, payload, null);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            processMessage(topic, payload, payloadCache);
+        } finally {
+            payloadCache.recordDispatch(System.nanoTime() - start);
+        }
+    }
+
+    private void processMessage(String topic, byte[] payload, @Nullable TopicPayloadCache payloadCache) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -159,7 +175,8 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = payloadCache != null ? payloadCache.decode(topic, payload)
+                : new String(payload, StandardCharsets.UTF_8);
         if (incomingTransformation.isPresent()) {
             Optional<String> transformedValue = incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
@@ -442,6 +459,15 @@ public class ChannelState implements MqttMessageSubscriber {
         return connection;
     }
 
+    /**
+     * Sets the cache sharing the decoded payloads of a topic with the other channels of the broker.
+     *
+     * @param payloadCache The cache of the broker, or <code>null</code> to decode every payload
+     */
+    public void setPayloadCache(@Nullable TopicPayloadCache payloadCache) {
+        this.payloadCache = payloadCache;
+    }
+
     /**
      * This is for tests only to inject a broker connection. Use
      * {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)} instead.
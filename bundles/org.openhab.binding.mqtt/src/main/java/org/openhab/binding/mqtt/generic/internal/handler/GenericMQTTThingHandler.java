@@ -89,8 +89,10 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         // availability topics are also started asynchronously, so no problem here
         clearAllAvailabilityTopics();
         initializeAvailabilityTopicsFromConfig();
-        return channelStateByChannelUID.values().stream().map(c -> c.start(connection, scheduler, 0))
-                .collect(FutureCollector.allOf()).thenRun(() -> calculateAndUpdateThingStatus(false));
+        return channelStateByChannelUID.values().stream().map(c -> {
+            c.setPayloadCache(payloadCache);
+            return c.start(connection, scheduler, 0);
+        }).collect(FutureCollector.allOf()).thenRun(() -> calculateAndUpdateThingStatus(false));
     }
 
     @Override
@@ -54,6 +54,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
+    private final TopicPayloadCache payloadCache = new TopicPayloadCache();
 
     public AbstractBrokerHandler(Bridge thing) {
         super(thing);
@@ -79,6 +80,13 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         return connection;
     }
 
+    /**
+     * Returns the cache sharing decoded payloads between the channels subscribed to the same topic.
+     */
+    public TopicPayloadCache getPayloadCache() {
+        return payloadCache;
+    }
+
     /**
      * Does nothing in the base implementation.
      */
@@ -183,6 +191,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         }
         this.connection = null;
         connectionFuture = new CompletableFuture<>();
+        payloadCache.clear();
         super.dispose();
     }
 
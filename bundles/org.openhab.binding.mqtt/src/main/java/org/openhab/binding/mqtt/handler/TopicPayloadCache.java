@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Decodes the payloads received on the topics of a broker once for all channels subscribed to the same topic.
+ *
+ * <p>
+ * The broker connection passes the same payload array to all subscribers of a topic one after another. Every channel
+ * subscribed to the topic gets the same decoded {@link String} instance, so transformations caching their parsed input
+ * by the string, like JSONPATH, parse the payload only once for all channels. The decoded payload is kept until the
+ * next message is received on the topic.
+ *
+ * <p>
+ * A message is recognized by the identity of its payload array, so no payload has to be compared. The cache is not
+ * locked, concurrent messages on the same topic are just decoded separately.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class TopicPayloadCache {
+
+    private static final int MAX_TOPICS = 1024;
+
+    private record DecodedPayload(byte[] payload, String value) {
+    }
+
+    private final Map<String, DecodedPayload> lastPayloads = new ConcurrentHashMap<>();
+
+    private final LongAdder decodedMessages = new LongAdder();
+    private final LongAdder sharedMessages = new LongAdder();
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder dispatchNanos = new LongAdder();
+    private final LongAccumulator maxDispatchNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Decodes a UTF-8 payload, returning the same instance for every subscriber of the topic.
+     *
+     * @param topic The topic the payload was received on.
+     * @param payload The payload.
+     * @return The decoded payload.
+     */
+    public String decode(String topic, byte[] payload) {
+        DecodedPayload last = lastPayloads.get(topic);
+        if (last != null && last.payload() == payload) {
+            sharedMessages.increment();
+            return last.value();
+        }
+        String value = new String(payload, StandardCharsets.UTF_8);
+        decodedMessages.increment();
+        if (lastPayloads.put(topic, new DecodedPayload(payload, value)) == null && lastPayloads.size() > MAX_TOPICS) {
+            // only reached with wildcard state topics, drop any other topic
+            Iterator<String> topics = lastPayloads.keySet().iterator();
+            while (topics.hasNext()) {
+                if (!topics.next().equals(topic)) {
+                    topics.remove();
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Records the time a channel needed to process a message.
+     *
+     * @param nanos The processing time in nanoseconds.
+     */
+    public void recordDispatch(long nanos) {
+        dispatches.increment();
+        dispatchNanos.add(nanos);
+        maxDispatchNanos.accumulate(nanos);
+    }
+
+    public void clear() {
+        lastPayloads.clear();
+    }
+
+    /**
+     * @return The number of text payloads decoded.
+     */
+    public long getDecodedMessages() {
+        return decodedMessages.sum();
+    }
+
+    /**
+     * @return The number of times a channel got an already decoded payload.
+     */
+    public long getSharedMessages() {
+        return sharedMessages.sum();
+    }
+
+    /**
+     * @return The number of messages processed by channels.
+     */
+    public long getDispatches() {
+        return dispatches.sum();
+    }
+
+    public long getAverageDispatchMicros() {
+        long count = dispatches.sum();
+        return count == 0 ? 0 : dispatchNanos.sum() / count / 1000;
+    }
+
+    public long getMaxDispatchMicros() {
+        return maxDispatchNanos.get() / 1000;
+    }
+}
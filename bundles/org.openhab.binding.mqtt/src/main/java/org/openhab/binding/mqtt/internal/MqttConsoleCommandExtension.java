@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.internal;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.handler.TopicPayloadCache;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Karaf console commands for the MQTT binding.
+ *
+ * <pre>
+ * openhab:mqtt stats   - show the message dispatch statistics of the brokers
+ * </pre>
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class MqttConsoleCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_STATS), false);
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public MqttConsoleCommandExtension(@Reference ThingRegistry thingRegistry) {
+        super("mqtt", "MQTT binding commands.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_STATS, "show the message dispatch statistics of the brokers"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_STATS.equals(args[0])) {
+            boolean found = false;
+            for (Thing thing : thingRegistry.getAll()) {
+                if (thing.getHandler() instanceof AbstractBrokerHandler broker) {
+                    found = true;
+                    TopicPayloadCache cache = broker.getPayloadCache();
+                    console.println(thing.getUID() + ":");
+                    console.println("  Decoded messages:    " + cache.getDecodedMessages());
+                    console.println("  Shared decodes:      " + cache.getSharedMessages());
+                    console.println("  Channel dispatches:  " + cache.getDispatches());
+                    console.println("  Dispatch time (avg): " + cache.getAverageDispatchMicros() + " µs");
+                    console.println("  Dispatch time (max): " + cache.getMaxDispatchMicros() + " µs");
+                }
+            }
+            if (!found) {
+                console.println("No MQTT broker things found.");
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TopicPayloadCache} class.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class TopicPayloadCacheTest {
+
+    @Test
+    public void payloadIsDecodedOncePerMessage() {
+        TopicPayloadCache cache = new TopicPayloadCache();
+        byte[] payload = "{\"temperature\":21.5}".getBytes(StandardCharsets.UTF_8);
+
+        String first = cache.decode("zigbee2mqtt/sensor", payload);
+        String second = cache.decode("zigbee2mqtt/sensor", payload);
+        // the next message with the same content
+        String next = cache.decode("zigbee2mqtt/sensor", payload.clone());
+
+        assertThat(first, is("{\"temperature\":21.5}"));
+        assertThat(second, is(sameInstance(first)));
+        assertThat(next, is(first));
+        assertThat(next, is(not(sameInstance(first))));
+        assertThat(cache.getDecodedMessages(), is(2L));
+        assertThat(cache.getSharedMessages(), is(1L));
+    }
+
+    @Test
+    public void payloadsOfInterleavedTopicsAreKept() {
+        TopicPayloadCache cache = new TopicPayloadCache();
+        byte[][] payloads = new byte[100][];
+        String[] decoded = new String[payloads.length];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = ("{\"id\":" + i + "}").getBytes(StandardCharsets.UTF_8);
+            decoded[i] = cache.decode("tele/device" + i + "/SENSOR", payloads[i]);
+        }
+        for (int i = 0; i < payloads.length; i++) {
+            assertThat(cache.decode("tele/device" + i + "/SENSOR", payloads[i]), is(sameInstance(decoded[i])));
+        }
+
+        assertThat(cache.getDecodedMessages(), is(100L));
+        assertThat(cache.getSharedMessages(), is(100L));
+    }
+
+    @Test
+    public void changedPayloadIsDecodedAgain() {
+        TopicPayloadCache cache = new TopicPayloadCache();
+
+        String first = cache.decode("tele/plug/SENSOR", "1".getBytes(StandardCharsets.UTF_8));
+        String other = cache.decode("tele/plug/STATE", "1".getBytes(StandardCharsets.UTF_8));
+        String changed = cache.decode("tele/plug/SENSOR", "2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(other, is(not(sameInstance(first))));
+        assertThat(changed, is("2"));
+        assertThat(cache.getDecodedMessages(), is(3L));
+        assertThat(cache.getSharedMessages(), is(0L));
+    }
+
+    @Test
+    public void dispatchTimesAreRecorded() {
+        TopicPayloadCache cache = new TopicPayloadCache();
+        cache.recordDispatch(1_000);
+        cache.recordDispatch(5_000);
+
+        assertThat(cache.getDispatches(), is(2L));
+        assertThat(cache.getAverageDispatchMicros(), is(3L));
+        assertThat(cache.getMaxDispatchMicros(), is(5L));
+    }
+}
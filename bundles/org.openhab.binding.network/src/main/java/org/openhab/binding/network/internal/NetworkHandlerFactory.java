@@ -25,6 +25,8 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.handler.NetworkHandler;
 import org.openhab.binding.network.internal.handler.SpeedTestHandler;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.Configuration;
@@ -46,6 +48,7 @@ import org.slf4j.LoggerFactory;
  * PING_DEVICE and SERVICE_DEVICE handlers.
  *
  * @author David Graeff - Initial contribution
+ * @author Jan Vybíral - Presence prober shared by all handlers
  */
 @NonNullByDefault
 @Component(service = ThingHandlerFactory.class, configurationPid = BINDING_CONFIGURATION_PID)
@@ -57,6 +60,7 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
     private final ScheduledExecutorService executor = ThreadPoolManager
             .getScheduledPool(NETWORK_HANDLER_THREADPOOL_NAME);
     private volatile @Nullable ExecutorService resolver;
+    private volatile @Nullable PresenceProber prober;
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -75,6 +79,12 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         }
         this.resolver = new ThreadPoolExecutor(1, Integer.MAX_VALUE, 20L, TimeUnit.SECONDS,
                 new SynchronousQueue<Runnable>(), new NamedThreadFactory(NETWORK_RESOLVER_THREADPOOL_NAME));
+        PresenceProber prober = this.prober;
+        if (prober != null) {
+            // This should not happen
+            prober.dispose();
+        }
+        this.prober = new PresenceProber(new NetworkUtils(), executor);
     }
 
     @Override
@@ -86,6 +96,11 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
             resolver.shutdownNow();
             this.resolver = null;
         }
+        PresenceProber prober = this.prober;
+        if (prober != null) {
+            prober.dispose();
+            this.prober = null;
+        }
     }
 
     @Modified
@@ -109,9 +124,9 @@ public class NetworkHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(PING_DEVICE) || thingTypeUID.equals(BACKWARDS_COMPATIBLE_DEVICE)) {
-            return new NetworkHandler(thing, executor, resolver, false, configuration);
+            return new NetworkHandler(thing, executor, resolver, prober, false, configuration);
         } else if (thingTypeUID.equals(SERVICE_DEVICE)) {
-            return new NetworkHandler(thing, executor, resolver, true, configuration);
+            return new NetworkHandler(thing, executor, resolver, prober, true, configuration);
         } else if (thingTypeUID.equals(SPEEDTEST_DEVICE)) {
             return new SpeedTestHandler(thing);
         }
@@ -42,6 +42,8 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+import org.openhab.binding.network.internal.utils.PresenceProber.Neighbour;
 import org.openhab.core.cache.ExpiringCache;
 import org.openhab.core.cache.ExpiringCacheAsync;
 import org.slf4j.Logger;
@@ -54,6 +56,7 @@ import org.slf4j.LoggerFactory;
  * @author David Gräff, 2017 - Rewritten
  * @author Jan N. Klug - refactored host name resolution
  * @author Wouter Born - Reuse ExpiringCacheAsync from Core
+ * @author Jan Vybíral - Probes shared with other things by a {@link PresenceProber}
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
@@ -61,6 +64,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private static final Duration DESTINATION_TTL = Duration.ofMinutes(5);
 
     NetworkUtils networkUtils = new NetworkUtils();
+    private @Nullable PresenceProber prober;
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
@@ -147,6 +151,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
+    /**
+     * Sets the {@link PresenceProber} which performs the TCP connection attempts and ICMP pings together with those of
+     * other things. Without a prober, each check is performed on its own.
+     */
+    public void setPresenceProber(@Nullable PresenceProber prober) {
+        this.prober = prober;
+    }
+
     public void setNetworkInterfaceNames(Set<String> networkInterfaceNames) {
         this.networkInterfaceNames = networkInterfaceNames;
     }
@@ -358,8 +370,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             detectionChecks += 1;
         }
         if (arpPingMethod.canProceed) {
+            String neighbourInterfaceName = getNeighbourInterfaceName();
             if (!lastReachableNetworkInterfaceName.isEmpty()) {
                 interfaceNames = Set.of(lastReachableNetworkInterfaceName);
+            } else if (neighbourInterfaceName != null) {
+                interfaceNames = Set.of(neighbourInterfaceName);
             } else if (!networkInterfaceNames.isEmpty()) {
                 interfaceNames = networkInterfaceNames;
             } else {
@@ -378,10 +393,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
 
+        PresenceProber localProber = prober;
         for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                performServicePing(pdv, tcpPort);
-            });
+            if (localProber != null) {
+                // the connection attempts don't need a thread while waiting for the connection
+                completableFutures.add(CompletableFuture.supplyAsync(destination::getValue, executor).thenCompose(
+                        destinationAddress -> performServicePing(localProber, pdv, destinationAddress, tcpPort)));
+            } else {
+                addAsyncDetection(completableFutures, () -> {
+                    performServicePing(pdv, tcpPort);
+                });
+            }
         }
 
         // ARP ping for IPv4 addresses. Use single executor for Windows tool and
@@ -500,6 +522,43 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         });
     }
 
+    private CompletableFuture<Void> performServicePing(PresenceProber prober, PresenceDetectionValue pdv,
+            @Nullable InetAddress destinationAddress, int tcpPort) {
+        logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
+
+        if (destinationAddress == null) {
+            logger.trace("The destinationAddress for {} is null", hostname);
+            return CompletableFuture.completedFuture(null);
+        }
+        return prober.servicePing(destinationAddress, tcpPort, timeout).handle((pingResult, e) -> {
+            if (pingResult != null && pingResult.isSuccess()) {
+                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
+            } else if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the interface of the destination in the neighbour table, if it is one of the configured interfaces. A
+     * single ARP ping on this interface is enough while the entry exists.
+     */
+    private @Nullable String getNeighbourInterfaceName() {
+        PresenceProber localProber = prober;
+        InetAddress cached = cachedDestination;
+        if (localProber == null || !(cached instanceof Inet4Address)) {
+            return null;
+        }
+        Neighbour neighbour = localProber.getNeighbour(cached.getHostAddress());
+        if (neighbour == null
+                || (!networkInterfaceNames.isEmpty() && !networkInterfaceNames.contains(neighbour.interfaceName()))) {
+            return null;
+        }
+        return neighbour.interfaceName();
+    }
+
     /**
      * Performs an "ARP ping" (ARP request) on the given interface.
      * If it is an iOS device, the {@link NetworkUtils#wakeUpIOS(InetAddress)} method is
@@ -575,8 +634,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
         withDestinationAddress(destinationAddress -> {
             try {
-                PingResult pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(),
-                        timeout);
+                PresenceProber localProber = prober;
+                PingResult pingResult = localProber != null
+                        ? localProber.ping(pingMethod, destinationAddress.getHostAddress(), timeout)
+                        : networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeout);
                 if (pingResult != null && pingResult.isSuccess()) {
                     updateReachable(pdv, ICMP_PING, getLatency(pingResult));
                 }
@@ -43,6 +43,8 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PresenceProber;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.config.discovery.DiscoveryService;
@@ -64,6 +66,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
+ * @author Jan Vybíral - Probe all addresses with a shared presence prober
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
@@ -71,6 +74,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     static final Duration PING_TIMEOUT = Duration.ofMillis(500);
     static final int MAXIMUM_IPS_PER_INTERFACE = 254;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
+    private static final String DISCOVERY_PROBER_THREADPOOL_NAME = "network-discovery";
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
     // TCP port 548 (Apple Filing Protocol (AFP))
@@ -83,6 +87,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
     /* All access must be guarded by "this" */
     private @Nullable ExecutorService resolver;
+
+    /* All access must be guarded by "this" */
+    private @Nullable PresenceProber prober;
     private final NetworkUtils networkUtils = new NetworkUtils();
     private final ConfigurationAdmin admin;
 
@@ -107,6 +114,10 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
                 resolver.shutdownNow();
                 resolver = null;
             }
+            if (prober != null) {
+                prober.dispose();
+                prober = null;
+            }
         }
         super.deactivate();
     }
@@ -162,6 +173,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         NetworkBindingConfiguration configuration = getConfig();
         final ExecutorService service;
         final ExecutorService resolver;
+        final PresenceProber prober;
         synchronized (this) {
             if (executorService == null) {
                 executorService = createDiscoveryExecutor(configuration);
@@ -171,8 +183,13 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
                 this.resolver = createDiscoveryResolver();
             }
             resolver = this.resolver;
+            if (this.prober == null) {
+                this.prober = new PresenceProber(networkUtils,
+                        ThreadPoolManager.getScheduledPool(DISCOVERY_PROBER_THREADPOOL_NAME));
+            }
+            prober = this.prober;
         }
-        if (service == null || resolver == null) {
+        if (service == null || resolver == null || prober == null) {
             return;
         }
 
@@ -199,6 +216,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
                 for (String ip : networkIPs) {
                     final PresenceDetection pd = new PresenceDetection(this, Duration.ofSeconds(2), resolver);
                     pd.setHostname(ip);
+                    pd.setPresenceProber(prober);
                     pd.setIOSDevice(true);
                     pd.setUseDhcpSniffing(false);
                     pd.setTimeout(PING_TIMEOUT);
@@ -235,12 +253,15 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     protected void stopScan() {
         final ExecutorService service;
         final ExecutorService resolver;
+        final PresenceProber prober;
         synchronized (this) {
             super.stopScan();
             service = executorService;
             executorService = null;
             resolver = this.resolver;
             this.resolver = null;
+            prober = this.prober;
+            this.prober = null;
         }
         logger.debug("Stopping Network Device Discovery");
 
@@ -250,6 +271,9 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         if (resolver != null) {
             resolver.shutdown(); // Initiate shutdown, but let it complete queued tasks
         }
+        if (prober != null) {
+            prober.dispose();
+        }
         if (service != null) {
             try {
                 if (!service.awaitTermination(PING_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
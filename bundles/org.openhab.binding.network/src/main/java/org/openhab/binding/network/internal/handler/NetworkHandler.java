@@ -37,6 +37,7 @@ import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.WakeOnLanPacketSender;
 import org.openhab.binding.network.internal.action.NetworkActions;
+import org.openhab.binding.network.internal.utils.PresenceProber;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -62,6 +63,7 @@ import org.slf4j.LoggerFactory;
  * @author David Graeff - Rewritten
  * @author Wouter Born - Add Wake-on-LAN thing action support
  * @author Ravi Nadahar - Made class thread-safe
+ * @author Jan Vybíral - Presence prober shared by all handlers
  */
 @NonNullByDefault
 public class NetworkHandler extends BaseThingHandler
@@ -86,15 +88,28 @@ public class NetworkHandler extends BaseThingHandler
     private volatile int retryCounter = 0;
     private final ScheduledExecutorService executor;
     private final ExecutorService resolver;
+    private final @Nullable PresenceProber prober;
 
     /**
      * Creates a new instance using the specified parameters.
      */
     public NetworkHandler(Thing thing, ScheduledExecutorService executor, ExecutorService resolver,
             boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
+        this(thing, executor, resolver, null, isTCPServiceDevice, configuration);
+    }
+
+    /**
+     * Creates a new instance using the specified parameters.
+     *
+     * @param prober performs the presence checks together with those of the other things, or null to perform them
+     *            on their own
+     */
+    public NetworkHandler(Thing thing, ScheduledExecutorService executor, ExecutorService resolver,
+            @Nullable PresenceProber prober, boolean isTCPServiceDevice, NetworkBindingConfiguration configuration) {
         super(thing);
         this.executor = executor;
         this.resolver = resolver;
+        this.prober = prober;
         this.isTCPServiceDevice = isTCPServiceDevice;
         this.configuration = configuration;
         this.configuration.addNetworkBindingConfigurationListener(this);
@@ -202,6 +217,7 @@ public class NetworkHandler extends BaseThingHandler
         NetworkHandlerConfiguration config = getConfigAs(NetworkHandlerConfiguration.class);
 
         presenceDetection.setHostname(config.hostname);
+        presenceDetection.setPresenceProber(prober);
         presenceDetection.setNetworkInterfaceNames(config.networkInterfaceNames);
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
 
@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.core.cache.ExpiringCache;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.io.net.exec.ExecUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProber} performs the presence checks of all things of the binding, without starting a process
+ * for every check:
+ * <ul>
+ * <li>The neighbour (ARP) table of the kernel is read at most once a second and shared by all checks.
+ * <li>TCP connection attempts are non-blocking and handled by a single selector thread.
+ * <li>ICMP pings requested at about the same time are sent by a single invocation of {@code fping}, if it is
+ * installed. Otherwise the native ping of {@link NetworkUtils} is used.
+ * </ul>
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProber {
+
+    /**
+     * An entry of the neighbour table
+     */
+    public record Neighbour(String macAddress, String interfaceName) {
+    }
+
+    private static final Path ARP_TABLE = Path.of("/proc/net/arp");
+    private static final Duration NEIGHBOUR_TABLE_TTL = Duration.ofSeconds(1);
+    // ATF_COM, the hardware address of the entry is known
+    private static final int ARP_FLAG_COMPLETE = 0x2;
+    private static final String NO_MAC_ADDRESS = "00:00:00:00:00:00";
+
+    static final long ICMP_BATCH_WINDOW_MS = 100;
+    static final int MAX_ICMP_BATCH_SIZE = 64;
+    private static final String FPING = "fping";
+    // time to wait for the batch window, the other batches queued before and the fping process to end
+    private static final long ICMP_BATCH_OVERHEAD_MS = ICMP_BATCH_WINDOW_MS + MAX_ICMP_BATCH_SIZE * 10L + 2000;
+    private static final String PROBER_THREAD_NAME = "binding-network-prober";
+    private static final Pattern FPING_ALIVE_PATTERN = Pattern.compile("^(\\S+) is alive(?: \\(([0-9.,]+) ms\\))?");
+
+    private static final Duration STATISTICS_INTERVAL = Duration.ofMinutes(5);
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProber.class);
+    private final NetworkUtils networkUtils;
+    private final ScheduledExecutorService scheduler;
+    // The batched pings must not run on the pool of the callers, which would be blocked while waiting for them
+    private final ScheduledExecutorService icmpExecutor = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory(PROBER_THREAD_NAME + "-icmp", true));
+    private final ExpiringCache<Map<String, Neighbour>> neighbours = new ExpiringCache<>(NEIGHBOUR_TABLE_TTL,
+            this::readNeighbourTable);
+
+    private static class ServiceProbe {
+        private final CompletableFuture<PingResult> result = new CompletableFuture<>();
+        private final SocketChannel channel;
+        private final InetSocketAddress address;
+        private final Instant startTime = Instant.now();
+        private final long deadlineNanos;
+
+        private ServiceProbe(SocketChannel channel, InetSocketAddress address, Duration timeout) {
+            this.channel = channel;
+            this.address = address;
+            this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        }
+
+        private void complete(boolean success) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing to do, the result is known
+            }
+            result.complete(new PingResult(success, Duration.between(startTime, Instant.now())));
+        }
+    }
+
+    private final Queue<ServiceProbe> newServiceProbes = new ConcurrentLinkedQueue<>();
+    // All access to the fields below must be guarded by "this"
+    private @Nullable Selector selector;
+    private final List<IcmpProbe> pendingIcmpProbes = new ArrayList<>();
+    private @Nullable Boolean fpingAvailable;
+    private @Nullable ScheduledFuture<?> statisticsJob;
+    private boolean disposed;
+
+    private record IcmpProbe(String hostname, Duration timeout, CompletableFuture<@Nullable PingResult> result) {
+    }
+
+    private final LongAdder serviceProbes = new LongAdder();
+    private final LongAdder icmpProbes = new LongAdder();
+    private final LongAdder icmpBatches = new LongAdder();
+    private final LongAdder neighbourTableReads = new LongAdder();
+    private long lastStatisticsNanos = System.nanoTime();
+
+    /**
+     * @param networkUtils used for the pings if {@code fping} is not available
+     * @param scheduler runs the statistics job
+     */
+    public PresenceProber(NetworkUtils networkUtils, ScheduledExecutorService scheduler) {
+        this.networkUtils = networkUtils;
+        this.scheduler = scheduler;
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL.toMinutes(),
+                STATISTICS_INTERVAL.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Returns the neighbour table entry of an address. The entry only exists if the kernel resolved the hardware
+     * address recently, it is not a proof that the device is still present.
+     *
+     * @param hostAddress the IPv4 address
+     * @return the entry with a known hardware address, or null if there is none
+     */
+    public @Nullable Neighbour getNeighbour(String hostAddress) {
+        Map<String, Neighbour> table = neighbours.getValue();
+        return table == null ? null : table.get(hostAddress);
+    }
+
+    private Map<String, Neighbour> readNeighbourTable() {
+        if (!Files.isReadable(ARP_TABLE)) {
+            return Map.of();
+        }
+        neighbourTableReads.increment();
+        try {
+            return parseArpTable(Files.readAllLines(ARP_TABLE, StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            logger.trace("Failed to read the neighbour table", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Parses the content of {@code /proc/net/arp}, e.g.
+     *
+     * <pre>
+     * IP address       HW type     Flags       HW address            Mask     Device
+     * 192.168.1.1      0x1         0x2         00:11:22:33:44:55     *        eth0
+     * </pre>
+     *
+     * @return the complete entries by IP address
+     */
+    static Map<String, Neighbour> parseArpTable(List<String> lines) {
+        Map<String, Neighbour> table = new HashMap<>();
+        for (String line : lines) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length < 6 || !columns[2].startsWith("0x")) {
+                // header or malformed line
+                continue;
+            }
+            try {
+                int flags = Integer.parseInt(columns[2].substring(2), 16);
+                if ((flags & ARP_FLAG_COMPLETE) != 0 && !NO_MAC_ADDRESS.equals(columns[3])) {
+                    table.put(columns[0], new Neighbour(columns[3], columns[5]));
+                }
+            } catch (NumberFormatException e) {
+                // not an entry
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given port, without blocking a thread while waiting for the
+     * connection.
+     *
+     * @param address the IP address
+     * @param port the TCP port. Must be not 0.
+     * @param timeout the timeout before the attempt is aborted
+     * @return the {@link PingResult} of connecting to the given port
+     */
+    public CompletableFuture<PingResult> servicePing(InetAddress address, int port, Duration timeout) {
+        serviceProbes.increment();
+        InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ServiceProbe probe = new ServiceProbe(channel, socketAddress, timeout);
+        try {
+            channel.configureBlocking(false);
+            if (channel.connect(socketAddress)) {
+                probe.complete(true);
+                return probe.result;
+            }
+        } catch (IOException e) {
+            logger.trace("Could not connect to {} {}", socketAddress, e.getMessage());
+            probe.complete(false);
+            return probe.result;
+        }
+        Selector localSelector = getSelector();
+        if (localSelector == null) {
+            probe.complete(false);
+        } else {
+            newServiceProbes.add(probe);
+            localSelector.wakeup();
+        }
+        return probe.result;
+    }
+
+    private synchronized @Nullable Selector getSelector() {
+        Selector localSelector = selector;
+        if (localSelector == null && !disposed) {
+            try {
+                localSelector = selector = Selector.open();
+            } catch (IOException e) {
+                logger.warn("Could not open a selector for TCP connection attempts: {}", e.getMessage());
+                return null;
+            }
+            new NamedThreadFactory(PROBER_THREAD_NAME, true).newThread(() -> runSelector(localSelector)).start();
+        }
+        return localSelector;
+    }
+
+    private void runSelector(Selector selector) {
+        try {
+            while (selector.isOpen()) {
+                ServiceProbe probe;
+                while ((probe = newServiceProbes.poll()) != null) {
+                    try {
+                        probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    } catch (IOException e) {
+                        probe.complete(false);
+                    }
+                }
+
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof ServiceProbe pending && key.isValid()) {
+                        if (now - pending.deadlineNanos >= 0) {
+                            logger.trace("Connection attempt to {} timed out", pending.address);
+                            key.cancel();
+                            pending.complete(false);
+                        } else {
+                            nextDeadline = Math.min(nextDeadline, pending.deadlineNanos - now);
+                        }
+                    }
+                }
+
+                selector.select(nextDeadline == Long.MAX_VALUE ? 0 : Math.max(1, nextDeadline / 1_000_000));
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.attachment() instanceof ServiceProbe connected) {
+                        key.cancel();
+                        try {
+                            connected.complete(connected.channel.finishConnect());
+                        } catch (IOException e) {
+                            logger.trace("Could not connect to {} {}", connected.address, e.getMessage());
+                            connected.complete(false);
+                        }
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.debug("Selector for TCP connection attempts stopped: {}", e.getMessage());
+        } finally {
+            failServiceProbes(selector);
+        }
+    }
+
+    private void failServiceProbes(Selector selector) {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof ServiceProbe pending) {
+                    pending.complete(false);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // the keys of a closed selector are gone
+        }
+        ServiceProbe probe;
+        while ((probe = newServiceProbes.poll()) != null) {
+            probe.complete(false);
+        }
+    }
+
+    /**
+     * Pings a host. Pings requested within {@link #ICMP_BATCH_WINDOW_MS} are sent by a single {@code fping} process.
+     *
+     * @param method the native ping method to use when {@code fping} is not available
+     * @param hostname The IPv4 or IPv6 address
+     * @param timeout the timeout before the call aborts
+     * @return Ping result information. <code>null</code> if no ping was executed.
+     * @throws IOException The ping command could probably not be found
+     */
+    public @Nullable PingResult ping(IpPingMethodEnum method, String hostname, Duration timeout)
+            throws IOException, InterruptedException {
+        icmpProbes.increment();
+        if (method == IpPingMethodEnum.WINDOWS_PING || !isFpingAvailable()) {
+            return networkUtils.nativePing(method, hostname, timeout);
+        }
+        CompletableFuture<@Nullable PingResult> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (disposed) {
+                return null;
+            }
+            pendingIcmpProbes.add(new IcmpProbe(hostname, timeout, result));
+            if (pendingIcmpProbes.size() == 1) {
+                icmpExecutor.schedule(this::sendPendingIcmpProbes, ICMP_BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        try {
+            return result.get(timeout.toMillis() + ICMP_BATCH_OVERHEAD_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            synchronized (this) {
+                pendingIcmpProbes.removeIf(probe -> probe.result == result);
+            }
+            logger.debug("Batched ping of {} did not complete in time, using the native ping", hostname);
+            return networkUtils.nativePing(method, hostname, timeout);
+        }
+    }
+
+    private synchronized boolean isFpingAvailable() {
+        Boolean available = fpingAvailable;
+        if (available == null) {
+            String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(2), FPING, "-v");
+            available = fpingAvailable = result != null && result.contains("Version");
+            logger.debug("{} is {}available for batched pings", FPING, available ? "" : "not ");
+        }
+        return available;
+    }
+
+    private void sendPendingIcmpProbes() {
+        List<IcmpProbe> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pendingIcmpProbes);
+            pendingIcmpProbes.clear();
+        }
+        for (int i = 0; i < batch.size(); i += MAX_ICMP_BATCH_SIZE) {
+            List<IcmpProbe> probes = batch.subList(i, Math.min(batch.size(), i + MAX_ICMP_BATCH_SIZE));
+            try {
+                sendIcmpBatch(probes);
+            } catch (IOException e) {
+                probes.forEach(probe -> probe.result.completeExceptionally(e));
+            } catch (InterruptedException e) {
+                // the prober has been disposed, no ping of the remaining probes is executed
+                batch.subList(i, batch.size()).forEach(probe -> probe.result.complete(null));
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void sendIcmpBatch(List<IcmpProbe> probes) throws IOException, InterruptedException {
+        icmpBatches.increment();
+        Duration timeout = probes.stream().map(IcmpProbe::timeout).max(Duration::compareTo).orElseThrow();
+        List<String> hostnames = probes.stream().map(IcmpProbe::hostname).distinct().toList();
+        List<String> command = new ArrayList<>(
+                List.of(FPING, "-e", "-r", "0", "-t", String.valueOf(timeout.toMillis())));
+        command.addAll(hostnames);
+
+        Instant execStartTime = Instant.now();
+        Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+        FutureTask<List<String>> consumer = OutputConsumptionUtil.consumeText(proc.getInputStream(),
+                StandardCharsets.UTF_8);
+
+        // fping sends a ping to the next host every 10 ms
+        long maxWaitMs = timeout.toMillis() + hostnames.size() * 10L + 1000;
+        if (!proc.waitFor(maxWaitMs, TimeUnit.MILLISECONDS)) {
+            logger.warn("Timed out while waiting for the fping process to execute");
+            proc.destroy();
+        }
+        Instant execStopTime = Instant.now();
+        List<String> output;
+        try {
+            output = consumer.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            output = List.of();
+            logger.warn("Failed to retrieve the fping process output: {}", e.getMessage());
+        }
+
+        Map<String, PingResult> results = parseFpingOutput(output, Duration.between(execStartTime, execStopTime));
+        for (IcmpProbe probe : probes) {
+            PingResult result = results.get(probe.hostname());
+            probe.result.complete(result != null ? result
+                    : new PingResult(false, Duration.between(execStartTime, execStopTime)));
+        }
+    }
+
+    /**
+     * Parses the output of {@code fping -e}, e.g. {@code 192.168.1.1 is alive (0.45 ms)}.
+     *
+     * @return the results of the reachable hosts
+     */
+    static Map<String, PingResult> parseFpingOutput(List<String> output, Duration executionTime) {
+        Map<String, PingResult> results = new HashMap<>();
+        for (String line : output) {
+            Matcher matcher = FPING_ALIVE_PATTERN.matcher(line);
+            if (matcher.find()) {
+                PingResult result = new PingResult(true, executionTime);
+                String responseTime = matcher.group(2);
+                if (responseTime != null) {
+                    result.setResponseTime(
+                            NetworkUtils.millisToDuration(Double.parseDouble(responseTime.replace(",", "."))));
+                }
+                results.put(matcher.group(1), result);
+            }
+        }
+        return results;
+    }
+
+    private void logStatistics() {
+        long now = System.nanoTime();
+        double minutes;
+        synchronized (this) {
+            minutes = Math.max(1, now - lastStatisticsNanos) / 60e9;
+            lastStatisticsNanos = now;
+        }
+        logger.debug("Presence probes per minute: {} TCP, {} ICMP in {} batches, {} neighbour table reads",
+                Math.round(serviceProbes.sumThenReset() / minutes), Math.round(icmpProbes.sumThenReset() / minutes),
+                Math.round(icmpBatches.sumThenReset() / minutes),
+                Math.round(neighbourTableReads.sumThenReset() / minutes));
+    }
+
+    /**
+     * Aborts all running probes and releases the selector.
+     */
+    public void dispose() {
+        Selector localSelector;
+        List<IcmpProbe> pending;
+        synchronized (this) {
+            disposed = true;
+            ScheduledFuture<?> job = statisticsJob;
+            if (job != null) {
+                job.cancel(false);
+                statisticsJob = null;
+            }
+            localSelector = selector;
+            selector = null;
+            pending = new ArrayList<>(pendingIcmpProbes);
+            pendingIcmpProbes.clear();
+        }
+        pending.forEach(probe -> probe.result.complete(null));
+        icmpExecutor.shutdownNow();
+        if (localSelector != null) {
+            failServiceProbes(localSelector);
+            try {
+                localSelector.close();
+            } catch (IOException e) {
+                logger.trace("Failed to close the selector", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.utils.PresenceProber.Neighbour;
+
+/**
+ * Tests the {@link PresenceProber}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null" })
+public class PresenceProberTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private @NonNullByDefault({}) PresenceProber prober;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(),
+                any());
+        prober = new PresenceProber(mock(NetworkUtils.class), scheduler);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        prober.dispose();
+    }
+
+    @Test
+    public void servicePingToListeningPortSucceeds() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober
+                    .servicePing(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(5))
+                    .get(10, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void servicePingToClosedPortFails() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+
+        PingResult result = prober.servicePing(InetAddress.getLoopbackAddress(), port, Duration.ofSeconds(5))
+                .get(10, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void servicePingAfterDisposeFails() throws Exception {
+        prober.dispose();
+
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober
+                    .servicePing(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), Duration.ofSeconds(5))
+                    .get(10, TimeUnit.SECONDS);
+
+            assertFalse(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void parseArpTable() {
+        // Arrange
+        List<String> lines = List.of("IP address       HW type     Flags       HW address            Mask     Device",
+                "192.168.1.1      0x1         0x2         00:11:22:33:44:55     *        eth0",
+                "192.168.1.20     0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "10.0.0.5         0x1         0x6         66:77:88:99:aa:bb     *        wlan0");
+
+        // Act
+        Map<String, Neighbour> table = PresenceProber.parseArpTable(lines);
+
+        // Assert
+        assertEquals(2, table.size());
+        assertEquals(new Neighbour("00:11:22:33:44:55", "eth0"), table.get("192.168.1.1"));
+        assertEquals(new Neighbour("66:77:88:99:aa:bb", "wlan0"), table.get("10.0.0.5"));
+        assertNull(table.get("192.168.1.20"));
+    }
+
+    @Test
+    public void parseFpingOutput() {
+        // Arrange
+        List<String> output = List.of("192.168.1.1 is alive (0.45 ms)", "192.168.1.2 is unreachable",
+                "ICMP Host Unreachable from 192.168.1.10 for ICMP Echo sent to 192.168.1.3",
+                "192.168.1.4 is alive (12,5 ms)");
+
+        // Act
+        Map<String, PingResult> results = PresenceProber.parseFpingOutput(output, Duration.ofMillis(100));
+
+        // Assert
+        assertEquals(2, results.size());
+        PingResult result = results.get("192.168.1.1");
+        assertTrue(result.isSuccess());
+        assertEquals(100, durationToMillis(result.getExecutionTime()), 0);
+        assertEquals(0.45, durationToMillis(result.getResponseTime()), 0.001);
+        assertEquals(12.5, durationToMillis(results.get("192.168.1.4").getResponseTime()), 0.001);
+        assertNull(results.get("192.168.1.2"));
+    }
+}
@@ -12,11 +12,14 @@
  */
 package org.openhab.binding.shelly.internal;
 
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.BINDING_ID;
 import static org.openhab.binding.shelly.internal.ShellyBindingConstants.DEFAULT_LOCAL_PORT;
+import static org.openhab.binding.shelly.internal.ShellyBindingConstants.UPDATE_STATUS_INTERVAL_SECONDS;
 import static org.openhab.binding.shelly.internal.ShellyDevices.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,11 +33,13 @@ import org.openhab.binding.shelly.internal.handler.ShellyBaseHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyBluHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyLightHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyManagerInterface;
+import org.openhab.binding.shelly.internal.handler.ShellyPollScheduler;
 import org.openhab.binding.shelly.internal.handler.ShellyProtectedHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyRelayHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyThingInterface;
 import org.openhab.binding.shelly.internal.handler.ShellyThingTable;
 import org.openhab.binding.shelly.internal.provider.ShellyTranslationProvider;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.io.net.http.WebSocketFactory;
 import org.openhab.core.net.HttpServiceUtil;
@@ -65,6 +70,7 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
     private final HttpClient httpClient;
     private final ShellyTranslationProvider messages;
     private final Shelly1CoapServer coapServer;
+    private final ShellyPollScheduler pollScheduler;
     private final ShellyThingTable thingTable;
     private final WebSocketClient webSocketClient;
     private final ShellyBindingRuntimeConfig bindingConfig;
@@ -103,11 +109,14 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
         }
 
         this.coapServer = new Shelly1CoapServer();
+        this.pollScheduler = new ShellyPollScheduler(ThreadPoolManager.getScheduledPool(BINDING_ID),
+                TimeUnit.SECONDS.toMillis(UPDATE_STATUS_INTERVAL_SECONDS), TimeUnit.SECONDS.toMillis(2));
         this.thingTable.startDiscoveryService(bundleContext);
     }
 
     @Deactivate
     public void deactivate() {
+        pollScheduler.dispose();
         try {
             webSocketClient.stop();
         } catch (Exception e) {
@@ -128,23 +137,23 @@ public class ShellyHandlerFactory extends BaseThingHandlerFactory {
         if (THING_TYPE_SHELLYPROTECTED.equals(thingTypeUID)) {
             logger.debug("{}: Create new thing of type {} using ShellyProtectedHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyProtectedHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
-                    webSocketClient);
+            handler = new ShellyProtectedHandler(thing, messages, bindingConfig, thingTable, coapServer, pollScheduler,
+                    httpClient, webSocketClient);
         } else if (GROUP_LIGHT_THING_TYPES.contains(thingTypeUID)) {
             logger.debug("{}: Create new thing of type {} using ShellyLightHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyLightHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
-                    webSocketClient);
+            handler = new ShellyLightHandler(thing, messages, bindingConfig, thingTable, coapServer, pollScheduler,
+                    httpClient, webSocketClient);
         } else if (GROUP_BLU_THING_TYPES.contains(thingTypeUID)) {
             logger.debug("{}: Create new thing of type {} using ShellyBluSensorHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyBluHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
-                    webSocketClient);
+            handler = new ShellyBluHandler(thing, messages, bindingConfig, thingTable, coapServer, pollScheduler,
+                    httpClient, webSocketClient);
         } else if (SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
             logger.debug("{}: Create new thing of type {} using ShellyRelayHandler", thing.getLabel(),
                     thingTypeUID.toString());
-            handler = new ShellyRelayHandler(thing, messages, bindingConfig, thingTable, coapServer, httpClient,
-                    webSocketClient);
+            handler = new ShellyRelayHandler(thing, messages, bindingConfig, thingTable, coapServer, pollScheduler,
+                    httpClient, webSocketClient);
         }
 
         if (handler != null) {
@@ -27,6 +27,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -89,10 +90,11 @@ import org.slf4j.LoggerFactory;
  * sent to one of the channels.
  *
  * @author Markus Michels - Initial contribution
+ * @author Jan Vybíral - Status updates by the binding-wide poll scheduler
  */
 @NonNullByDefault
 public abstract class ShellyBaseHandler extends BaseThingHandler
-        implements ShellyThingInterface, ShellyDeviceListener, ShellyManagerInterface {
+        implements ShellyThingInterface, ShellyDeviceListener, ShellyManagerInterface, ShellyPollScheduler.PollTarget {
 
     protected final Logger logger = LoggerFactory.getLogger(ShellyBaseHandler.class);
     protected final ShellyChannelDefinitions channelDefinitions;
@@ -133,8 +135,11 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     protected int scheduledUpdates = 0;
     private int skipCount = UPDATE_SKIP_COUNT;
     private int skipUpdate = 0;
+    private int pollPhase = 0;
+    private int skippedPolls = 0;
+    private volatile double lastPushedEvent = 0;
     private boolean refreshSettings;
-    private @Nullable ScheduledFuture<?> statusJob;
+    private final ShellyPollScheduler pollScheduler;
     private @Nullable ScheduledFuture<?> initJob;
 
     /**
@@ -146,11 +151,13 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      *            configuration)
      * @param thingTable
      * @param coapServer coap server instance
+     * @param pollScheduler scheduler of the status updates
      * @param httpClient from httpService
      */
     public ShellyBaseHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingRuntimeConfig bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapServer, final HttpClient httpClient, WebSocketClient webSocketClient) {
+            final Shelly1CoapServer coapServer, final ShellyPollScheduler pollScheduler, final HttpClient httpClient,
+            WebSocketClient webSocketClient) {
         super(thing);
 
         this.thingTable = thingTable;
@@ -160,6 +167,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         this.cache = new ShellyChannelCache(this);
         this.channelDefinitions = new ShellyChannelDefinitions(messages);
         this.httpClient = httpClient;
+        this.pollScheduler = pollScheduler;
 
         // Create thing handler depending on device generation
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
@@ -596,7 +604,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     /**
      * Update device status and channels
      */
-    protected void refreshStatus() {
+    @Override
+    public void refreshStatus() {
         try {
             if (vibrationFilter > 0) {
                 vibrationFilter--;
@@ -605,14 +614,19 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             }
 
             skipUpdate++;
-            if (refreshSettings || (scheduledUpdates > 0) || (skipUpdate % skipCount == 0)) {
+            boolean regularPoll = ((skipUpdate + pollPhase) % skipCount == 0) && !skipRegularPoll();
+            if (refreshSettings || (scheduledUpdates > 0) || regularPoll) {
                 ThingStatus thingStatus = getThing().getStatus();
                 if (!profile.isInitialized() || ((thingStatus == ThingStatus.OFFLINE))
                         || (getThingStatusDetail() == ThingStatusDetail.CONFIGURATION_PENDING)) {
                     logger.debug("{}: Status update triggered thing initialization", thingName);
                     initializeThing(); // may fire an exception if initialization failed
                 }
+                long pollStart = System.nanoTime();
                 ShellySettingsStatus status = api.getStatus();
+                long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pollStart);
+                stats.pollLatency.set(latency);
+                stats.maxPollLatency.accumulateAndGet(latency, Math::max);
                 boolean restarted = checkRestarted(status);
                 profile = getProfile(refreshSettings || restarted);
                 profile.status = status;
@@ -649,6 +663,40 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
         }
     }
 
+    @Override
+    public boolean isPollDue() {
+        return refreshSettings || (scheduledUpdates > 0)
+                || ((skipUpdate + 1 + pollPhase) % skipCount == 0 && !isPushingEvents());
+    }
+
+    @Override
+    public @Nullable InetAddress getPollAddress() {
+        return apiConfig.getDeviceIpAddress();
+    }
+
+    /**
+     * Skip the regular poll if the device pushes its status anyway (CoIoT or WebSocket events). The device is still
+     * polled every UPDATE_MAX_SKIPPED_POLLS intervals to refresh values, which are not part of the events.
+     *
+     * @return true if the regular poll is skipped
+     */
+    private boolean skipRegularPoll() {
+        if (!isPushingEvents()) {
+            skippedPolls = 0;
+            return false;
+        }
+        skippedPolls++;
+        stats.skippedPolls.incrementAndGet();
+        logger.trace("{}: Skipping status poll, events received {} sec ago", thingName,
+                (long) (now() - lastPushedEvent));
+        return true;
+    }
+
+    private boolean isPushingEvents() {
+        return isThingOnline() && skippedPolls < UPDATE_MAX_SKIPPED_POLLS
+                && now() - lastPushedEvent < skipCount * UPDATE_STATUS_INTERVAL_SECONDS;
+    }
+
     /**
      * Push the full channel state (relays, meters, inputs, sensors) for the given status.
      * Called both from the initial device init and from every full poll cycle so a Thing
@@ -883,6 +931,7 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
     @Override
     public void incProtMessages() {
         stats.protocolMessages.incrementAndGet();
+        lastPushedEvent = now();
     }
 
     @Override
@@ -1259,10 +1308,9 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
      * Start the background updates
      */
     protected void startUpdateJob() {
-        ScheduledFuture<?> statusJob = this.statusJob;
-        if ((statusJob == null) || statusJob.isCancelled()) {
-            this.statusJob = scheduler.scheduleWithFixedDelay(this::refreshStatus, 2, UPDATE_STATUS_INTERVAL_SECONDS,
-                    TimeUnit.SECONDS);
+        if (pollScheduler.register(this)) {
+            // spread the regular polls of the things over the update interval
+            pollPhase = ThreadLocalRandom.current().nextInt(skipCount);
             logger.debug("{}: Update status job started, interval={}*{}={}sec.", thingName, skipCount,
                     UPDATE_STATUS_INTERVAL_SECONDS, skipCount * UPDATE_STATUS_INTERVAL_SECONDS);
         }
@@ -1669,12 +1717,8 @@ public abstract class ShellyBaseHandler extends BaseThingHandler
             job.cancel(true);
             initJob = null;
         }
-        job = this.statusJob;
-        if (job != null) {
-            job.cancel(true);
-            statusJob = null;
-            logger.debug("{}: Shelly statusJob stopped", thingName);
-        }
+        pollScheduler.unregister(this);
+        logger.debug("{}: Shelly status updates stopped", thingName);
         api.close();
         profile.initialized = false;
     }
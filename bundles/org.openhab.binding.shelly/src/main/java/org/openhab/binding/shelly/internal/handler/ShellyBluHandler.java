@@ -33,8 +33,10 @@ public class ShellyBluHandler extends ShellyBaseHandler {
 
     public ShellyBluHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingRuntimeConfig bindingConfig, final ShellyThingTable thingTable,
-            final Shelly1CoapServer coapServer, final HttpClient httpClient, WebSocketClient webSocketClient) {
-        super(thing, translationProvider, bindingConfig, thingTable, coapServer, httpClient, webSocketClient);
+            final Shelly1CoapServer coapServer, final ShellyPollScheduler pollScheduler, final HttpClient httpClient,
+            WebSocketClient webSocketClient) {
+        super(thing, translationProvider, bindingConfig, thingTable, coapServer, pollScheduler, httpClient,
+                webSocketClient);
     }
 
     @Override
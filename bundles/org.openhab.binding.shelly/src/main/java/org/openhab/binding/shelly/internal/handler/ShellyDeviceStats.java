@@ -44,6 +44,9 @@ public class ShellyDeviceStats {
     public final AtomicInteger protocolErrors = new AtomicInteger(0);
     public final AtomicInteger wifiRssi = new AtomicInteger(0);
     public final AtomicInteger maxInternalTemp = new AtomicInteger(0);
+    public final AtomicLong pollLatency = new AtomicLong(0);
+    public final AtomicLong maxPollLatency = new AtomicLong(0);
+    public final AtomicLong skippedPolls = new AtomicLong(0);
 
     public Map<String, String> asProperties() {
         Map<String, String> prop = new HashMap<>();
@@ -62,6 +65,9 @@ public class ShellyDeviceStats {
         prop.put("protocolErrors", String.valueOf(protocolErrors));
         prop.put("wifiRssi", String.valueOf(wifiRssi));
         prop.put("maxInternalTemp", String.valueOf(maxInternalTemp.get()));
+        prop.put("pollLatency", String.valueOf(pollLatency));
+        prop.put("maxPollLatency", String.valueOf(maxPollLatency));
+        prop.put("skippedPolls", String.valueOf(skippedPolls));
         return prop;
     }
 }
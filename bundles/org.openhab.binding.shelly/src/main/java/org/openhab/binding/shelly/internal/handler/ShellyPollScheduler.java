@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * The {@link ShellyPollScheduler} runs the status updates of all Shelly things of the binding.
+ * <p>
+ * Instead of a job per thing, which are all started at the same time when the binding starts, a single job
+ * dispatches the status updates. The things are spread evenly over the update interval, and the number of
+ * concurrent requests to the devices of a subnet (/24 for IPv4) is limited, so that a large number of devices doesn't
+ * overload the Wi-Fi access points with bursts of requests. Status updates which need no request to the device are
+ * never delayed.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyPollScheduler {
+
+    /**
+     * A thing whose status is updated regularly
+     */
+    public interface PollTarget {
+        /**
+         * Status update, called once every update interval
+         */
+        void refreshStatus();
+
+        /**
+         * @return true if the next status update will send requests to the device
+         */
+        boolean isPollDue();
+
+        /**
+         * @return the IP address of the device or null if unknown
+         */
+        @Nullable
+        InetAddress getPollAddress();
+    }
+
+    static final long DISPATCH_INTERVAL_MS = 250;
+    static final int MAX_POLLS_PER_SUBNET = 4;
+    // fractional part of the golden ratio, spreads any number of things evenly over the interval
+    private static final double PHASE_INCREMENT = 0.6180339887498949;
+
+    private static class Entry {
+        private final PollTarget target;
+        private long nextUpdateNanos;
+        private boolean running;
+        private String subnet = "";
+
+        private Entry(PollTarget target, long nextUpdateNanos) {
+            this.target = target;
+            this.nextUpdateNanos = nextUpdateNanos;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ShellyPollScheduler.class);
+    private final ScheduledExecutorService scheduler;
+    private final long intervalNanos;
+    private final long initialDelayNanos;
+
+    // All access must be guarded by "this"
+    private final Map<PollTarget, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, Integer> runningPolls = new HashMap<>();
+    private double phase;
+    private @Nullable ScheduledFuture<?> dispatchJob;
+
+    private final LongAdder deferredPolls = new LongAdder();
+
+    /**
+     * @param scheduler executes the status updates
+     * @param intervalMs status update interval
+     * @param initialDelayMs delay of the first status update of a thing
+     */
+    public ShellyPollScheduler(ScheduledExecutorService scheduler, long intervalMs, long initialDelayMs) {
+        this.scheduler = scheduler;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+    }
+
+    /**
+     * Start the regular status updates of a thing
+     *
+     * @return false if the status of the thing is already updated
+     */
+    public boolean register(PollTarget target) {
+        String subnet = getSubnet(target.getPollAddress());
+        synchronized (this) {
+            if (entries.containsKey(target)) {
+                return false;
+            }
+            Entry entry = new Entry(target, System.nanoTime() + initialDelayNanos + (long) (phase * intervalNanos));
+            entry.subnet = subnet;
+            phase = (phase + PHASE_INCREMENT) % 1.0;
+            entries.put(target, entry);
+            if (dispatchJob == null) {
+                dispatchJob = scheduler.scheduleWithFixedDelay(this::dispatch, DISPATCH_INTERVAL_MS,
+                        DISPATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stop the regular status updates of a thing. A running status update is not interrupted.
+     */
+    public synchronized void unregister(PollTarget target) {
+        entries.remove(target);
+        if (entries.isEmpty()) {
+            stopDispatchJob();
+        }
+    }
+
+    public synchronized void dispose() {
+        entries.clear();
+        stopDispatchJob();
+    }
+
+    private void stopDispatchJob() {
+        ScheduledFuture<?> job = dispatchJob;
+        if (job != null) {
+            job.cancel(false);
+            dispatchJob = null;
+        }
+    }
+
+    private void dispatch() {
+        dispatch(System.nanoTime());
+    }
+
+    synchronized void dispatch(long now) {
+        for (Entry entry : entries.values()) {
+            if (entry.running || now - entry.nextUpdateNanos < 0) {
+                continue;
+            }
+            // devices with an unknown address are not limited
+            String subnet = entry.target.isPollDue() && !entry.subnet.isEmpty() ? entry.subnet : null;
+            if (subnet != null) {
+                int running = runningPolls.getOrDefault(subnet, 0);
+                if (running >= MAX_POLLS_PER_SUBNET) {
+                    // try again with the next dispatch
+                    deferredPolls.increment();
+                    continue;
+                }
+                runningPolls.put(subnet, running + 1);
+            }
+            entry.running = true;
+            entry.nextUpdateNanos += intervalNanos;
+            if (now - entry.nextUpdateNanos > 0) {
+                entry.nextUpdateNanos = now + intervalNanos;
+            }
+            scheduler.execute(() -> refreshStatus(entry, subnet));
+        }
+    }
+
+    private void refreshStatus(Entry entry, @Nullable String pollSubnet) {
+        try {
+            entry.target.refreshStatus();
+        } catch (RuntimeException e) {
+            logger.warn("Unexpected error on status update", e);
+        } finally {
+            // the IP address might have changed
+            String subnet = getSubnet(entry.target.getPollAddress());
+            synchronized (this) {
+                if (pollSubnet != null) {
+                    Integer running = runningPolls.get(pollSubnet);
+                    if (running != null && running > 1) {
+                        runningPolls.put(pollSubnet, running - 1);
+                    } else {
+                        runningPolls.remove(pollSubnet);
+                    }
+                }
+                entry.subnet = subnet;
+                entry.running = false;
+            }
+        }
+    }
+
+    /**
+     * @return the subnet of an address, the /24 network for IPv4 addresses
+     */
+    static String getSubnet(@Nullable InetAddress address) {
+        if (address == null) {
+            return "";
+        }
+        if (address instanceof Inet4Address) {
+            byte[] bytes = address.getAddress();
+            return (bytes[0] & 0xff) + "." + (bytes[1] & 0xff) + "." + (bytes[2] & 0xff);
+        }
+        return address.getHostAddress();
+    }
+
+    /**
+     * @return number of polls delayed because of the limit of concurrent requests per subnet
+     */
+    public long getDeferredPolls() {
+        return deferredPolls.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -35,12 +35,15 @@ public class ShellyProtectedHandler extends ShellyBaseHandler {
      * @param bindingConfig configuration of the binding
      * @param thingTable
      * @param coapService coap server instance
+     * @param pollScheduler scheduler of the status updates
      * @param httpClient to connect to the openHAB HTTP API
      */
     public ShellyProtectedHandler(final Thing thing, final ShellyTranslationProvider translationProvider,
             final ShellyBindingRuntimeConfig bindingConfig, ShellyThingTable thingTable,
-            final Shelly1CoapServer coapService, final HttpClient httpClient, WebSocketClient webSocketClient) {
-        super(thing, translationProvider, bindingConfig, thingTable, coapService, httpClient, webSocketClient);
+            final Shelly1CoapServer coapService, final ShellyPollScheduler pollScheduler, final HttpClient httpClient,
+            WebSocketClient webSocketClient) {
+        super(thing, translationProvider, bindingConfig, thingTable, coapService, pollScheduler, httpClient,
+                webSocketClient);
     }
 
     @Override
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.handler;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.handler.ShellyPollScheduler.PollTarget;
+
+/**
+ * Tests for {@link ShellyPollScheduler}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null" })
+public class ShellyPollSchedulerTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final ShellyPollScheduler scheduler = new ShellyPollScheduler(executor, TimeUnit.HOURS.toMillis(1), 0);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any());
+        doReturn(mock(ScheduledFuture.class)).when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(),
+                any());
+    }
+
+    private static PollTarget stubTarget(String ip, boolean pollDue) throws UnknownHostException {
+        PollTarget target = mock(PollTarget.class);
+        when(target.getPollAddress()).thenReturn(InetAddress.getByName(ip));
+        when(target.isPollDue()).thenReturn(pollDue);
+        return target;
+    }
+
+    /**
+     * The things are spread over the interval of an hour, so all of them are due after 59 minutes.
+     */
+    private void dispatch() {
+        scheduler.dispatch(System.nanoTime() + TimeUnit.MINUTES.toNanos(59));
+    }
+
+    private void runTasks() {
+        List<Runnable> started = new ArrayList<>(tasks);
+        tasks.clear();
+        started.forEach(Runnable::run);
+    }
+
+    @Test
+    void pollsPerSubnetAreLimited() throws UnknownHostException {
+        List<PollTarget> targets = new ArrayList<>();
+        for (int i = 0; i < ShellyPollScheduler.MAX_POLLS_PER_SUBNET + 2; i++) {
+            PollTarget target = stubTarget("192.168.1." + (10 + i), true);
+            targets.add(target);
+            scheduler.register(target);
+        }
+
+        dispatch();
+        assertThat(tasks.size(), is(ShellyPollScheduler.MAX_POLLS_PER_SUBNET));
+        assertThat(scheduler.getDeferredPolls(), is(2L));
+
+        // the deferred polls are started when the running ones are done
+        runTasks();
+        dispatch();
+        assertThat(tasks.size(), is(2));
+        runTasks();
+        for (PollTarget target : targets) {
+            verify(target).refreshStatus();
+        }
+
+        // nothing due until the next interval
+        dispatch();
+        assertThat(tasks.size(), is(0));
+    }
+
+    @Test
+    void otherSubnetsAndUpdatesWithoutPollAreNotLimited() throws UnknownHostException {
+        for (int i = 0; i < ShellyPollScheduler.MAX_POLLS_PER_SUBNET; i++) {
+            scheduler.register(stubTarget("192.168.1." + (10 + i), true));
+        }
+        scheduler.register(stubTarget("192.168.2.10", true));
+        scheduler.register(stubTarget("192.168.1.100", false));
+
+        dispatch();
+        assertThat(tasks.size(), is(ShellyPollScheduler.MAX_POLLS_PER_SUBNET + 2));
+        assertThat(scheduler.getDeferredPolls(), is(0L));
+    }
+
+    @Test
+    void unregisteredTargetsAreNotUpdated() throws UnknownHostException {
+        PollTarget target = stubTarget("192.168.1.10", true);
+        assertThat(scheduler.register(target), is(true));
+        assertThat(scheduler.register(target), is(false));
+        scheduler.unregister(target);
+
+        dispatch();
+        assertThat(tasks.size(), is(0));
+        assertThat(scheduler.size(), is(0));
+    }
+
+    @Test
+    void subnet() throws UnknownHostException {
+        assertThat(ShellyPollScheduler.getSubnet(InetAddress.getByName("192.168.1.10")), is("192.168.1"));
+        assertThat(ShellyPollScheduler.getSubnet(InetAddress.getByName("10.0.200.1")), is("10.0.200"));
+        assertThat(ShellyPollScheduler.getSubnet(null), is(""));
+    }
+}
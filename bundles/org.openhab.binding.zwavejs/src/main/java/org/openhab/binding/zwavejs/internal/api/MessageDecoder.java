@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.zwavejs.internal.api;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.zwavejs.internal.api.dto.Node;
+import org.openhab.binding.zwavejs.internal.api.dto.messages.BaseMessage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link MessageDecoder} decodes the messages received from the Z-Wave JS Webservice.
+ *
+ * <p>
+ * The result of the {@code start_listening} command contains the full state of the network, which is several megabytes
+ * for large networks. Instead of building the complete JSON tree of the message, the nodes of a state are decoded one
+ * after another while reading the message and passed to a consumer. The returned message contains the state without
+ * its nodes.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class MessageDecoder {
+
+    private static final String RESULT = "result";
+    private static final String STATE = "state";
+    private static final String NODES = "nodes";
+
+    private final Gson gson;
+
+    /**
+     * @param gson the Gson instance which is able to decode a {@link BaseMessage} and its subtypes
+     */
+    public MessageDecoder(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Decodes a message.
+     *
+     * @param message the JSON text of the message
+     * @param nodeConsumer receives the nodes of a state contained in the message
+     * @return the message, with an empty list of nodes in its state, or {@code null} if the message is empty
+     * @throws JsonParseException if the message is not valid
+     */
+    public @Nullable BaseMessage decode(String message, Consumer<Node> nodeConsumer) throws JsonParseException {
+        if (message.isBlank()) {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            JsonElement element = readObject(reader, RESULT, result -> readObject(result, STATE,
+                    state -> readObject(state, NODES, nodes -> readNodes(nodes, nodeConsumer))));
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return gson.fromJson(element, BaseMessage.class);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface MemberDecoder {
+        JsonElement decode(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Reads an object, using the given decoder for one of its members and building the JSON tree of the other members.
+     */
+    private JsonElement readObject(JsonReader reader, String memberName, MemberDecoder memberDecoder)
+            throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return JsonParser.parseReader(reader);
+        }
+        JsonObject object = new JsonObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            object.add(name, memberName.equals(name) ? memberDecoder.decode(reader) : JsonParser.parseReader(reader));
+        }
+        reader.endObject();
+        return object;
+    }
+
+    /**
+     * Passes the nodes to the consumer.
+     *
+     * @return an empty array, replacing the nodes in the message
+     */
+    private JsonElement readNodes(JsonReader reader, Consumer<Node> nodeConsumer) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            return JsonParser.parseReader(reader);
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Node node = gson.fromJson(reader, Node.class);
+            if (node != null) {
+                nodeConsumer.accept(node);
+            }
+        }
+        reader.endArray();
+        return new JsonArray();
+    }
+}
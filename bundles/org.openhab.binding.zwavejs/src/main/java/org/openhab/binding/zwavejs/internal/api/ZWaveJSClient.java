@@ -35,6 +35,7 @@ import org.eclipse.jetty.websocket.api.WebSocketPolicy;
 import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.binding.zwavejs.internal.BindingConstants;
 import org.openhab.binding.zwavejs.internal.api.adapter.InstantAdapter;
+import org.openhab.binding.zwavejs.internal.api.dto.Node;
 import org.openhab.binding.zwavejs.internal.api.dto.commands.BaseCommand;
 import org.openhab.binding.zwavejs.internal.api.dto.commands.ServerInitializeCommand;
 import org.openhab.binding.zwavejs.internal.api.dto.commands.ServerListeningCommand;
@@ -73,8 +74,10 @@ import com.google.gson.typeadapters.RuntimeTypeAdapterFactory;
  * @see WebSocketClient
  * @see BaseMessage
  * @see BaseCommand
+ * @see MessageDecoder
  *
  * @author Leo Siepel - Initial contribution
+ * @author Jan Vybíral - Stream the nodes of the full state to the listeners
  */
 @NonNullByDefault
 public class ZWaveJSClient implements WebSocketListener {
@@ -86,6 +89,7 @@ public class ZWaveJSClient implements WebSocketListener {
     private final WebSocketClient wsClient;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(BindingConstants.BINDING_ID);
     private final Gson gson;
+    private final MessageDecoder decoder;
 
     private final Set<ZwaveEventListener> listeners = new CopyOnWriteArraySet<>();
     private final Object lifecycleLock = new Object();
@@ -101,12 +105,17 @@ public class ZWaveJSClient implements WebSocketListener {
 
     public ZWaveJSClient(WebSocketClient wsClient) {
         this.wsClient = wsClient;
+        this.gson = createGson();
+        this.decoder = new MessageDecoder(gson);
+    }
+
+    static Gson createGson() {
         RuntimeTypeAdapterFactory<BaseMessage> typeAdapterFactory = RuntimeTypeAdapterFactory.of(BaseMessage.class,
                 "type", true);
         typeAdapterFactory.registerSubtype(VersionMessage.class, "version")
                 .registerSubtype(ResultMessage.class, "result").registerSubtype(EventMessage.class, "event");
 
-        this.gson = new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
+        return new GsonBuilder().setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
                 .registerTypeAdapter(Instant.class, new InstantAdapter()).registerTypeAdapterFactory(typeAdapterFactory)
                 .create();
     }
@@ -295,7 +304,8 @@ public class ZWaveJSClient implements WebSocketListener {
     public void onWebSocketText(@NonNullByDefault({}) String message) {
         BaseMessage baseEvent = null;
         try {
-            baseEvent = gson.fromJson(message, BaseMessage.class);
+            // the nodes of a full state are passed to the listeners one by one while decoding
+            baseEvent = decoder.decode(message, this::notifyListenersOnNodeState);
         } catch (JsonParseException ex) {
             logger.warn("Failed to parse incoming WebSocket message: {}", ex.getMessage());
             logger.trace("RECV | {}", message);
@@ -354,6 +364,20 @@ public class ZWaveJSClient implements WebSocketListener {
         logger.trace("RECV | {}", message);
     }
 
+    private void notifyListenersOnNodeState(Node node) {
+        for (ZwaveEventListener listener : listeners) {
+            try {
+                listener.onNodeState(node);
+            } catch (Exception e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Error invoking event listener on node state: {}", e.toString(), e);
+                } else {
+                    logger.warn("Error invoking event listener on node state");
+                }
+            }
+        }
+    }
+
     private void notifyListenersOnError(String errorMsg) {
         for (ZwaveEventListener listener : listeners) {
             try {
@@ -13,6 +13,7 @@
 package org.openhab.binding.zwavejs.internal.handler;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.zwavejs.internal.api.dto.Node;
 import org.openhab.binding.zwavejs.internal.api.dto.messages.BaseMessage;
 import org.openhab.binding.zwavejs.internal.discovery.NodeDiscoveryService;
 
@@ -67,6 +68,14 @@ public interface ZwaveEventListener {
      */
     void onEvent(BaseMessage message);
 
+    /*
+     * Handles a node of a full state while the message containing the state is received. The message itself, whose
+     * state no longer contains the nodes, is passed to {@link #onEvent(BaseMessage)} afterwards.
+     *
+     * @param node the node
+     */
+    void onNodeState(Node node);
+
     /*
      * This method is called when there is a connection error.
      *
@@ -66,6 +66,7 @@ import com.google.gson.Gson;
  * and provides controller-level operations like inclusion and exclusion.
  *
  * @author Leo Siepel - Initial contribution
+ * @author Jan Vybíral - Process the nodes of the full state while it is received
  */
 @NonNullByDefault
 public class ZwaveJSBridgeHandler extends BaseBridgeHandler implements ZwaveEventListener {
@@ -73,6 +74,8 @@ public class ZwaveJSBridgeHandler extends BaseBridgeHandler implements ZwaveEven
     private final Logger logger = LoggerFactory.getLogger(ZwaveJSBridgeHandler.class);
     private final Map<Integer, ZwaveNodeListener> nodeListeners = new ConcurrentHashMap<>();
     private final Map<Integer, Node> lastNodeStates = new ConcurrentHashMap<>();
+    // the nodes of the full state being received
+    private final Set<Integer> stateNodeIds = ConcurrentHashMap.newKeySet();
 
     protected ScheduledExecutorService executorService = scheduler;
     private @Nullable NodeDiscoveryService discoveryService;
@@ -255,34 +258,46 @@ public class ZwaveJSBridgeHandler extends BaseBridgeHandler implements ZwaveEven
         return event;
     }
 
-    private void procesStateUpdate(State state) {
-        logger.debug("Processing state update with {} nodes", state.nodes.size());
+    @Override
+    public void onNodeState(Node node) {
+        processNodeState(node);
+    }
 
-        Map<Integer, Node> lastNodeStatesCopy = new HashMap<>(lastNodeStates);
-        final NodeDiscoveryService discovery = discoveryService;
-        for (Node node : state.nodes) {
-            logger.debug("Node {}. Processing with label: {}", node.nodeId, node.label);
+    private void processNodeState(Node node) {
+        logger.debug("Node {}. Processing with label: {}", node.nodeId, node.label);
 
-            final int nodeId = node.nodeId;
+        final int nodeId = node.nodeId;
 
-            final @Nullable ZwaveNodeListener nodeListener = nodeListeners.get(nodeId);
-            if (nodeListener == null) {
-                if (Status.DEAD == node.status) {
-                    logger.warn("Node {}. Ignored due to state: {}", nodeId, node.status);
-                    continue;
-                }
-                logger.trace("Node {}. No listener, pass to discovery", nodeId);
+        final @Nullable ZwaveNodeListener nodeListener = nodeListeners.get(nodeId);
+        if (nodeListener == null) {
+            if (Status.DEAD == node.status) {
+                logger.warn("Node {}. Ignored due to state: {}", nodeId, node.status);
+                return;
+            }
+            logger.trace("Node {}. No listener, pass to discovery", nodeId);
 
-                if (discovery != null) {
-                    discovery.addNodeDiscovery(node);
-                }
+            final NodeDiscoveryService discovery = discoveryService;
+            if (discovery != null) {
+                discovery.addNodeDiscovery(node);
             }
-            lastNodeStates.put(nodeId, node);
-            lastNodeStatesCopy.remove(nodeId);
         }
+        lastNodeStates.put(nodeId, node);
+        stateNodeIds.add(nodeId);
+    }
+
+    private void procesStateUpdate(State state) {
+        // the nodes are usually passed to onNodeState while the state is received
+        if (state.nodes != null) {
+            state.nodes.forEach(this::processNodeState);
+        }
+        logger.debug("Processing state update with {} nodes", stateNodeIds.size());
 
         // Check for removed nodes
-        lastNodeStatesCopy.forEach((nodeId, node) -> {
+        final NodeDiscoveryService discovery = discoveryService;
+        for (Integer nodeId : Set.copyOf(lastNodeStates.keySet())) {
+            if (stateNodeIds.contains(nodeId)) {
+                continue;
+            }
             logger.trace("Node {}. Removed state is missing update", nodeId);
             lastNodeStates.remove(nodeId);
 
@@ -297,7 +312,8 @@ public class ZwaveJSBridgeHandler extends BaseBridgeHandler implements ZwaveEven
             if (discovery != null) {
                 discovery.removeNodeDiscovery(nodeId);
             }
-        });
+        }
+        stateNodeIds.clear();
     }
 
     /*
@@ -373,6 +389,7 @@ public class ZwaveJSBridgeHandler extends BaseBridgeHandler implements ZwaveEven
 
     @Override
     public void onConnectionError(String message) {
+        stateNodeIds.clear();
         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, message);
     }
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.zwavejs.internal.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.zwavejs.internal.DataUtil;
+import org.openhab.binding.zwavejs.internal.api.dto.Node;
+import org.openhab.binding.zwavejs.internal.api.dto.messages.BaseMessage;
+import org.openhab.binding.zwavejs.internal.api.dto.messages.EventMessage;
+import org.openhab.binding.zwavejs.internal.api.dto.messages.ResultMessage;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class MessageDecoderTest {
+
+    private final MessageDecoder decoder = new MessageDecoder(ZWaveJSClient.createGson());
+
+    @Test
+    public void testStateNodesAreStreamed() throws IOException {
+        List<Node> nodes = new ArrayList<>();
+        BaseMessage message = decoder.decode(DataUtil.fromFile("store_4.json"), nodes::add);
+
+        ResultMessage expected = DataUtil.fromJson("store_4.json", ResultMessage.class);
+        assertEquals(expected.result.state.nodes.size(), nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            Node expectedNode = expected.result.state.nodes.get(i);
+            assertEquals(expectedNode.nodeId, node.nodeId);
+            assertEquals(expectedNode.label, node.label);
+            assertEquals(expectedNode.values.size(), node.values.size());
+            assertEquals(expectedNode.lastSeen, node.lastSeen);
+        }
+
+        ResultMessage result = assertInstanceOf(ResultMessage.class, message);
+        assertEquals("result", result.type);
+        assertTrue(result.success);
+        assertNotNull(result.result.state.driver);
+        assertNotNull(result.result.state.controller);
+        assertTrue(result.result.state.nodes.isEmpty());
+    }
+
+    @Test
+    public void testEvent() throws IOException {
+        List<Node> nodes = new ArrayList<>();
+        BaseMessage message = decoder.decode(DataUtil.fromFile("event_node_7_power.json"), nodes::add);
+
+        EventMessage event = assertInstanceOf(EventMessage.class, message);
+        assertEquals("value updated", event.event.event);
+        assertEquals(7, event.event.nodeId);
+        assertTrue(nodes.isEmpty());
+    }
+
+    @Test
+    public void testResultWithoutState() {
+        BaseMessage message = decoder.decode(
+                "{\"type\":\"result\",\"success\":true,"
+                        + "\"messageId\":\"getvalue|0|37|Binary Switch|null|currentValue|7|1\","
+                        + "\"result\":{\"value\":true}}",
+                node -> fail("No nodes expected"));
+
+        ResultMessage result = assertInstanceOf(ResultMessage.class, message);
+        assertEquals(true, result.result.value);
+        assertNull(result.result.state);
+    }
+
+    @Test
+    public void testInvalidMessage() {
+        assertNull(decoder.decode("", node -> fail("No nodes expected")));
+        assertThrows(JsonParseException.class, () -> decoder.decode("{\"type\":", node -> fail("No nodes expected")));
+        assertThrows(JsonParseException.class,
+                () -> decoder.decode("{\"type\":\"event\"} trailing", node -> fail("No nodes expected")));
+    }
+}
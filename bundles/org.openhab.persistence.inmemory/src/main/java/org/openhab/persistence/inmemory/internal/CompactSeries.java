@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link CompactSeries} keeps the values in primitive arrays, which are used as a ring buffer ordered by
+ * timestamp.
+ *
+ * Timestamps are stored as milliseconds since the epoch and returned in the system time zone. Numeric states are
+ * stored as <code>double</code> together with a shared {@link NumericType} describing how to restore the state. Other
+ * states, and numbers which can't be represented as <code>double</code> without loss, are stored as objects,
+ * identical states of all items are shared.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+class CompactSeries implements InMemorySeries {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_INTERNED_STATES = 4096;
+
+    private static final Map<Object, Object> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * The type of a numeric state stored as <code>double</code>.
+     */
+    private record NumericType(Class<? extends State> type, @Nullable Unit<?> unit) {
+
+        State toState(double value) {
+            BigDecimal decimal = BigDecimal.valueOf(value);
+            Unit<?> unit = this.unit;
+            if (unit != null) {
+                return new QuantityType<>(decimal, unit);
+            } else if (type == PercentType.class) {
+                return new PercentType(decimal);
+            }
+            return new DecimalType(decimal);
+        }
+    }
+
+    private long[] timestamps = new long[0];
+    private double[] values = new double[0];
+    private @Nullable Object[] types = new Object[0];
+    private int head;
+    private int size;
+
+    @Override
+    public void add(ZonedDateTime timestamp, State state, long maxEntries) {
+        long time = timestamp.toInstant().toEpochMilli();
+        int position = size == 0 || time > timestampAt(size - 1) ? size : lowerBound(time);
+        if (position < size && timestampAt(position) == time) {
+            return;
+        }
+        if (maxEntries > 0 && size >= maxEntries) {
+            int excess = size - (int) maxEntries + 1;
+            if (position < excess) {
+                // the new value is older than all values kept
+                removeFirst(excess - 1);
+                return;
+            }
+            removeFirst(excess);
+            position -= excess;
+        }
+        if (size == timestamps.length) {
+            resize(Math.max(INITIAL_CAPACITY,
+                    (int) Math.min(maxEntries > 0 ? maxEntries : Integer.MAX_VALUE - 8, 2L * timestamps.length)));
+        }
+        for (int i = size; i > position; i--) {
+            move(i - 1, i);
+        }
+        size++;
+        set(position, time, state);
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0 && size > maxEntries) {
+            removeFirst(size - (int) maxEntries);
+            resize(size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @Nullable ZonedDateTime first() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(0));
+    }
+
+    @Override
+    public @Nullable ZonedDateTime last() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(size - 1));
+    }
+
+    @Override
+    public List<Entry> query(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter,
+            boolean ascending) {
+        int from = begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : lowerBound(end.toInstant().toEpochMilli() + 1);
+        List<Entry> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = 0; i < to - from; i++) {
+            int position = ascending ? from + i : to - 1 - i;
+            State state = stateAt(position);
+            if (filter.test(state)) {
+                result.add(new Entry(toZonedDateTime(timestampAt(position)), state));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter) {
+        int from = begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : lowerBound(end.toInstant().toEpochMilli() + 1);
+        int target = from;
+        for (int i = from; i < size; i++) {
+            if (i >= to || !filter.test(stateAt(i))) {
+                move(i, target++);
+            }
+        }
+        for (int i = target; i < size; i++) {
+            types[index(i)] = null;
+        }
+        size = target;
+    }
+
+    /**
+     * Find the position of the first value with a timestamp not before the given time.
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestampAt(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int index(int position) {
+        int index = head + position;
+        return index >= timestamps.length ? index - timestamps.length : index;
+    }
+
+    private long timestampAt(int position) {
+        return timestamps[index(position)];
+    }
+
+    private State stateAt(int position) {
+        int index = index(position);
+        Object type = types[index];
+        return type instanceof NumericType numericType ? numericType.toState(values[index])
+                : (State) Objects.requireNonNull(type);
+    }
+
+    private void set(int position, long time, State state) {
+        int index = index(position);
+        timestamps[index] = time;
+        BigDecimal decimal = null;
+        Unit<?> unit = null;
+        if (state instanceof QuantityType<?> quantity) {
+            decimal = quantity.toBigDecimal();
+            unit = quantity.getUnit();
+        } else if (state instanceof DecimalType number) {
+            decimal = number.toBigDecimal();
+        }
+        if (decimal != null && (state.getClass() == DecimalType.class || state.getClass() == PercentType.class
+                || state.getClass() == QuantityType.class)) {
+            double value = decimal.doubleValue();
+            if (Double.isFinite(value) && BigDecimal.valueOf(value).compareTo(decimal) == 0) {
+                values[index] = value;
+                types[index] = intern(new NumericType(state.getClass(), unit));
+                return;
+            }
+        }
+        types[index] = intern(state);
+    }
+
+    private void move(int from, int to) {
+        int fromIndex = index(from);
+        int toIndex = index(to);
+        timestamps[toIndex] = timestamps[fromIndex];
+        values[toIndex] = values[fromIndex];
+        types[toIndex] = types[fromIndex];
+    }
+
+    private void removeFirst(int count) {
+        for (int i = 0; i < count; i++) {
+            types[index(i)] = null;
+        }
+        head = index(count);
+        size -= count;
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        @Nullable
+        Object[] newTypes = new Object[capacity];
+        int firstPart = Math.min(size, timestamps.length - head);
+        System.arraycopy(timestamps, head, newTimestamps, 0, firstPart);
+        System.arraycopy(values, head, newValues, 0, firstPart);
+        System.arraycopy(types, head, newTypes, 0, firstPart);
+        System.arraycopy(timestamps, 0, newTimestamps, firstPart, size - firstPart);
+        System.arraycopy(values, 0, newValues, firstPart, size - firstPart);
+        System.arraycopy(types, 0, newTypes, firstPart, size - firstPart);
+        timestamps = newTimestamps;
+        values = newValues;
+        types = newTypes;
+        head = 0;
+    }
+
+    private static ZonedDateTime toZonedDateTime(long time) {
+        return Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault());
+    }
+
+    private static Object intern(Object value) {
+        Object interned = INTERNED.get(value);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED.size() >= MAX_INTERNED_STATES) {
+            return value;
+        }
+        interned = INTERNED.putIfAbsent(value, value);
+        return interned != null ? interned : value;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link InMemorySeries} stores the values of a single item, ordered by their timestamps.
+ *
+ * Implementations are not thread-safe, access is guarded by the lock of the item.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+interface InMemorySeries {
+
+    /**
+     * A stored value.
+     */
+    record Entry(ZonedDateTime timestamp, State state) {
+    }
+
+    /**
+     * Add a value. A value with the same timestamp as an existing value is ignored.
+     *
+     * @param maxEntries maximum number of values, the oldest values are removed when exceeded (0 = infinite)
+     */
+    void add(ZonedDateTime timestamp, State state, long maxEntries);
+
+    /**
+     * Remove the oldest values exceeding the maximum number of values.
+     *
+     * @param maxEntries maximum number of values (0 = infinite)
+     */
+    void trim(long maxEntries);
+
+    int size();
+
+    @Nullable
+    ZonedDateTime first();
+
+    @Nullable
+    ZonedDateTime last();
+
+    /**
+     * Get the values in a time range.
+     *
+     * @param begin begin of the range (inclusive) or <code>null</code> for no limit
+     * @param end end of the range (inclusive) or <code>null</code> for no limit
+     * @param filter filter for the states of the returned values
+     * @param ascending <code>true</code> to return the oldest value first
+     */
+    List<Entry> query(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter,
+            boolean ascending);
+
+    /**
+     * Remove the values in a time range.
+     *
+     * @param begin begin of the range (inclusive) or <code>null</code> for no limit
+     * @param end end of the range (inclusive) or <code>null</code> for no limit
+     * @param filter filter for the states of the removed values
+     */
+    void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link ObjectSeries} keeps the values as objects in a sorted set, including the timestamps with their original
+ * precision and time zone.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class ObjectSeries implements InMemorySeries {
+
+    private final TreeSet<Entry> database = new TreeSet<>(Comparator.comparing(Entry::timestamp));
+
+    @Override
+    public void add(ZonedDateTime timestamp, State state, long maxEntries) {
+        database.add(new Entry(timestamp, state));
+        trim(maxEntries);
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        while (maxEntries > 0 && database.size() > maxEntries) {
+            database.pollFirst();
+        }
+    }
+
+    @Override
+    public int size() {
+        return database.size();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime first() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime last() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+
+    @Override
+    public List<Entry> query(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter,
+            boolean ascending) {
+        return (ascending ? database : database.descendingSet()).stream()
+                .filter(e -> inRange(e, begin, end) && filter.test(e.state())).toList();
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<State> filter) {
+        database.removeIf(e -> inRange(e, begin, end) && filter.test(e.state()));
+    }
+
+    private boolean inRange(Entry entry, @Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        return (begin == null || !begin.isAfter(entry.timestamp())) && (end == null || !end.isBefore(entry.timestamp()));
+    }
+}
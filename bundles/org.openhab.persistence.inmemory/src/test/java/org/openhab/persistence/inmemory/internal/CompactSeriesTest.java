@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link CompactSeriesTest} contains tests for the {@link CompactSeries}
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class CompactSeriesTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2022, 5, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+
+    @Test
+    public void statesAreRestored() {
+        CompactSeries series = new CompactSeries();
+        List<State> states = List.of(new DecimalType("1.5"), new PercentType(42),
+                new QuantityType<>("21.3 °C"), new DecimalType("0.1"), new DecimalType("1e400"), OnOffType.ON,
+                new StringType("value"), new QuantityType<>(12.5, SIUnits.METRE));
+        for (int i = 0; i < states.size(); i++) {
+            series.add(START.plusMinutes(i), states.get(i), 0);
+        }
+
+        List<InMemorySeries.Entry> entries = series.query(null, null, s -> true, true);
+
+        assertThat(entries.stream().map(InMemorySeries.Entry::state).toList(), is(states));
+        assertThat(entries.get(1).state(), is(instanceOf(PercentType.class)));
+        assertThat(entries.get(0).timestamp(), is(START));
+    }
+
+    @Test
+    public void valuesAreSortedAndDuplicatesIgnored() {
+        CompactSeries series = new CompactSeries();
+        series.add(START.plusHours(2), new DecimalType(3), 0);
+        series.add(START, new DecimalType(1), 0);
+        series.add(START.plusHours(1), new DecimalType(2), 0);
+        series.add(START.plusHours(1), new DecimalType(4), 0);
+
+        assertThat(values(series.query(null, null, s -> true, true)), contains(1, 2, 3));
+        assertThat(values(series.query(null, null, s -> true, false)), contains(3, 2, 1));
+    }
+
+    @Test
+    public void oldestValuesAreRemovedWhenFull() {
+        CompactSeries series = new CompactSeries();
+        for (int i = 0; i < 100; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 10);
+        }
+        // older than all stored values
+        series.add(START, new DecimalType(-1), 10);
+
+        assertThat(series.size(), is(10));
+        assertThat(series.first(), is(START.plusMinutes(90)));
+        assertThat(values(series.query(START.plusMinutes(95), START.plusMinutes(97), s -> true, true)),
+                contains(95, 96, 97));
+
+        series.trim(5);
+        assertThat(values(series.query(null, null, s -> true, true)), contains(95, 96, 97, 98, 99));
+    }
+
+    @Test
+    public void removeInRange() {
+        CompactSeries series = new CompactSeries();
+        for (int i = 0; i < 20; i++) {
+            series.add(START.plusMinutes(i), new DecimalType(i), 16);
+        }
+
+        series.remove(START.plusMinutes(8), START.plusMinutes(15), s -> ((DecimalType) s).intValue() % 2 == 0);
+
+        assertThat(values(series.query(null, null, s -> true, true)),
+                contains(4, 5, 6, 7, 9, 11, 13, 15, 16, 17, 18, 19));
+        assertThat(series.last(), is(START.plusMinutes(19)));
+    }
+
+    private List<Integer> values(List<InMemorySeries.Entry> entries) {
+        return entries.stream().map(e -> ((DecimalType) e.state()).intValue()).toList();
+    }
+}
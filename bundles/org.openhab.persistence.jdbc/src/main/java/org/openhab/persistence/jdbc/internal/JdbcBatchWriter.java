@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.items.Item;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcBatchWriter} buffers item values and stores them as JDBC batches, grouped per item table.
+ *
+ * A flush is triggered when {@link #getBatchSize()} values are pending or when the oldest pending value
+ * has waited for the configured latency. Tables are written in parallel by a fixed number of writer threads,
+ * each using its own connection from the pool. A table is never written by two threads at the same time,
+ * so values of a single item are stored in the order they were received.
+ *
+ * When the buffer is full, the storing thread performs the flush itself, which slows down producers
+ * instead of dropping values.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+
+    /**
+     * Storage backend used by the {@link JdbcBatchWriter}.
+     */
+    public interface Target {
+        /**
+         * @return true if the database is accessible
+         */
+        boolean isAvailable();
+
+        /**
+         * Resolve table for item, creating it if needed.
+         */
+        String resolveTable(Item item, @Nullable String alias) throws JdbcException;
+
+        /**
+         * Store values belonging to a single table.
+         */
+        void storeBatch(String tableName, List<PendingItemValue> values) throws JdbcException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Target target;
+    private final int batchSize;
+    private final int batchLatency;
+    private final int writerThreads;
+    private final BlockingQueue<PendingItemValue> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder queuedRows = new LongAdder();
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder writtenBatches = new LongAdder();
+    private final LongAdder backpressureEvents = new LongAdder();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private volatile long lastFlushDuration;
+
+    private @Nullable ExecutorService writerExecutor;
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    public JdbcBatchWriter(ScheduledExecutorService scheduler, Target target, int batchSize, int batchLatency,
+            int writerThreads, int queueCapacity) {
+        this.scheduler = scheduler;
+        this.target = target;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchLatency = Math.max(1, batchLatency);
+        this.writerThreads = Math.max(1, writerThreads);
+        this.queue = new LinkedBlockingQueue<>(Math.max(this.batchSize, queueCapacity));
+    }
+
+    public synchronized void start() {
+        if (writerExecutor == null) {
+            writerExecutor = Executors.newFixedThreadPool(writerThreads,
+                    new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID + "-writer"));
+        }
+        if (flushJob == null) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchLatency, batchLatency,
+                    TimeUnit.MILLISECONDS);
+        }
+        logger.debug("JDBC::batchWriter: started with batchSize={}, batchLatency={} ms, writerThreads={}", batchSize,
+                batchLatency, writerThreads);
+    }
+
+    /**
+     * Stop the writer after storing all pending values.
+     */
+    public void stop() {
+        ScheduledFuture<?> flushJob;
+        synchronized (this) {
+            flushJob = this.flushJob;
+            this.flushJob = null;
+        }
+        if (flushJob != null) {
+            flushJob.cancel(false);
+        }
+        flush();
+        ExecutorService writerExecutor;
+        synchronized (this) {
+            writerExecutor = this.writerExecutor;
+            this.writerExecutor = null;
+        }
+        if (writerExecutor != null) {
+            writerExecutor.shutdown();
+        }
+        logger.debug("JDBC::batchWriter: stopped, {} rows written in {} batches", writtenRows.sum(),
+                writtenBatches.sum());
+    }
+
+    /**
+     * Add a value to the write buffer.
+     *
+     * @param value value to store
+     */
+    public void enqueue(PendingItemValue value) {
+        while (!queue.offer(value)) {
+            backpressureEvents.increment();
+            logger.debug("JDBC::batchWriter: buffer full, flushing on storing thread");
+            flush();
+        }
+        queuedRows.increment();
+        int depth = queue.size();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        if (depth >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Store all pending values.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (queue.isEmpty()) {
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        List<PendingItemValue> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+
+        if (!target.isAvailable()) {
+            logger.warn("JDBC::batchWriter: No connection to database. Cannot persist {} pending values!",
+                    pending.size());
+            failedRows.add(pending.size());
+            return;
+        }
+
+        Map<String, List<PendingItemValue>> tables = new LinkedHashMap<>();
+        for (PendingItemValue value : pending) {
+            try {
+                String tableName = target.resolveTable(value.getItem(), value.getAlias());
+                tables.computeIfAbsent(tableName, t -> new ArrayList<>()).add(value);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::batchWriter: Unable to store item '{}'", value.getItem().getName(), e);
+                failedRows.increment();
+            }
+        }
+
+        ExecutorService writerExecutor = this.writerExecutor;
+        if (writerExecutor == null || tables.size() == 1) {
+            tables.forEach(this::writeTable);
+        } else {
+            List<Future<?>> futures = new ArrayList<>(tables.size());
+            tables.forEach((tableName, values) -> futures
+                    .add(writerExecutor.submit(() -> writeTable(tableName, values))));
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.warn("JDBC::batchWriter: Unexpected error while storing batch", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        lastFlushDuration = System.currentTimeMillis() - timerStart;
+        logger.debug("JDBC::batchWriter: flushed {} values into {} tables in {} ms", pending.size(), tables.size(),
+                lastFlushDuration);
+    }
+
+    private void writeTable(String tableName, List<PendingItemValue> values) {
+        for (int from = 0; from < values.size(); from += batchSize) {
+            List<PendingItemValue> batch = values.subList(from, Math.min(values.size(), from + batchSize));
+            try {
+                target.storeBatch(tableName, batch);
+                writtenRows.add(batch.size());
+                writtenBatches.increment();
+            } catch (JdbcException e) {
+                logger.warn("JDBC::batchWriter: Unable to store {} values into table '{}'", batch.size(), tableName,
+                        e);
+                failedRows.add(batch.size());
+            }
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchLatency() {
+        return batchLatency;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getQueuedRows() {
+        return queuedRows.sum();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.sum();
+    }
+
+    public long getFailedRows() {
+        return failedRows.sum();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.sum();
+    }
+
+    public long getBackpressureEvents() {
+        return backpressureEvents.sum();
+    }
+
+    public long getLastFlushDuration() {
+        return lastFlushDuration;
+    }
+}
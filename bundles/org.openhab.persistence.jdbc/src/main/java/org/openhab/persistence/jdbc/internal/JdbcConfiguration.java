@@ -25,7 +25,6 @@ import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
-import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,12 +65,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
-    public int timerCount = 0;
-    public int time1000Statements = 0;
-    public long timer1000 = 0;
-    public MovingAverage timeAverage50arr = new MovingAverage(50);
-    public MovingAverage timeAverage100arr = new MovingAverage(100);
-    public MovingAverage timeAverage200arr = new MovingAverage(200);
+    private int batchSize = 0;
+    private int batchLatency = 1000;
+    private int batchWriterThreads = 2;
+    private int batchQueueSize = 10000;
+
+    private int queryAggregationMaxRows = 0;
+    private int queryCacheSize = 100;
+
     public boolean enableLogTime = false;
 
     public JdbcConfiguration(Map<Object, Object> configuration) {
@@ -191,6 +192,42 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bl = (String) configuration.get("batchLatency");
+        if (bl != null && !bl.isBlank() && isNumericPattern.matcher(bl).matches()) {
+            batchLatency = Integer.parseInt(bl);
+            logger.debug("JDBC::updateConfig: batchLatency={}", batchLatency);
+        }
+
+        String bw = (String) configuration.get("batchWriterThreads");
+        if (bw != null && !bw.isBlank() && isNumericPattern.matcher(bw).matches()) {
+            batchWriterThreads = Integer.parseInt(bw);
+            logger.debug("JDBC::updateConfig: batchWriterThreads={}", batchWriterThreads);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Integer.parseInt(bq);
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String am = (String) configuration.get("queryAggregationMaxRows");
+        if (am != null && !am.isBlank() && isNumericPattern.matcher(am).matches()) {
+            queryAggregationMaxRows = Integer.parseInt(am);
+            logger.debug("JDBC::updateConfig: queryAggregationMaxRows={}", queryAggregationMaxRows);
+        }
+
+        String qc = (String) configuration.get("queryCacheSize");
+        if (qc != null && !qc.isBlank() && isNumericPattern.matcher(qc).matches()) {
+            queryCacheSize = Integer.parseInt(qc);
+            logger.debug("JDBC::updateConfig: queryCacheSize={}", queryCacheSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -404,6 +441,40 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    /**
+     * Gets the number of values to store with a single batch statement.
+     *
+     * @return batch size, 0 if values are stored one by one
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchLatency() {
+        return batchLatency;
+    }
+
+    public int getBatchWriterThreads() {
+        return batchWriterThreads;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    /**
+     * Gets the maximum number of rows returned by unpaged queries of number items.
+     *
+     * @return maximum number of time buckets, 0 if queries are not aggregated
+     */
+    public int getQueryAggregationMaxRows() {
+        return queryAggregationMaxRows;
+    }
+
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,15 +37,18 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.JdbcMetrics.Operation;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 
 /**
@@ -56,16 +61,16 @@ public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
-    private final TimeZoneProvider timeZoneProvider;
+    protected final TimeZoneProvider timeZoneProvider;
 
     // Error counter - used to reconnect to database on error
     protected int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    // read by query threads and updated by the batch writer threads, see getTable()
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
-    private long afterAccessMin = 10000;
-    private long afterAccessMax = 0;
+    protected final JdbcMetrics metrics = new JdbcMetrics();
 
     public JdbcMapper(TimeZoneProvider timeZoneProvider) {
         this.timeZoneProvider = timeZoneProvider;
@@ -77,7 +82,7 @@ public class JdbcMapper {
     private boolean pingDB() throws JdbcSQLException {
         logger.debug("JDBC::pingDB");
         boolean ret = false;
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         if (openConnection()) {
             if (conf.getDbName() == null) {
                 logger.debug(
@@ -94,98 +99,98 @@ public class JdbcMapper {
                 ret = result != null && result > 0;
             }
         }
-        logTime("pingDB", timerStart, System.currentTimeMillis());
+        logTime(Operation.PING, "pingDB", timerStart);
         return ret;
     }
 
     private boolean ifItemsTableExists() throws JdbcSQLException {
         logger.debug("JDBC::ifItemsTableExists");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         ItemsVO vo = new ItemsVO();
         vo.setItemsManageTable(conf.getItemsManageTable());
         boolean res = conf.getDBDAO().doIfTableExists(vo);
-        logTime("doIfTableExists", timerStart, System.currentTimeMillis());
+        logTime(Operation.TABLE_CHECK, "doIfTableExists", timerStart);
         return res;
     }
 
     protected boolean ifTableExists(String tableName) throws JdbcSQLException {
         logger.debug("JDBC::ifTableExists");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         boolean res = conf.getDBDAO().doIfTableExists(tableName);
-        logTime("doIfTableExists", timerStart, System.currentTimeMillis());
+        logTime(Operation.TABLE_CHECK, "doIfTableExists", timerStart);
         return res;
     }
 
     private ItemsVO createNewEntryInItemsTable(ItemsVO vo) throws JdbcSQLException {
         logger.debug("JDBC::createNewEntryInItemsTable");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         Long i = conf.getDBDAO().doCreateNewEntryInItemsTable(vo);
         vo.setItemId(i.intValue());
-        logTime("doCreateNewEntryInItemsTable", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "doCreateNewEntryInItemsTable", timerStart);
         return vo;
     }
 
     private boolean createItemsTableIfNot(ItemsVO vo) throws JdbcSQLException {
         logger.debug("JDBC::createItemsTableIfNot");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doCreateItemsTableIfNot(vo);
-        logTime("doCreateItemsTableIfNot", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "doCreateItemsTableIfNot", timerStart);
         return true;
     }
 
     private boolean dropItemsTableIfExists(ItemsVO vo) throws JdbcSQLException {
         logger.debug("JDBC::dropItemsTableIfExists");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doDropItemsTableIfExists(vo);
-        logTime("doDropItemsTableIfExists", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "doDropItemsTableIfExists", timerStart);
         return true;
     }
 
     protected void dropTable(String tableName) throws JdbcSQLException {
         logger.debug("JDBC::dropTable");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doDropTable(tableName);
-        logTime("doDropTable", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "doDropTable", timerStart);
     }
 
     protected ItemsVO deleteItemsEntry(ItemsVO vo) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemsEntry");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doDeleteItemsEntry(vo);
-        logTime("deleteItemsEntry", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "deleteItemsEntry", timerStart);
         return vo;
     }
 
     private List<ItemsVO> getItemIDTableNames() throws JdbcSQLException {
         logger.debug("JDBC::getItemIDTableNames");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         ItemsVO isvo = new ItemsVO();
         isvo.setItemsManageTable(conf.getItemsManageTable());
         List<ItemsVO> vo = conf.getDBDAO().doGetItemIDTableNames(isvo);
-        logTime("getItemIDTableNames", timerStart, System.currentTimeMillis());
+        logTime(Operation.TABLE_CHECK, "getItemIDTableNames", timerStart);
         return vo;
     }
 
     protected List<ItemsVO> getItemTables() throws JdbcSQLException {
         logger.debug("JDBC::getItemTables");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         ItemsVO isvo = new ItemsVO();
         isvo.setJdbcUriDatabaseName(conf.getDbName());
         isvo.setItemsManageTable(conf.getItemsManageTable());
         List<ItemsVO> vol = conf.getDBDAO().doGetItemTables(isvo);
-        logTime("getItemTables", timerStart, System.currentTimeMillis());
+        logTime(Operation.TABLE_CHECK, "getItemTables", timerStart);
         return vol;
     }
 
     protected List<Column> getTableColumns(String tableName) throws JdbcSQLException {
         logger.debug("JDBC::getTableColumns");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         ItemsVO isvo = new ItemsVO();
         isvo.setJdbcUriDatabaseName(conf.getDbName());
         isvo.setTableName(tableName);
         isvo.setItemsManageTable(conf.getItemsManageTable());
         List<Column> is = conf.getDBDAO().doGetTableColumns(isvo);
-        logTime("getTableColumns", timerStart, System.currentTimeMillis());
+        logTime(Operation.TABLE_CHECK, "getTableColumns", timerStart);
         return is;
     }
 
@@ -194,38 +199,46 @@ public class JdbcMapper {
      ****************/
     private void updateItemTableNames(List<ItemVO> vol) throws JdbcSQLException {
         logger.debug("JDBC::updateItemTableNames");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doUpdateItemTableNames(vol);
-        logTime("updateItemTableNames", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "updateItemTableNames", timerStart);
     }
 
     private ItemVO createItemTable(ItemVO vo) throws JdbcSQLException {
         logger.debug("JDBC::createItemTable");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doCreateItemTable(vo);
-        logTime("createItemTable", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "createItemTable", timerStart);
         return vo;
     }
 
     protected void alterTableColumn(String tableName, String columnName, String columnType, boolean nullable)
             throws JdbcSQLException {
         logger.debug("JDBC::alterTableColumn");
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doAlterTableColumn(tableName, columnName, columnType, nullable);
-        logTime("alterTableColumn", timerStart, System.currentTimeMillis());
+        logTime(Operation.SCHEMA, "alterTableColumn", timerStart);
     }
 
     protected void storeItemValue(Item item, State itemState, @Nullable ZonedDateTime date, @Nullable String alias)
             throws JdbcException {
         logger.debug("JDBC::storeItemValue: item={} state={} date={}", item, itemState, date);
         String tableName = getTable(item, alias);
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         if (date == null) {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null));
         } else {
             conf.getDBDAO().doStoreItemValue(item, itemState, new ItemVO(tableName, null), date);
         }
-        logTime("storeItemValue", timerStart, System.currentTimeMillis());
+        logTime(Operation.STORE, "storeItemValue", timerStart);
+        errCnt = 0;
+    }
+
+    protected void storeItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        logger.debug("JDBC::storeItemValues: table={} rows={}", tableName, values.size());
+        long timerStart = System.nanoTime();
+        conf.getDBDAO().doStoreItemValues(tableName, values);
+        logTime(Operation.STORE, "storeItemValues", timerStart);
         errCnt = 0;
     }
 
@@ -238,19 +251,31 @@ public class JdbcMapper {
         logger.debug(
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
                 item.getName(), timeZoneProvider.getTimeZone());
-        logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
+        logTime(Operation.QUERY, "getHistItemFilterQuery", timerStart);
+        errCnt = 0;
+        return result;
+    }
+
+    protected List<HistoricItem> getHistItemBucketQuery(FilterCriteria filter, long bucketSeconds, String table,
+            Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemBucketQuery bucketSeconds='{}' table='{}' itemName='{}'", bucketSeconds, table,
+                item.getName());
+        long timerStart = System.nanoTime();
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemBucketQuery(item, filter, bucketSeconds, table,
+                timeZoneProvider.getTimeZone());
+        logTime(Operation.QUERY, "getHistItemBucketQuery", timerStart);
         errCnt = 0;
         return result;
     }
 
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
-        long timerStart = System.currentTimeMillis();
+        long timerStart = System.nanoTime();
         conf.getDBDAO().doDeleteItemValues(filter, table, timeZoneProvider.getTimeZone());
-        logTime("deleteItemValues", timerStart, System.currentTimeMillis());
+        logTime(Operation.REMOVE, "deleteItemValues", timerStart);
         errCnt = 0;
     }
 
@@ -265,6 +290,7 @@ public class JdbcMapper {
                 Yank.setupDefaultConnectionPool(conf.getHikariConfiguration());
                 Yank.setThrowWrappedExceptions(true);
                 conf.setDbConnected(true);
+                bindPoolMetrics();
                 return true;
             } catch (PoolInitializationException e) {
                 Throwable cause = e.getCause();
@@ -284,6 +310,17 @@ public class JdbcMapper {
         return true;
     }
 
+    /**
+     * Let HikariCP publish connection pool metrics like pending threads and connection acquisition time.
+     * The tracker factory can be set only once per pool, it follows changes of the registry by itself.
+     */
+    protected void bindPoolMetrics() {
+        HikariDataSource dataSource = Yank.getDefaultConnectionPool();
+        if (dataSource != null && dataSource.getMetricsTrackerFactory() == null) {
+            dataSource.setMetricsTrackerFactory(metrics.getPoolMetricsTrackerFactory());
+        }
+    }
+
     protected void closeConnection() {
         logger.debug("JDBC::closeConnection");
         // Closes all open connection pools
@@ -338,7 +375,7 @@ public class JdbcMapper {
         populateItemNameToTableNameMap();
     }
 
-    public void populateItemNameToTableNameMap() throws JdbcSQLException {
+    public synchronized void populateItemNameToTableNameMap() throws JdbcSQLException {
         itemNameToTableNameMap.clear();
         if (conf.getTableUseRealCaseSensitiveItemNames()) {
             for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
@@ -357,7 +394,8 @@ public class JdbcMapper {
         }
     }
 
-    protected String getTable(Item item, @Nullable String alias) throws JdbcException {
+    // synchronized, so that concurrent batch writer threads don't create the table of an item twice
+    protected synchronized String getTable(Item item, @Nullable String alias) throws JdbcException {
         String itemName = alias != null ? alias : item.getName();
         if (!initialized) {
             throw new JdbcException("Not initialized, unable to find table for item " + itemName);
@@ -509,31 +547,11 @@ public class JdbcMapper {
     /*****************
      * H E L P E R S *
      *****************/
-    private void logTime(String me, long timerStart, long timerStop) {
-        if (conf.enableLogTime && logger.isInfoEnabled()) {
-            conf.timerCount++;
-            int timerDiff = (int) (timerStop - timerStart);
-            if (timerDiff < afterAccessMin) {
-                afterAccessMin = timerDiff;
-            }
-            if (timerDiff > afterAccessMax) {
-                afterAccessMax = timerDiff;
-            }
-            conf.timeAverage50arr.add(timerDiff);
-            conf.timeAverage100arr.add(timerDiff);
-            conf.timeAverage200arr.add(timerDiff);
-            if (conf.timerCount == 1) {
-                conf.timer1000 = System.currentTimeMillis();
-            }
-            if (conf.timerCount == 1001) {
-                conf.time1000Statements = Math.round(((int) (System.currentTimeMillis() - conf.timer1000)) / 1000);// Seconds
-                conf.timerCount = 0;
-            }
-            logger.info(
-                    "JDBC::logTime: '{}':\n afterAccess     = {} ms\n timeAverage50  = {} ms\n timeAverage100 = {} ms\n timeAverage200 = {} ms\n afterAccessMin  = {} ms\n afterAccessMax  = {} ms\n 1000Statements = {} sec\n statementCount = {}\n",
-                    me, timerDiff, conf.timeAverage50arr.getAverageInteger(),
-                    conf.timeAverage100arr.getAverageInteger(), conf.timeAverage200arr.getAverageInteger(),
-                    afterAccessMin, afterAccessMax, conf.time1000Statements, conf.timerCount);
+    private void logTime(Operation operation, String me, long timerStart) {
+        long duration = System.nanoTime() - timerStart;
+        metrics.record(operation, duration);
+        if (conf.enableLogTime) {
+            logger.info("JDBC::logTime: '{}' took {} ms", me, TimeUnit.NANOSECONDS.toMillis(duration));
         }
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link JdbcMetrics} publishes statement durations, buffered writer and query cache statistics to the
+ * openHAB meter registry.
+ *
+ * Statement durations are recorded into histogram based timers per operation, which are cheap to update and
+ * provide percentiles without keeping individual samples. Connection pool metrics like the time waiting for a
+ * connection are published by HikariCP's Micrometer tracker, tagged with the pool name.
+ *
+ * HikariCP accepts the tracker factory of a running pool only once. The pool therefore gets the factory of this class,
+ * see {@link #getPoolMetricsTrackerFactory()}, whose trackers are moved to the current registry when it changes.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMetrics {
+
+    public static final String METRIC_PREFIX = "openhab.persistence.jdbc.";
+
+    /**
+     * Operations statement durations are recorded for.
+     */
+    public enum Operation {
+        PING,
+        TABLE_CHECK,
+        SCHEMA,
+        STORE,
+        QUERY,
+        REMOVE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final IMetricsTracker NO_TRACKER = new IMetricsTracker() {
+    };
+
+    private final List<Meter> meters = new ArrayList<>();
+    private volatile Map<Operation, Timer> timers = Map.of();
+    private @Nullable MeterRegistry registry;
+    private String dialect = "none";
+    private volatile @Nullable JdbcBatchWriter batchWriter;
+    private volatile @Nullable JdbcQueryCache queryCache;
+    private final List<PoolMetricsTracker> poolTrackers = new ArrayList<>();
+    private final MetricsTrackerFactory poolMetricsTrackerFactory = this::createPoolTracker;
+
+    /**
+     * Tracker of a connection pool publishing to the currently bound registry, if any.
+     */
+    private class PoolMetricsTracker implements IMetricsTracker {
+        private final String poolName;
+        private final PoolStats poolStats;
+        private volatile IMetricsTracker delegate = NO_TRACKER;
+
+        PoolMetricsTracker(String poolName, PoolStats poolStats) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+        }
+
+        void bind(@Nullable MeterRegistry registry) {
+            delegate.close();
+            delegate = registry != null ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+                    : NO_TRACKER;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+        }
+
+        @Override
+        public void close() {
+            synchronized (JdbcMetrics.this) {
+                poolTrackers.remove(this);
+                delegate.close();
+            }
+        }
+    }
+
+    /**
+     * Start publishing metrics to a registry.
+     */
+    public synchronized void bind(MeterRegistry registry) {
+        this.registry = registry;
+        register();
+        poolTrackers.forEach(tracker -> tracker.bind(registry));
+    }
+
+    /**
+     * Stop publishing metrics.
+     */
+    public synchronized void unbind() {
+        removeMeters();
+        registry = null;
+        poolTrackers.forEach(tracker -> tracker.bind(null));
+    }
+
+    /**
+     * Set the database dialect metrics are tagged with.
+     */
+    public synchronized void setDialect(String dialect) {
+        if (!this.dialect.equals(dialect)) {
+            this.dialect = dialect;
+            register();
+        }
+    }
+
+    /**
+     * Set the buffered writer statistics are published for.
+     */
+    public void setBatchWriter(@Nullable JdbcBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * Set the query cache statistics are published for.
+     */
+    public void setQueryCache(@Nullable JdbcQueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * Get the factory HikariCP creates the metrics tracker of a connection pool with. The tracker publishes the pool
+     * metrics to the registry bound at any time, until the pool is closed.
+     */
+    public MetricsTrackerFactory getPoolMetricsTrackerFactory() {
+        return poolMetricsTrackerFactory;
+    }
+
+    private synchronized IMetricsTracker createPoolTracker(String poolName, PoolStats poolStats) {
+        PoolMetricsTracker tracker = new PoolMetricsTracker(poolName, poolStats);
+        tracker.bind(registry);
+        poolTrackers.add(tracker);
+        return tracker;
+    }
+
+    /**
+     * Record the duration of a statement.
+     *
+     * @param operation type of operation
+     * @param durationNanos duration in nanoseconds
+     */
+    public void record(Operation operation, long durationNanos) {
+        Timer timer = timers.get(operation);
+        if (timer != null) {
+            timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void register() {
+        removeMeters();
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+        Tags tags = Tags.of("dialect", dialect);
+        Map<Operation, Timer> timers = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            Timer timer = Timer.builder(METRIC_PREFIX + "statement").description("Duration of database statements")
+                    .tags(tags).tag("operation", operation.tag).publishPercentiles(0.5, 0.99)
+                    .register(registry);
+            timers.put(operation, timer);
+            meters.add(timer);
+        }
+        this.timers = timers;
+
+        meters.add(Gauge.builder(METRIC_PREFIX + "writer.queue.depth", this,
+                writerValue(JdbcBatchWriter::getQueueDepth)).description("Number of values waiting to be stored")
+                .tags(tags).register(registry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "writer.rows.written", this, writerValue(JdbcBatchWriter::getWrittenRows))
+                .description("Number of values stored by the buffered writer").tags(tags).register(registry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "writer.rows.failed", this, writerValue(JdbcBatchWriter::getFailedRows))
+                .description("Number of values the buffered writer failed to store").tags(tags).register(registry));
+        meters.add(FunctionCounter
+                .builder(METRIC_PREFIX + "writer.backpressure", this,
+                        writerValue(JdbcBatchWriter::getBackpressureEvents))
+                .description("Number of times the write buffer was full").tags(tags).register(registry));
+        meters.add(FunctionCounter.builder(METRIC_PREFIX + "cache.hits", this, cacheValue(JdbcQueryCache::getHits))
+                .description("Number of queries answered from the cache").tags(tags).register(registry));
+        meters.add(
+                FunctionCounter.builder(METRIC_PREFIX + "cache.misses", this, cacheValue(JdbcQueryCache::getMisses))
+                        .description("Number of aggregated queries not found in the cache").tags(tags)
+                        .register(registry));
+    }
+
+    private void removeMeters() {
+        timers = Map.of();
+        MeterRegistry registry = this.registry;
+        if (registry != null) {
+            meters.forEach(registry::remove);
+        }
+        meters.clear();
+    }
+
+    private ToDoubleFunction<JdbcMetrics> writerValue(ToDoubleFunction<JdbcBatchWriter> function) {
+        return metrics -> {
+            JdbcBatchWriter batchWriter = metrics.batchWriter;
+            return batchWriter != null ? function.applyAsDouble(batchWriter) : 0;
+        };
+    }
+
+    private ToDoubleFunction<JdbcMetrics> cacheValue(ToDoubleFunction<JdbcQueryCache> function) {
+        return metrics -> {
+            JdbcQueryCache queryCache = metrics.queryCache;
+            return queryCache != null ? function.applyAsDouble(queryCache) : 0;
+        };
+    }
+}
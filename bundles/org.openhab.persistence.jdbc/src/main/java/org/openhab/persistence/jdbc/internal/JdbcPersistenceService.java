@@ -12,6 +12,9 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,6 +23,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -30,10 +34,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -46,6 +52,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -54,6 +61,8 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,9 +83,32 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     private final ItemRegistry itemRegistry;
 
+    private static final long[] BUCKET_SECONDS = { 1, 5, 10, 30, 60, 300, 600, 900, 1800, 3600, 7200, 10800, 21600,
+            43200, 86400, 604800 };
+
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private final JdbcBatchWriter.Target batchWriterTarget = new JdbcBatchWriter.Target() {
+        @Override
+        public boolean isAvailable() {
+            return checkDBAccessability();
+        }
+
+        @Override
+        public String resolveTable(Item item, @Nullable String alias) throws JdbcException {
+            return getTable(item, alias);
+        }
+
+        @Override
+        public void storeBatch(String tableName, List<PendingItemValue> values) throws JdbcException {
+            internalStoreBatch(tableName, values);
+        }
+    };
+
+    private @Nullable JdbcBatchWriter batchWriter;
+    private @Nullable JdbcQueryCache queryCache;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,10 +152,20 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopBatchWriter();
         // closeConnection();
         initialized = false;
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
+    }
+
     @Override
     public String getId() {
         logger.debug("JDBC::getName: returning name 'jdbc' for queryable persistence service.");
@@ -137,22 +179,37 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        scheduleStore(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        scheduleStore(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        scheduleStore(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        scheduleStore(item, date, state, alias);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter == null) {
+            scheduler.execute(() -> internalStore(item, date, state, alias));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // The time is taken now, since the value may be written with some delay
+        batchWriter.enqueue(new PendingItemValue(item, state, date != null ? date : ZonedDateTime.now(), alias));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
@@ -171,6 +228,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         try {
             long timerStart = System.currentTimeMillis();
             storeItemValue(item, state, date, alias);
+            String tableName = itemNameToTableNameMap.get(alias != null ? alias : item.getName());
+            if (tableName != null) {
+                Instant instant = date != null ? date.toInstant() : Instant.now();
+                invalidateQueryCache(tableName, instant, instant);
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
                         new Date(), System.currentTimeMillis() - timerStart);
@@ -180,6 +242,78 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private void internalStoreBatch(String tableName, List<PendingItemValue> values) throws JdbcException {
+        long timerStart = System.currentTimeMillis();
+        try {
+            storeItemValues(tableName, values);
+        } catch (JdbcSQLException e) {
+            // A single failing row (e.g. a duplicate key on databases without upsert) fails the whole batch,
+            // so fall back to storing the values one by one.
+            logger.debug("JDBC::storeBatch: Batch for table '{}' failed, storing {} values one by one", tableName,
+                    values.size(), e);
+            for (PendingItemValue value : values) {
+                try {
+                    storeItemValue(value.getItem(), value.getState(), value.getDate(), value.getAlias());
+                } catch (JdbcException e1) {
+                    logger.warn("JDBC::store: Unable to store item", e1);
+                }
+            }
+        }
+        Instant from = Instant.MAX;
+        Instant to = Instant.MIN;
+        for (PendingItemValue value : values) {
+            Instant instant = value.getDate().toInstant();
+            from = instant.isBefore(from) ? instant : from;
+            to = instant.isAfter(to) ? instant : to;
+        }
+        invalidateQueryCache(tableName, from, to);
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} values in table '{}' in SQL database at {} in {} ms.", values.size(),
+                    tableName, new Date(), System.currentTimeMillis() - timerStart);
+        }
+    }
+
+    private void invalidateQueryCache(String tableName, Instant from, Instant to) {
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.invalidate(tableName, from, to);
+        }
+    }
+
+    /**
+     * Get the query cache, if enabled.
+     */
+    public @Nullable JdbcQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    private void startBatchWriter() {
+        stopBatchWriter();
+        if (conf.getBatchSize() > 0) {
+            JdbcBatchWriter batchWriter = new JdbcBatchWriter(scheduler, batchWriterTarget, conf.getBatchSize(),
+                    conf.getBatchLatency(), conf.getBatchWriterThreads(), conf.getBatchQueueSize());
+            batchWriter.start();
+            this.batchWriter = batchWriter;
+            metrics.setBatchWriter(batchWriter);
+        }
+    }
+
+    private void stopBatchWriter() {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        this.batchWriter = null;
+        metrics.setBatchWriter(null);
+        if (batchWriter != null) {
+            batchWriter.stop();
+        }
+    }
+
+    /**
+     * Get the batch writer, if buffered writing is enabled.
+     */
+    public @Nullable JdbcBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -261,7 +395,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            long bucketSeconds = getBucketSeconds(filter, item);
+            List<HistoricItem> items = bucketSeconds > 0 ? queryBuckets(filter, bucketSeconds, table, item)
+                    : getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -275,16 +411,78 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Get the bucket size for aggregating a query, if enabled and applicable.
+     *
+     * Only unpaged queries of number items with a begin date are aggregated. The bucket size is chosen from a
+     * fixed set of sizes, so that repeated queries for similar time ranges result in the same buckets.
+     *
+     * @return bucket size in seconds, 0 if the query should not be aggregated
+     */
+    private long getBucketSeconds(FilterCriteria filter, Item item) {
+        int maxRows = conf.getQueryAggregationMaxRows();
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (maxRows <= 0 || beginDate == null || !(item instanceof NumberItem)
+                || filter.getPageSize() != Integer.MAX_VALUE || filter.getState() != null) {
+            return 0;
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        long span = Duration.between(beginDate, endDate != null ? endDate : ZonedDateTime.now()).getSeconds();
+        if (span <= maxRows) {
+            return 0;
+        }
+        for (long bucketSeconds : BUCKET_SECONDS) {
+            if (span / bucketSeconds < maxRows) {
+                return bucketSeconds;
+            }
+        }
+        return span / maxRows + 1;
+    }
+
+    private List<HistoricItem> queryBuckets(FilterCriteria filter, long bucketSeconds, String table, Item item)
+            throws JdbcSQLException {
+        ZonedDateTime beginDate = Objects.requireNonNull(filter.getBeginDate());
+        ZonedDateTime endDate = Objects.requireNonNullElseGet(filter.getEndDate(), ZonedDateTime::now);
+        // Align time range to the bucket boundaries of the database, so that results can be reused for the same buckets
+        ZoneId timeZone = timeZoneProvider.getTimeZone();
+        Instant begin = JdbcBaseDAO.bucketStart(beginDate, bucketSeconds, timeZone).atZone(timeZone).toInstant();
+        Instant end = JdbcBaseDAO.bucketStart(endDate, bucketSeconds, timeZone).plusSeconds(bucketSeconds - 1)
+                .atZone(timeZone).toInstant();
+        FilterCriteria alignedFilter = new FilterCriteria().setItemName(filter.getItemName())
+                .setBeginDate(begin.atZone(beginDate.getZone())).setEndDate(end.atZone(endDate.getZone()))
+                .setOrdering(filter.getOrdering());
+
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache == null) {
+            return getHistItemBucketQuery(alignedFilter, bucketSeconds, table, item);
+        }
+        String key = table + "|" + bucketSeconds + "|" + begin.getEpochSecond() + "|" + end.getEpochSecond() + "|"
+                + filter.getOrdering();
+        List<HistoricItem> result = queryCache.get(key);
+        if (result == null) {
+            long modificationCount = queryCache.getModificationCount(table);
+            result = getHistItemBucketQuery(alignedFilter, bucketSeconds, table, item);
+            queryCache.put(key, table, begin, end, result, modificationCount);
+        }
+        return result;
+    }
+
     private void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
         conf = new JdbcConfiguration(configuration);
+        queryCache = conf.getQueryAggregationMaxRows() > 0 && conf.getQueryCacheSize() > 0
+                ? new JdbcQueryCache(conf.getQueryCacheSize())
+                : null;
+        metrics.setQueryCache(queryCache);
+        metrics.setDialect(Objects.requireNonNullElse(conf.getServiceName(), "none"));
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
             try {
                 checkDBSchema();
                 // connection has been established ... initialization completed!
                 initialized = true;
+                startBatchWriter();
             } catch (JdbcSQLException e) {
                 logger.error("Failed to check database schema", e);
                 initialized = false;
@@ -316,6 +514,12 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             throw new IllegalArgumentException("Item name must not be null");
         }
 
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null) {
+            // Pending values must not be written after removing
+            batchWriter.flush();
+        }
+
         String table = itemNameToTableNameMap.get(itemName);
         if (table == null) {
             logger.debug("JDBC::remove: unable to find table for item with name: '{}', no data in database.", itemName);
@@ -325,6 +529,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         try {
             long timerStart = System.currentTimeMillis();
             deleteItemValues(filter, table);
+            ZonedDateTime beginDate = filter.getBeginDate();
+            ZonedDateTime endDate = filter.getEndDate();
+            invalidateQueryCache(table, beginDate != null ? beginDate.toInstant() : Instant.MIN,
+                    endDate != null ? endDate.toInstant() : Instant.MAX);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Deleted values for item '{}' in SQL database at {} in {} ms.", itemName, new Date(),
                         System.currentTimeMillis() - timerStart);
@@ -336,6 +544,15 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    @Override
+    public void populateItemNameToTableNameMap() throws JdbcSQLException {
+        super.populateItemNameToTableNameMap();
+        JdbcQueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.clear();
+        }
+    }
+
     /**
      * Get a list of names of persisted items.
      */
@@ -573,6 +790,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     deleteItemsEntry(itemsVo);
                 }
                 itemNameToTableNameMap.remove(entry.getItemName());
+                invalidateQueryCache(tableName, Instant.MIN, Instant.MAX);
                 return true;
             case ORPHAN_TABLE:
             case VALID:
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * The {@link JdbcQueryCache} is a least recently used cache for query results.
+ *
+ * Each entry remembers the table and time range it was queried for. Storing or removing values invalidates
+ * all entries of the table whose time range covers the affected values, so in practice only results reaching
+ * into the newest, still growing time window are dropped.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcQueryCache {
+
+    private record CachedResult(String tableName, Instant begin, Instant end, List<HistoricItem> result) {
+        boolean overlaps(String tableName, Instant from, Instant to) {
+            return this.tableName.equals(tableName) && !begin.isAfter(to) && !end.isBefore(from);
+        }
+    }
+
+    private final int maxEntries;
+    private final Map<String, CachedResult> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Map<String, Long> tableModificationCounts = new HashMap<>();
+    private long clearCount;
+
+    public JdbcQueryCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, CachedResult> eldest) {
+                return size() > JdbcQueryCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get a cached result.
+     *
+     * @param key query key
+     * @return cached result or null if not present
+     */
+    public synchronized @Nullable List<HistoricItem> get(String key) {
+        CachedResult entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result();
+    }
+
+    /**
+     * Get the number of modifications of a table so far. Must be retrieved before querying the database, to make sure
+     * that a result is not cached if values were stored in the table in the meantime.
+     *
+     * @param tableName table to query
+     * @return modification count
+     */
+    public synchronized long getModificationCount(String tableName) {
+        // both counts only increase, so any modification of the table or the whole cache changes the sum
+        return clearCount + tableModificationCounts.getOrDefault(tableName, 0L);
+    }
+
+    /**
+     * Add a result to the cache, unless any values of the table were stored or removed after the query was started.
+     *
+     * @param key query key
+     * @param tableName table the result was queried from
+     * @param begin begin of the queried time range
+     * @param end end of the queried time range
+     * @param result query result
+     * @param modificationCount modification count retrieved before querying the database
+     */
+    public synchronized void put(String key, String tableName, Instant begin, Instant end, List<HistoricItem> result,
+            long modificationCount) {
+        if (modificationCount == getModificationCount(tableName)) {
+            entries.put(key, new CachedResult(tableName, begin, end, List.copyOf(result)));
+        }
+    }
+
+    /**
+     * Invalidate all results of a table overlapping a time range.
+     *
+     * @param tableName table which has been modified
+     * @param from begin of modified time range
+     * @param to end of modified time range
+     */
+    public synchronized void invalidate(String tableName, Instant from, Instant to) {
+        tableModificationCounts.merge(tableName, 1L, Long::sum);
+        if (entries.values().removeIf(entry -> entry.overlaps(tableName, from, to))) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Invalidate all results.
+     */
+    public synchronized void clear() {
+        clearCount++;
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+}
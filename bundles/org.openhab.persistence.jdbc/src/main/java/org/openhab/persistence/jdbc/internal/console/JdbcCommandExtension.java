@@ -31,8 +31,10 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
+import org.openhab.persistence.jdbc.internal.JdbcBatchWriter;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.JdbcQueryCache;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -50,6 +52,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_WRITER = "writer";
+    private static final String CMD_CACHE = "cache";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -57,7 +61,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_WRITER, CMD_CACHE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -134,6 +138,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_WRITER.equalsIgnoreCase(args[0])) {
+            showWriterStatistics(persistenceService, console);
+            return true;
+        } else if (args.length == 1 && CMD_CACHE.equalsIgnoreCase(args[0])) {
+            showCacheStatistics(persistenceService, console);
+            return true;
         }
         return false;
     }
@@ -249,6 +259,40 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void showWriterStatistics(JdbcPersistenceService persistenceService, Console console) {
+        JdbcBatchWriter batchWriter = persistenceService.getBatchWriter();
+        if (batchWriter == null) {
+            console.println("Buffered writing is disabled (batchSize=0).");
+            return;
+        }
+        console.println(String.format("Batch size:          %d", batchWriter.getBatchSize()));
+        console.println(String.format("Batch latency:       %d ms", batchWriter.getBatchLatency()));
+        console.println(String.format("Writer threads:      %d", batchWriter.getWriterThreads()));
+        console.println(String.format("Queue depth:         %d/%d (max %d)", batchWriter.getQueueDepth(),
+                batchWriter.getQueueCapacity(), batchWriter.getMaxQueueDepth()));
+        console.println(String.format("Rows queued:         %d", batchWriter.getQueuedRows()));
+        console.println(String.format("Rows written:        %d", batchWriter.getWrittenRows()));
+        console.println(String.format("Rows failed:         %d", batchWriter.getFailedRows()));
+        console.println(String.format("Batches written:     %d", batchWriter.getWrittenBatches()));
+        console.println(String.format("Backpressure events: %d", batchWriter.getBackpressureEvents()));
+        console.println(String.format("Last flush duration: %d ms", batchWriter.getLastFlushDuration()));
+    }
+
+    private void showCacheStatistics(JdbcPersistenceService persistenceService, Console console) {
+        JdbcQueryCache queryCache = persistenceService.getQueryCache();
+        if (queryCache == null) {
+            console.println("Query cache is disabled (queryAggregationMaxRows=0 or queryCacheSize=0).");
+            return;
+        }
+        long hits = queryCache.getHits();
+        long requests = hits + queryCache.getMisses();
+        console.println(String.format("Entries:       %d/%d", queryCache.getSize(), queryCache.getMaxEntries()));
+        console.println(String.format("Hits:          %d", hits));
+        console.println(String.format("Misses:        %d", queryCache.getMisses()));
+        console.println(String.format("Hit ratio:     %.1f %%", requests > 0 ? 100.0 * hits / requests : 0.0));
+        console.println(String.format("Invalidations: %d", queryCache.getInvalidations()));
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -258,7 +302,9 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_WRITER, "show statistics of the buffered writer"),
+                buildCommandUsage(CMD_CACHE, "show statistics of the query cache"));
     }
 
     @Override
@@ -16,10 +16,14 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -60,6 +64,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -446,12 +451,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
+        String sql = insertItemValueProvider(storedVO);
+        Object[] params = insertItemValueParams(storedVO, date);
+        logger.debug("JDBC::doStoreItemValue sql={} date={} value='{}'", sql, date, storedVO.getValue());
         try {
             Yank.execute(sql, params);
         } catch (YankSQLException e) {
@@ -459,6 +461,37 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Store a number of values into one item table using a single JDBC batch.
+     *
+     * All values must belong to the same table, and thus share the same SQL data type.
+     *
+     * @param tableName table to store values into
+     * @param values values with explicit timestamps, in insertion order
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            PendingItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.getItem(), value.getState(), new ItemVO(tableName, null));
+            if (i == 0) {
+                sql = insertItemValueProvider(storedVO);
+            }
+            params[i] = insertItemValueParams(storedVO, value.getDate());
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -481,6 +514,49 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Query the average value of a number item per time bucket.
+     *
+     * The tables store the local time of the database, so buckets are aligned to multiples of the bucket size since
+     * 1970-01-01 00:00 local time, see {@link #bucketStart(ZonedDateTime, long, ZoneId)}. Each returned item carries
+     * the time of the earliest row of its bucket. If the database does not support grouping by time buckets, raw rows
+     * are fetched and aggregated in memory.
+     *
+     * @param item number item (or base item of a group)
+     * @param filter time range and ordering; paging is ignored
+     * @param bucketSeconds bucket size in seconds
+     * @param table item table
+     * @param timeZone time zone of the database
+     * @return one item per non-empty bucket
+     * @throws JdbcSQLException on SQL errors
+     */
+    public List<HistoricItem> doGetHistItemBucketQuery(Item item, FilterCriteria filter, long bucketSeconds,
+            String table, ZoneId timeZone) throws JdbcSQLException {
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        String sql = histItemBucketQueryProvider(filter, table, bucketSeconds, timeZone);
+        if (sql == null) {
+            logger.debug("JDBC::doGetHistItemBucketQuery aggregating {} in memory", table);
+            List<HistoricItem> rows = doGetHistItemFilterQuery(item, filter, -1, table, itemName, timeZone);
+            return aggregateInBuckets(rows, itemName, unit, bucketSeconds, filter.getOrdering(), timeZone);
+        }
+        logger.debug("JDBC::doGetHistItemBucketQuery sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemBucketQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        return m.stream().filter(o -> o[0] != null && o[1] != null)
+                .map(o -> new JdbcHistoricItem(itemName, numberAsState(unit, objectAsNumber(o[1]).doubleValue()),
+                        objectAsInstant(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -531,6 +607,55 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the query for averaging values per time bucket, see
+     * {@link #doGetHistItemBucketQuery(Item, FilterCriteria, long, String, ZoneId)}.
+     *
+     * @return SQL query, or null if grouping by time buckets is not supported
+     */
+    protected @Nullable String histItemBucketQueryProvider(FilterCriteria filter, String table, long bucketSeconds,
+            ZoneId timeZone) {
+        String bucket = timeBucketProvider(bucketSeconds);
+        if (bucket == null) {
+            return null;
+        }
+        // SELECT MIN(time), AVG(value) FROM number_item_0114 WHERE ... GROUP BY FLOOR(TIMESTAMPDIFF(...) / 300)
+        String queryString = "SELECT MIN(time), AVG(value) FROM " + formattedIdentifier(table)
+                + resolveTimeFilter(filter, timeZone) + " GROUP BY " + bucket;
+        queryString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC";
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides an SQL expression mapping column 'time' to the number of its time bucket since 1970-01-01 00:00 local
+     * time, i.e. the stored local time has to be read as if it were UTC.
+     *
+     * @param bucketSeconds bucket size in seconds
+     * @return SQL expression, or null if not supported by the database
+     */
+    protected @Nullable String timeBucketProvider(long bucketSeconds) {
+        // UNIX_TIMESTAMP() would convert the local time to UTC
+        return "FLOOR(TIMESTAMPDIFF(SQL_TSI_SECOND, TIMESTAMP '1970-01-01 00:00:00', time) / " + bucketSeconds + ")";
+    }
+
+    /**
+     * Gets the start of the time bucket containing the given time, in the local time of the database.
+     *
+     * @param dateTime the time
+     * @param bucketSeconds bucket size in seconds
+     * @param timeZone time zone of the database
+     * @return local start time of the bucket
+     */
+    public static LocalDateTime bucketStart(ZonedDateTime dateTime, long bucketSeconds, ZoneId timeZone) {
+        long bucket = Math.floorDiv(localEpochSecond(dateTime.toInstant(), timeZone), bucketSeconds);
+        return LocalDateTime.ofEpochSecond(bucket * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private static long localEpochSecond(Instant instant, ZoneId timeZone) {
+        return LocalDateTime.ofInstant(instant, timeZone).toEpochSecond(ZoneOffset.UTC);
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -556,6 +681,30 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Provides the statement for inserting a value with an explicit timestamp, which is bound as first parameter.
+     *
+     * @param storedVO value as returned by {@link #storeItemValueProvider(Item, State, ItemVO)}
+     * @return SQL statement
+     */
+    protected String insertItemValueProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+    }
+
+    /**
+     * Provides the parameters for the statement returned by {@link #insertItemValueProvider(ItemVO)}.
+     *
+     * @param storedVO value as returned by {@link #storeItemValueProvider(Item, State, ItemVO)}
+     * @param date timestamp of the value
+     * @return statement parameters
+     */
+    protected Object[] insertItemValueParams(ItemVO storedVO, ZonedDateTime date) {
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String newTableName = itemTable.getNewTableName();
         if (newTableName == null) {
@@ -711,6 +860,35 @@ public class JdbcBaseDAO {
         }
     }
 
+    private List<HistoricItem> aggregateInBuckets(List<HistoricItem> rows, String itemName,
+            @Nullable Unit<? extends Quantity<?>> unit, long bucketSeconds, Ordering ordering, ZoneId timeZone) {
+        Map<Long, Instant> bucketStarts = new LinkedHashMap<>();
+        Map<Long, double[]> bucketSums = new HashMap<>();
+        for (HistoricItem row : rows) {
+            if (!(row.getState() instanceof Number number)) {
+                continue;
+            }
+            Instant instant = row.getInstant();
+            long bucket = Math.floorDiv(localEpochSecond(instant, timeZone), bucketSeconds);
+            bucketStarts.merge(bucket, instant, (a, b) -> a.isBefore(b) ? a : b);
+            double[] sum = bucketSums.computeIfAbsent(bucket, b -> new double[2]);
+            sum[0] += number.doubleValue();
+            sum[1]++;
+        }
+        List<HistoricItem> result = new ArrayList<>(bucketStarts.size());
+        bucketStarts.forEach((bucket, start) -> {
+            double[] sum = Objects.requireNonNull(bucketSums.get(bucket));
+            result.add(new JdbcHistoricItem(itemName, numberAsState(unit, sum[0] / sum[1]), start));
+        });
+        result.sort(ordering == Ordering.ASCENDING ? Comparator.comparing(HistoricItem::getInstant)
+                : Comparator.comparing(HistoricItem::getInstant).reversed());
+        return result;
+    }
+
+    private State numberAsState(@Nullable Unit<? extends Quantity<?>> unit, double value) {
+        return unit == null ? new DecimalType(value) : QuantityType.valueOf(value, unit);
+    }
+
     protected Instant objectAsInstant(Object o) {
         return switch (o) {
             case Long l -> Instant.ofEpochMilli(l.longValue());
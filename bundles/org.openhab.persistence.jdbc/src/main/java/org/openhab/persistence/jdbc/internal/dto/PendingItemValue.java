@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents an item state waiting in the write buffer to be stored.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class PendingItemValue {
+
+    private final Item item;
+    private final State state;
+    private final ZonedDateTime date;
+    private final @Nullable String alias;
+
+    public PendingItemValue(Item item, State state, ZonedDateTime date, @Nullable String alias) {
+        this.item = item;
+        this.state = state;
+        this.date = date;
+        this.alias = alias;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ZonedDateTime getDate() {
+        return date;
+    }
+
+    public @Nullable String getAlias() {
+        return alias;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingItemValue [item=" + item.getName() + ", state=" + state + ", date=" + date + ", alias=" + alias
+                + "]";
+    }
+}
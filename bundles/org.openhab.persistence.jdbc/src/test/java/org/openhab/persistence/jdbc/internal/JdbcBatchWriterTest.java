@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+
+    // Flushes are triggered explicitly by the tests
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final Map<String, List<List<PendingItemValue>>> batches = new ConcurrentHashMap<>();
+    private boolean available = true;
+
+    private final JdbcBatchWriter.Target target = new JdbcBatchWriter.Target() {
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public String resolveTable(Item item, @Nullable String alias) {
+            return "table_" + (alias != null ? alias : item.getName());
+        }
+
+        @Override
+        public void storeBatch(String tableName, List<PendingItemValue> values) {
+            batches.computeIfAbsent(tableName, t -> new ArrayList<>()).add(new ArrayList<>(values));
+        }
+    };
+
+    @Test
+    void valuesAreGroupedPerTableInReceivedOrder() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, target, 100, 60000, 2, 1000);
+        writer.start();
+        NumberItem item1 = new NumberItem("Item1");
+        NumberItem item2 = new NumberItem("Item2");
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(new PendingItemValue(item1, new DecimalType(i), now.plusSeconds(i), null));
+            writer.enqueue(new PendingItemValue(item2, new DecimalType(i), now.plusSeconds(i), null));
+        }
+        writer.stop();
+
+        assertThat(batches.size(), is(2));
+        List<List<PendingItemValue>> item1Batches = Objects.requireNonNull(batches.get("table_Item1"));
+        assertThat(item1Batches.size(), is(1));
+        for (int i = 0; i < 5; i++) {
+            assertThat(item1Batches.getFirst().get(i).getState(), is(new DecimalType(i)));
+        }
+        assertThat(writer.getWrittenRows(), is(10L));
+        assertThat(writer.getWrittenBatches(), is(2L));
+        assertThat(writer.getQueueDepth(), is(0));
+    }
+
+    @Test
+    void batchesAreLimitedToBatchSize() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, target, 4, 60000, 1, 1000);
+        NumberItem item = new NumberItem("Item");
+        for (int i = 0; i < 10; i++) {
+            writer.enqueue(new PendingItemValue(item, new DecimalType(i), ZonedDateTime.now(), "Alias"));
+        }
+        writer.flush();
+
+        List<List<PendingItemValue>> itemBatches = Objects.requireNonNull(batches.get("table_Alias"));
+        assertThat(itemBatches.size(), is(3));
+        assertThat(itemBatches.get(0).size(), is(4));
+        assertThat(itemBatches.get(1).size(), is(4));
+        assertThat(itemBatches.get(2).size(), is(2));
+    }
+
+    @Test
+    void fullBufferIsWrittenByCallingThread() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, target, 2, 60000, 1, 2);
+        NumberItem item = new NumberItem("Item");
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(new PendingItemValue(item, new DecimalType(i), ZonedDateTime.now(), null));
+        }
+
+        assertThat(writer.getBackpressureEvents(), is(2L));
+        assertThat(writer.getWrittenRows(), is(4L));
+    }
+
+    @Test
+    void valuesAreDiscardedWhenDatabaseIsNotAvailable() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, target, 10, 60000, 1, 100);
+        available = false;
+        writer.enqueue(new PendingItemValue(new NumberItem("Item"), new DecimalType(1), ZonedDateTime.now(), null));
+        writer.flush();
+
+        assertThat(batches.isEmpty(), is(true));
+        assertThat(writer.getFailedRows(), is(1L));
+    }
+}
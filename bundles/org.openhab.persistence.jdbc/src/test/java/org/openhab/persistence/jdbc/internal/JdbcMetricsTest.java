@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.internal.JdbcMetrics.Operation;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link JdbcMetrics}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMetricsTest {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final JdbcMetrics metrics = new JdbcMetrics();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final PoolStats poolStats = new PoolStats(0) {
+        @Override
+        protected void update() {
+        }
+    };
+
+    @Test
+    void statementDurationsArePublishedWhileBound() {
+        metrics.record(Operation.STORE, 1_000_000);
+        metrics.bind(registry);
+        metrics.record(Operation.STORE, 1_000_000);
+        metrics.record(Operation.QUERY, 2_000_000);
+
+        Timer store = registry.find(JdbcMetrics.METRIC_PREFIX + "statement").tag("operation", "store").timer();
+        assertThat(store, is(notNullValue()));
+        assertThat(store.count(), is(1L));
+
+        metrics.unbind();
+        metrics.record(Operation.STORE, 1_000_000);
+
+        assertThat(registry.find(JdbcMetrics.METRIC_PREFIX + "statement").meters().isEmpty(), is(true));
+        assertThat(store.count(), is(1L));
+    }
+
+    @Test
+    void dialectChangeReplacesMeters() {
+        metrics.bind(registry);
+        metrics.setDialect("mysql");
+
+        assertThat(registry.find(JdbcMetrics.METRIC_PREFIX + "statement").tag("dialect", "none").meters().isEmpty(),
+                is(true));
+        assertThat(registry.find(JdbcMetrics.METRIC_PREFIX + "statement").tag("dialect", "mysql").meters().size(),
+                is(Operation.values().length));
+    }
+
+    @Test
+    void poolMetricsFollowTheRegistry() {
+        IMetricsTracker tracker = metrics.getPoolMetricsTrackerFactory().create("jdbc", poolStats);
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        metrics.bind(registry);
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        Timer acquire = registry.find(ACQUIRE_TIMER).tag("pool", "jdbc").timer();
+        assertThat(acquire, is(notNullValue()));
+        assertThat(acquire.count(), is(1L));
+
+        // HikariCP doesn't allow changing the registry of a running pool, the tracker moves to the new one
+        SimpleMeterRegistry newRegistry = new SimpleMeterRegistry();
+        metrics.unbind();
+        metrics.bind(newRegistry);
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(registry.find(ACQUIRE_TIMER).timer(), is(nullValue()));
+        Timer newAcquire = newRegistry.find(ACQUIRE_TIMER).tag("pool", "jdbc").timer();
+        assertThat(newAcquire, is(notNullValue()));
+        assertThat(newAcquire.count(), is(1L));
+    }
+
+    @Test
+    void closedPoolTrackerIsNotBoundAgain() throws Exception {
+        metrics.bind(registry);
+        IMetricsTracker tracker = metrics.getPoolMetricsTrackerFactory().create("jdbc", poolStats);
+        assertThat(registry.find(ACQUIRE_TIMER).timer(), is(notNullValue()));
+
+        tracker.close();
+        assertThat(registry.find(ACQUIRE_TIMER).timer(), is(nullValue()));
+
+        SimpleMeterRegistry newRegistry = new SimpleMeterRegistry();
+        metrics.bind(newRegistry);
+        assertThat(newRegistry.find(ACQUIRE_TIMER).timer(), is(nullValue()));
+    }
+}
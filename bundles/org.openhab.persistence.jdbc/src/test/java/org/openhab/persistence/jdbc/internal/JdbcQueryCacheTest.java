@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * Tests the {@link JdbcQueryCache}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcQueryCacheTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final List<HistoricItem> result = List
+            .of(new JdbcHistoricItem("Item", new DecimalType(1), T0.plusSeconds(10)));
+
+    @Test
+    void invalidateRemovesOnlyOverlappingEntriesOfTable() {
+        JdbcQueryCache cache = new JdbcQueryCache(10);
+        cache.put("old", "item0001", T0, T0.plusSeconds(3599), result, cache.getModificationCount("item0001"));
+        cache.put("recent", "item0001", T0.plusSeconds(3600), T0.plusSeconds(7199), result,
+                cache.getModificationCount("item0001"));
+        cache.put("other", "item0002", T0.plusSeconds(3600), T0.plusSeconds(7199), result,
+                cache.getModificationCount("item0002"));
+
+        cache.invalidate("item0001", T0.plusSeconds(4000), T0.plusSeconds(4000));
+
+        assertThat(cache.get("old"), is(notNullValue()));
+        assertThat(cache.get("recent"), is(nullValue()));
+        assertThat(cache.get("other"), is(notNullValue()));
+        assertThat(cache.getHits(), is(2L));
+        assertThat(cache.getMisses(), is(1L));
+    }
+
+    @Test
+    void resultIsNotCachedWhenModifiedDuringQuery() {
+        JdbcQueryCache cache = new JdbcQueryCache(10);
+        long modificationCount = cache.getModificationCount("item0001");
+        cache.invalidate("item0001", T0, T0);
+        cache.put("key", "item0001", T0, T0.plusSeconds(3599), result, modificationCount);
+
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    void resultIsCachedWhenOtherTableModifiedDuringQuery() {
+        JdbcQueryCache cache = new JdbcQueryCache(10);
+        long modificationCount = cache.getModificationCount("item0001");
+        cache.invalidate("item0002", T0, T0);
+        cache.put("key", "item0001", T0, T0.plusSeconds(3599), result, modificationCount);
+
+        assertThat(cache.get("key"), is(notNullValue()));
+    }
+
+    @Test
+    void resultIsNotCachedWhenClearedDuringQuery() {
+        JdbcQueryCache cache = new JdbcQueryCache(10);
+        long modificationCount = cache.getModificationCount("item0001");
+        cache.clear();
+        cache.put("key", "item0001", T0, T0.plusSeconds(3599), result, modificationCount);
+
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        JdbcQueryCache cache = new JdbcQueryCache(2);
+        cache.put("a", "item0001", T0, T0, result, cache.getModificationCount("item0001"));
+        cache.put("b", "item0001", T0, T0, result, cache.getModificationCount("item0001"));
+        cache.get("a");
+        cache.put("c", "item0001", T0, T0, result, cache.getModificationCount("item0001"));
+
+        assertThat(cache.getSize(), is(2));
+        assertThat(cache.get("a"), is(notNullValue()));
+        assertThat(cache.get("b"), is(nullValue()));
+    }
+}
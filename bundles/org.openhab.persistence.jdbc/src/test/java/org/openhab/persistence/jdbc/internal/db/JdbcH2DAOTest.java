@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+
+/**
+ * Tests the time buckets of the {@link JdbcH2DAO} with an in-memory database in a time zone other than UTC.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcH2DAOTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final String TABLE = "number_item_0001";
+    private static final long THREE_HOURS = 3 * 3600;
+
+    private final JdbcH2DAO dao = new JdbcH2DAO();
+    private @Nullable TimeZone defaultTimeZone;
+
+    @BeforeEach
+    void setup() {
+        defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(ZONE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    void bucketStartIsAlignedToLocalTime() {
+        // 07:30 UTC is 09:30 in Berlin, the 3 hour bucket starts at 09:00 local time, not at 11:00 (09:00 UTC)
+        ZonedDateTime time = ZonedDateTime.of(2026, 7, 1, 7, 30, 0, 0, ZoneId.of("UTC"));
+        assertEquals(LocalDateTime.of(2026, 7, 1, 9, 0), JdbcBaseDAO.bucketStart(time, THREE_HOURS, ZONE));
+    }
+
+    @Test
+    void rowsAreGroupedInLocalTimeBuckets() throws SQLException {
+        Map<LocalDateTime, Double> values = Map.of(LocalDateTime.of(2026, 7, 1, 8, 30), 1.0,
+                LocalDateTime.of(2026, 7, 1, 8, 59, 59), 3.0, LocalDateTime.of(2026, 7, 1, 9, 0), 10.0,
+                LocalDateTime.of(2026, 7, 1, 10, 30), 20.0);
+        ZonedDateTime begin = ZonedDateTime.of(2026, 7, 1, 8, 30, 0, 0, ZONE);
+        ZonedDateTime end = ZonedDateTime.of(2026, 7, 1, 10, 30, 0, 0, ZONE);
+        FilterCriteria filter = new FilterCriteria().setItemName("Item")
+                .setBeginDate(JdbcBaseDAO.bucketStart(begin, THREE_HOURS, ZONE).atZone(ZONE))
+                .setEndDate(JdbcBaseDAO.bucketStart(end, THREE_HOURS, ZONE).plusSeconds(THREE_HOURS - 1).atZone(ZONE))
+                .setOrdering(Ordering.ASCENDING);
+        String sql = dao.histItemBucketQueryProvider(filter, TABLE, THREE_HOURS, ZONE);
+        assertNotNull(sql);
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<Double> averages = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:buckets");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE + " (time TIMESTAMP NOT NULL, value DOUBLE, PRIMARY KEY(time))");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE + " VALUES (?, ?)")) {
+                for (Map.Entry<LocalDateTime, Double> value : values.entrySet()) {
+                    insert.setObject(1, value.getKey());
+                    insert.setDouble(2, value.getValue());
+                    insert.execute();
+                }
+            }
+            try (ResultSet result = statement.executeQuery(sql)) {
+                while (result.next()) {
+                    starts.add(result.getObject(1, LocalDateTime.class));
+                    averages.add(result.getDouble(2));
+                }
+            }
+        }
+
+        // buckets aligned to UTC would start at 08:00 and 11:00 local time and put all values into one bucket
+        assertEquals(List.of(LocalDateTime.of(2026, 7, 1, 8, 30), LocalDateTime.of(2026, 7, 1, 9, 0)), starts);
+        assertEquals(List.of(2.0, 15.0), averages);
+    }
+}
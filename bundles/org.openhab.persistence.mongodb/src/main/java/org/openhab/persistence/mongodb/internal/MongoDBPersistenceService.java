@@ -13,12 +13,12 @@
 package org.openhab.persistence.mongodb.internal;
 
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -48,10 +48,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
-import com.mongodb.client.MongoCursor;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -60,6 +60,7 @@ import com.mongodb.client.result.DeleteResult;
  * @author Thorsten Hoeger - Initial contribution
  * @author Stephan Brunner - Query fixes, Cleanup
  * @author René Ulbricht - Fixes type handling, driver update and cleanup
+ * @author Jan Vybíral - Batched writes and lazy queries
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class, QueryablePersistenceService.class,
@@ -67,6 +68,17 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 500;
+    private static final int DEFAULT_WRITE_QUEUE_SIZE = 50_000;
+    private static final long WRITE_MAX_BLOCK_MS = 5_000;
+    private static final long REMOVE_FLUSH_TIMEOUT_MS = 30_000;
+    private static final int QUERY_BATCH_SIZE = 1_000;
+
+    /** The fields needed to restore a {@link HistoricItem}, the item name is known from the query. */
+    private static final Document QUERY_PROJECTION = new Document(MongoDBFields.FIELD_ID, 0)
+            .append(MongoDBFields.FIELD_REALNAME, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1)
+            .append(MongoDBFields.FIELD_VALUE, 1).append(MongoDBFields.FIELD_UNIT, 1);
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
@@ -79,6 +91,10 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
+    private @Nullable MongoDBWriter writer;
+
+    /** The collections of the current connection, the indexes of which have been created. */
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -111,6 +127,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        long flushInterval = getConfigNumber(config, "writeFlushInterval", 0);
+        if (flushInterval > 0) {
+            MongoDBWriter localWriter = new MongoDBWriter(this::getWriterCollection,
+                    (int) getConfigNumber(config, "writeBatchSize", DEFAULT_WRITE_BATCH_SIZE), flushInterval,
+                    (int) getConfigNumber(config, "writeQueueSize", DEFAULT_WRITE_QUEUE_SIZE), WRITE_MAX_BLOCK_MS);
+            localWriter.start();
+            writer = localWriter;
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -121,9 +146,28 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBWriter localWriter = writer;
+        if (localWriter != null) {
+            writer = null;
+            localWriter.stop();
+        }
         disconnectFromDatabase();
     }
 
+    private long getConfigNumber(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.longValue();
+        } else if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Long.parseLong(string.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for mongodb:{}, using {}", value, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public String getId() {
         return "mongodb";
@@ -201,9 +245,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     /**
      * Connects to the Collection
      *
+     * The compound (item, timestamp) index used by all queries is created once per collection and connection.
+     *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> mongoCollection = collections.get(collectionName);
+        if (mongoCollection != null) {
+            return mongoCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -213,12 +263,13 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
 
             Document idx = new Document();
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -230,6 +281,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         MongoClient localCl = cl;
         if (localCl != null) {
             localCl.close();
@@ -271,30 +323,22 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             logger.warn("Item {} not found", realItemName);
             return Collections.emptyList();
         }
-        List<HistoricItem> items = new ArrayList<>();
 
         logger.debug("Query: {}", query);
 
+        // The documents are fetched lazily in batches while the result is iterated, so large results don't have to
+        // fit into memory
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        MongoCursor<Document> cursor = null;
-        try {
-            cursor = collection.find(query).sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
-                    .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator();
-
-            while (cursor.hasNext()) {
-                Document obj = cursor.next();
-
-                final State state = MongoDBTypeConversions.getStateFromDocument(item, obj);
-
-                items.add(new MongoDBItem(realItemName, state, obj.getDate(MongoDBFields.FIELD_TIMESTAMP).toInstant()));
-            }
-        } finally {
-            if (cursor != null) {
-                cursor.close();
-            }
-        }
+        FindIterable<Document> documents = collection.find(query).projection(QUERY_PROJECTION)
+                .sort(new Document(MongoDBFields.FIELD_TIMESTAMP, sortDir))
+                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
+                .batchSize(Math.min(filter.getPageSize(), QUERY_BATCH_SIZE));
+        return new MongoDBQueryResult(documents, obj -> toHistoricItem(realItemName, item, obj));
+    }
 
-        return items;
+    private HistoricItem toHistoricItem(String name, Item item, Document obj) {
+        final State state = MongoDBTypeConversions.getStateFromDocument(item, obj);
+        return new MongoDBItem(name, state, obj.getDate(MongoDBFields.FIELD_TIMESTAMP).toInstant());
     }
 
     private @Nullable Item getItem(String itemName) {
@@ -344,6 +388,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String name = (alias != null) ? alias : realItemName;
+        String collectionName = collectionPerItem ? name : this.collection;
+        Document obj = createDocument(item, date, state, name);
+
+        MongoDBWriter localWriter = writer;
+        if (localWriter != null) {
+            localWriter.enqueue(new MongoDBWriter.PendingDocument(collectionName, obj));
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -353,10 +408,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String name = (alias != null) ? alias : realItemName;
-        String collectionName = collectionPerItem ? name : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -365,24 +416,42 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        Object value = MongoDBTypeConversions.convertValue(state);
+        try {
+            collection.insertOne(obj);
+        } catch (org.bson.BsonMaximumSizeExceededException e) {
+            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
+            throw e;
+        }
+        logger.debug("MongoDB save {}={}", name, obj.get(MongoDBFields.FIELD_VALUE));
+    }
 
+    private Document createDocument(Item item, Date date, State state, String name) {
         Document obj = new Document();
         obj.put(MongoDBFields.FIELD_ID, new ObjectId());
         obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_REALNAME, item.getName());
         obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
+        obj.put(MongoDBFields.FIELD_VALUE, MongoDBTypeConversions.convertValue(state));
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
-        try {
-            collection.insertOne(obj);
-        } catch (org.bson.BsonMaximumSizeExceededException e) {
-            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
-            throw e;
+        return obj;
+    }
+
+    /**
+     * Provides the collections to the {@link MongoDBWriter}, reconnecting to the database if needed.
+     */
+    private @Nullable MongoCollection<Document> getWriterCollection(String collectionName) {
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Cannot persist states to collection '{}'!",
+                    collectionName);
+            return null;
         }
-        logger.debug("MongoDB save {}={}", name, value);
+        return connectToCollection(collectionName);
+    }
+
+    public @Nullable MongoDBWriter getWriter() {
+        return writer;
     }
 
     @Nullable
@@ -465,6 +534,12 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        // Write the queued states first, otherwise they would be inserted after the delete
+        MongoDBWriter localWriter = writer;
+        if (localWriter != null && !localWriter.flush(REMOVE_FLUSH_TIMEOUT_MS)) {
+            logger.warn("Queued states were not written within {}ms - they are not removed", REMOVE_FLUSH_TIMEOUT_MS);
+        }
+
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
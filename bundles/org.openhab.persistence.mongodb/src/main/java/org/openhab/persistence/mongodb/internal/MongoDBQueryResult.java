@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * The lazily read result of a query.
+ *
+ * <p>
+ * Every call of {@link #iterator()} runs the query and opens a cursor, which fetches the documents in batches while
+ * they are iterated, so a long history doesn't have to fit into memory. The cursor is closed as soon as the last
+ * document has been read. A cursor that isn't read to the end is closed by the server after it has been idle for a
+ * while.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+class MongoDBQueryResult implements Iterable<HistoricItem> {
+
+    private final FindIterable<Document> documents;
+    private final Function<Document, HistoricItem> mapper;
+
+    MongoDBQueryResult(FindIterable<Document> documents, Function<Document, HistoricItem> mapper) {
+        this.documents = documents;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new Iterator<>() {
+            private @Nullable MongoCursor<Document> cursor = documents.iterator();
+
+            @Override
+            public boolean hasNext() {
+                MongoCursor<Document> localCursor = cursor;
+                if (localCursor == null) {
+                    return false;
+                }
+                if (localCursor.hasNext()) {
+                    return true;
+                }
+                localCursor.close();
+                cursor = null;
+                return false;
+            }
+
+            @Override
+            public HistoricItem next() {
+                MongoCursor<Document> localCursor = cursor;
+                if (localCursor == null || !hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return mapper.apply(localCursor.next());
+            }
+        };
+    }
+}
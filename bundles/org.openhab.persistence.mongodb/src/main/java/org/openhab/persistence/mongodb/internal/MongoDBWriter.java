@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.BsonMaximumSizeExceededException;
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Asynchronous writer for item states.
+ *
+ * <p>
+ * {@link #enqueue} only adds the document to a bounded queue and returns immediately. A dedicated writer thread
+ * collects up to {@code batchSize} documents, or the documents received within {@code flushIntervalMs}, and stores
+ * them with one unordered {@code insertMany} per collection, so a single failing document doesn't prevent the others
+ * from being written.
+ *
+ * <p>
+ * When the queue is full, {@link #enqueue} blocks the calling thread for up to {@code maxBlockMs} before the document
+ * is dropped, so memory stays bounded even if the database is unreachable for a long time.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoDBWriter.class);
+
+    private static final long STOP_TIMEOUT_MS = 30_000;
+    private static final long POLL_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    /**
+     * A document waiting to be written.
+     *
+     * @param collectionName The name of the collection the document is stored in.
+     * @param document The document.
+     */
+    public record PendingDocument(String collectionName, Document document) {
+    }
+
+    /**
+     * Provides the collection documents are written to.
+     */
+    @FunctionalInterface
+    public interface CollectionProvider {
+        /**
+         * @return The collection, or {@code null} if the database is not available.
+         */
+        @Nullable
+        MongoCollection<Document> getCollection(String collectionName);
+    }
+
+    private final CollectionProvider collectionProvider;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long maxBlockMs;
+    private final BlockingQueue<PendingDocument> queue;
+    private final Thread thread;
+
+    private final LongAdder writtenDocuments = new LongAdder();
+    private final LongAdder failedDocuments = new LongAdder();
+    private final LongAdder droppedDocuments = new LongAdder();
+    private final LongAdder writtenBatches = new LongAdder();
+
+    private final AtomicLong queuedDocuments = new AtomicLong();
+    private final Object processedLock = new Object();
+    private long processedDocuments;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param collectionProvider Provides the collections documents are written to.
+     * @param batchSize Maximum number of documents written with one batch.
+     * @param flushIntervalMs Maximum time in milliseconds a document waits for more documents before the batch is
+     *            written.
+     * @param queueSize Maximum number of documents waiting to be written.
+     * @param maxBlockMs Maximum time in milliseconds {@link #enqueue} blocks when the queue is full.
+     */
+    public MongoDBWriter(CollectionProvider collectionProvider, int batchSize, long flushIntervalMs, int queueSize,
+            long maxBlockMs) {
+        this.collectionProvider = collectionProvider;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(0, flushIntervalMs);
+        this.maxBlockMs = Math.max(0, maxBlockMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.batchSize, queueSize));
+        this.thread = new NamedThreadFactory("mongodb-writer").newThread(this::run);
+    }
+
+    public void start() {
+        thread.start();
+        LOGGER.debug("MongoDB writer started: batchSize={}, flushInterval={}ms, queueSize={}", batchSize,
+                flushIntervalMs, getQueueCapacity());
+    }
+
+    /**
+     * Stops the writer after all queued documents have been written.
+     */
+    public void stop() {
+        running = false;
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            LOGGER.warn("MongoDB writer did not finish within {}ms - {} queued documents are lost", STOP_TIMEOUT_MS,
+                    queue.size());
+            thread.interrupt();
+        }
+        LOGGER.debug("MongoDB writer stopped: {} documents written in {} batches, {} failed, {} dropped",
+                writtenDocuments.sum(), writtenBatches.sum(), failedDocuments.sum(), droppedDocuments.sum());
+    }
+
+    /**
+     * Adds a document to the queue, blocking for up to {@code maxBlockMs} if the queue is full.
+     *
+     * @return {@code true} if the document was queued, {@code false} if it was dropped.
+     */
+    public boolean enqueue(PendingDocument document) {
+        if (!running) {
+            droppedDocuments.increment();
+            return false;
+        }
+        try {
+            if (queue.offer(document) || queue.offer(document, maxBlockMs, TimeUnit.MILLISECONDS)) {
+                queuedDocuments.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedDocuments.increment();
+        LOGGER.warn("MongoDB write queue is full ({} documents) - dropping state of item '{}'", getQueueCapacity(),
+                document.document().get(MongoDBFields.FIELD_ITEM));
+        return false;
+    }
+
+    /**
+     * Waits until all documents queued before this call have been processed, i.e. written or counted as failed.
+     *
+     * @param timeoutMs Maximum time in milliseconds to wait.
+     * @return {@code true} if all documents have been processed, {@code false} if the timeout elapsed or the writer
+     *         thread has terminated before.
+     */
+    public boolean flush(long timeoutMs) {
+        long target = queuedDocuments.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (processedLock) {
+            while (processedDocuments < target) {
+                long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (wait <= 0 || !thread.isAlive()) {
+                    return false;
+                }
+                try {
+                    processedLock.wait(Math.min(wait, 100));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        List<PendingDocument> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDocument first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    // wait in short steps, so that stop() doesn't have to wait for the flush interval
+                    PendingDocument next = queue.poll(Math.min(wait, POLL_STEP_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error in MongoDB writer: {}", e.getMessage(), e);
+                failedDocuments.add(batch.size());
+            } finally {
+                synchronized (processedLock) {
+                    processedDocuments += batch.size();
+                    processedLock.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingDocument> batch) {
+        Map<String, List<Document>> byCollection = new LinkedHashMap<>();
+        for (PendingDocument document : batch) {
+            byCollection.computeIfAbsent(document.collectionName(), k -> new ArrayList<>()).add(document.document());
+        }
+        for (Map.Entry<String, List<Document>> entry : byCollection.entrySet()) {
+            List<Document> documents = entry.getValue();
+            MongoCollection<Document> collection = collectionProvider.getCollection(entry.getKey());
+            if (collection == null) {
+                // Logging is done by the collection provider
+                failedDocuments.add(documents.size());
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                collection.insertMany(documents, UNORDERED);
+                writtenDocuments.add(documents.size());
+                LOGGER.debug("Stored {} documents in collection {} in {}ms", documents.size(), entry.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (MongoBulkWriteException e) {
+                int failed = e.getWriteErrors().size();
+                LOGGER.error("Failed to store {} of {} documents in collection {}: {}", failed, documents.size(),
+                        entry.getKey(), e.getMessage());
+                writtenDocuments.add(documents.size() - failed);
+                failedDocuments.add(failed);
+            } catch (BsonMaximumSizeExceededException e) {
+                // the whole batch is rejected before it is sent, write the documents one by one
+                insertEach(collection, documents);
+            } catch (MongoException e) {
+                LOGGER.error("Failed to store {} documents in collection {}: {}", documents.size(), entry.getKey(),
+                        e.getMessage(), e);
+                failedDocuments.add(documents.size());
+            }
+            writtenBatches.increment();
+        }
+    }
+
+    private void insertEach(MongoCollection<Document> collection, List<Document> documents) {
+        for (Document document : documents) {
+            try {
+                collection.insertOne(document);
+                writtenDocuments.increment();
+            } catch (BsonMaximumSizeExceededException e) {
+                LOGGER.error("Document size exceeds maximum size of 16MB. Item {} not persisted.",
+                        document.get(MongoDBFields.FIELD_ITEM));
+                failedDocuments.increment();
+            } catch (MongoException e) {
+                LOGGER.error("Failed to store document of item {}: {}", document.get(MongoDBFields.FIELD_ITEM),
+                        e.getMessage(), e);
+                failedDocuments.increment();
+            }
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getWrittenDocuments() {
+        return writtenDocuments.sum();
+    }
+
+    public long getFailedDocuments() {
+        return failedDocuments.sum();
+    }
+
+    public long getDroppedDocuments() {
+        return droppedDocuments.sum();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.sum();
+    }
+}
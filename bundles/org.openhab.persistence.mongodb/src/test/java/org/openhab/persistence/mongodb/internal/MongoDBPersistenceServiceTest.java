@@ -791,6 +791,64 @@ public class MongoDBPersistenceServiceTest {
         }
     }
 
+    /**
+     * Tests the batched writer and the lazy query of the MongoDBPersistenceService.
+     * All states stored before the service is deactivated are written. The query runs when its result is iterated, so
+     * it also returns a document inserted after query() has returned.
+     */
+    @Test
+    public void testBatchedStoreAndLazyQuery() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("writeFlushInterval", 60000);
+            setupResult.config.put("writeBatchSize", "10");
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            NumberItem item = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(item);
+            } catch (ItemNotFoundException e) {
+            }
+
+            // Execution
+            ZonedDateTime start = ZonedDateTime.now().minusHours(1);
+            for (int i = 0; i < 25; i++) {
+                service.store(item, start.plusMinutes(i), new DecimalType(i));
+            }
+            MongoDBWriter writer = service.getWriter();
+            assertNotNull(writer);
+            service.deactivate(1);
+
+            // Verification
+            MongoCollection<Document> collection = database.getCollection("testCollection");
+            assertEquals(25, collection.countDocuments());
+            assertEquals(25, writer.getWrittenDocuments());
+            assertEquals(3, writer.getWrittenBatches());
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem", null, null);
+            filter.setPageSize(100);
+            Iterable<HistoricItem> items = service.query(filter);
+            collection.insertOne(new Document(MongoDBFields.FIELD_ITEM, "TestItem")
+                    .append(MongoDBFields.FIELD_REALNAME, "TestItem")
+                    .append(MongoDBFields.FIELD_TIMESTAMP, Date.from(start.plusMinutes(25).toInstant()))
+                    .append(MongoDBFields.FIELD_VALUE, 25.0));
+            List<HistoricItem> result = new ArrayList<>();
+            items.forEach(result::add);
+            assertEquals(26, result.size());
+            for (int i = 0; i < 26; i++) {
+                assertEquals(new DecimalType(i), result.get(i).getState());
+            }
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
     /**
      * Tests the reading of NumberItems including units
      * Each item should be written to the database with the unit information
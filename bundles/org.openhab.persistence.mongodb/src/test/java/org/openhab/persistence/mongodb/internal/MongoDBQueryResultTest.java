@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Tests the {@link MongoDBQueryResult}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+@SuppressWarnings({ "null", "unchecked" })
+public class MongoDBQueryResultTest {
+
+    private final FindIterable<Document> documents = mock(FindIterable.class);
+    private final MongoCursor<Document> cursor = mock(MongoCursor.class);
+    private final MongoDBQueryResult result = new MongoDBQueryResult(documents,
+            obj -> new MongoDBItem("TestItem", new DecimalType(obj.getInteger(MongoDBFields.FIELD_VALUE)),
+                    Instant.EPOCH));
+
+    @BeforeEach
+    public void setUp() {
+        when(documents.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(new Document(MongoDBFields.FIELD_VALUE, 1),
+                new Document(MongoDBFields.FIELD_VALUE, 2));
+    }
+
+    @Test
+    public void testCursorIsOpenedWhenIterationStarts() {
+        verify(documents, never()).iterator();
+
+        Iterator<HistoricItem> items = result.iterator();
+        verify(documents).iterator();
+        verifyNoInteractions(cursor);
+
+        assertEquals(new DecimalType(1), items.next().getState());
+        verify(cursor, times(1)).next();
+    }
+
+    @Test
+    public void testCursorIsClosedWhenExhausted() {
+        Iterator<HistoricItem> items = result.iterator();
+        assertEquals(new DecimalType(1), items.next().getState());
+        assertEquals(new DecimalType(2), items.next().getState());
+        verify(cursor, never()).close();
+
+        assertFalse(items.hasNext());
+        verify(cursor).close();
+        assertFalse(items.hasNext());
+        assertThrows(NoSuchElementException.class, items::next);
+        verify(cursor, times(1)).close();
+        verify(cursor, times(3)).hasNext();
+    }
+}
@@ -13,8 +13,11 @@
 package org.openhab.persistence.rrd4j.internal;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -22,6 +25,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -71,6 +75,7 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceCronStrategy;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter.PendingSample;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -83,10 +88,13 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.Archive;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -138,9 +146,20 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static final int WRITER_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+    private static final String CONFIG_PRELOAD = "preload";
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_FILE = "file";
+    private static final int DEFAULT_SYNC_PERIOD = 300;
+
+    private static volatile RrdBackendFactory backendFactory = RrdBackendFactory.getDefaultFactory();
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
-    private boolean active = false;
+    private volatile boolean active = false;
 
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
@@ -150,11 +169,36 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    public static RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
+    private final RRD4jWriter writer;
+    // guards the submission of samples to the writer, so that no samples are submitted after it has been stopped
+    private final Object storeLock = new Object();
+    private boolean writerStopped = false;
+    private String backendConfig = "";
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        writer = new RRD4jWriter(new RRD4jWriter.Target() {
+            @Override
+            public @Nullable RrdDb open(String name) {
+                try {
+                    return getDB(name, true);
+                } catch (Exception e) {
+                    logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+                    return null;
+                }
+            }
+
+            @Override
+            public void write(RrdDb db, String name, PendingSample sample) {
+                writePointToDatabase(db, name, sample.value(), sample.timestamp());
+            }
+        }, WRITER_THREADS, DATABASE_POOL.getCapacity() / 2);
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -204,6 +248,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         defaultOther.addArchives("LAST,0.5,1,720:LAST,0.5,12,10080:LAST,0.5,180,35040:LAST,0.5,2880,21900");
         rrdDefs.put(DEFAULT_OTHER, defaultOther);
 
+        configureBackend(Objects.toString(config.get(CONFIG_BACKEND), BACKEND_NIO).trim().toLowerCase(),
+                parseInt(config.get(CONFIG_SYNC_PERIOD), DEFAULT_SYNC_PERIOD));
+        boolean preload = Boolean.parseBoolean(Objects.toString(config.get(CONFIG_PRELOAD), "false").trim());
+
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
             return;
@@ -213,8 +261,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || CONFIG_BACKEND.equals(key)
+                    || CONFIG_SYNC_PERIOD.equals(key) || CONFIG_PRELOAD.equals(key)) {
+                // ignore service.pid and name, service options have already been processed
                 continue;
             }
 
@@ -266,6 +315,77 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 rrdDefs.remove(rrdDef.name);
             }
         }
+
+        if (preload) {
+            scheduler.execute(this::preloadDatabases);
+        }
+    }
+
+    private int parseInt(@Nullable Object value, int defaultValue) {
+        if (value != null && !value.toString().isBlank()) {
+            try {
+                return Integer.parseInt(value.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration value '{}', using {}", value, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Select the backend used for accessing database files.
+     *
+     * @param backend {@link #BACKEND_NIO} for memory-mapped files or {@link #BACKEND_FILE} for plain file access
+     * @param syncPeriod period in seconds changes of memory-mapped files are written to disk
+     */
+    private void configureBackend(String backend, int syncPeriod) {
+        String backendConfig = backend + "," + syncPeriod;
+        if (backendConfig.equals(this.backendConfig)) {
+            return;
+        }
+        RrdBackendFactory factory;
+        if (BACKEND_FILE.equals(backend)) {
+            factory = new RrdRandomAccessFileBackendFactory();
+        } else {
+            if (!BACKEND_NIO.equals(backend)) {
+                logger.warn("Unknown backend '{}', using '{}'", backend, BACKEND_NIO);
+            }
+            factory = new RrdNioBackendFactory(Math.max(1, syncPeriod), scheduler);
+        }
+        // files kept open have to be reopened with the new backend
+        writer.releaseAll();
+        backendFactory = factory;
+        this.backendConfig = backendConfig;
+        logger.debug("Using rrd4j backend '{}' (sync period {} s)", backend, syncPeriod);
+    }
+
+    /**
+     * Open the databases of all explicitly configured items and read their files once, so that following writes and
+     * queries are served from memory.
+     */
+    private void preloadDatabases() {
+        ByteBuffer buffer = ByteBuffer.allocate(65536);
+        int count = 0;
+        for (RrdDefConfig rrdDef : rrdDefs.values()) {
+            for (String name : rrdDef.itemNames) {
+                Path path = getDatabasePath(name);
+                if (!active || !Files.exists(path)) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    while (channel.read(buffer) > 0) {
+                        buffer.clear();
+                    }
+                    buffer.clear();
+                } catch (IOException e) {
+                    logger.debug("Failed to read rrd4j database '{}': {}", path, e.getMessage());
+                    continue;
+                }
+                writer.preload(name);
+                count++;
+            }
+        }
+        logger.debug("Preloaded {} rrd4j databases", count);
     }
 
     @Deactivate
@@ -273,8 +393,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         active = false;
         storeJob.cancel(false);
 
-        // make sure we really store everything
-        doStore(true);
+        // make sure we really store everything, closing the files flushes memory-mapped changes to disk
+        synchronized (storeLock) {
+            // a running store job has finished when the lock is acquired
+            doStore(true);
+            writerStopped = true;
+        }
+        writer.stop();
     }
 
     @Override
@@ -341,31 +466,31 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private void doStore(boolean force) {
-        long now = System.currentTimeMillis() / 1000;
-        while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
-            if (now > key.timestamp || force) {
-                // no new elements can be added for this timestamp because we are already past that time or the service
-                // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
-            } else {
+        synchronized (storeLock) {
+            if (writerStopped) {
                 return;
             }
+            long now = System.currentTimeMillis() / 1000;
+            // group samples per file, samples of a file are polled in ascending order of their timestamps
+            Map<String, List<PendingSample>> samples = new LinkedHashMap<>();
+            while (!storageMap.isEmpty()) {
+                Key key = storageMap.firstKey();
+                if (now > key.timestamp || force) {
+                    // no new elements can be added for this timestamp because we are already past that time or the
+                    // service requires forced storing
+                    Double value = storageMap.pollFirstEntry().getValue();
+                    samples.computeIfAbsent(key.name, k -> new ArrayList<>())
+                            .add(new PendingSample(key.timestamp, value));
+                } else {
+                    break;
+                }
+            }
+            samples.forEach(writer::submit);
+            writer.tick();
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
-        try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
-            return;
-        }
-
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -400,11 +525,29 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
+    }
+
+    /**
+     * Get the writer, e.g. for retrieving statistics.
+     */
+    public RRD4jWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Get the number of samples waiting to be written.
+     */
+    public long getPendingSamples() {
+        return storageMap.size() + writer.getQueuedSamples();
+    }
+
+    /**
+     * Release the database if it is kept open by the writer, e.g. before deleting its file.
+     *
+     * @param name name of the database
+     */
+    public void releaseDB(String name) {
+        writer.release(name);
     }
 
     @Override
@@ -700,6 +843,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jWriter} writes samples to the RRD files, grouped per file.
+ *
+ * Files are distributed over a fixed number of stripes by name. Each stripe is processed by a single thread, so
+ * different files are written in parallel while the samples of one file are always written in the order they were
+ * submitted.
+ *
+ * The most recently written files are kept open by holding a reference in the {@link org.rrd4j.core.RrdDbPool}, so
+ * that frequent updates don't open and close the file every time. The least recently written file is released when
+ * the limit of open files is reached.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jWriter {
+
+    /**
+     * A sample waiting to be written.
+     */
+    public record PendingSample(long timestamp, double value) {
+    }
+
+    /**
+     * Storage backend used by the {@link RRD4jWriter}.
+     */
+    public interface Target {
+        /**
+         * Open (or create) the database, the returned instance has to be closed after use.
+         */
+        @Nullable
+        RrdDb open(String name);
+
+        /**
+         * Write a single sample to the database.
+         */
+        void write(RrdDb db, String name, PendingSample sample);
+    }
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jWriter.class);
+
+    private final Target target;
+    private final int maxOpenFiles;
+    private final ExecutorService[] stripes;
+    private final Map<String, RrdDb> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong queuedSamples = new AtomicLong();
+    private final LongAdder writtenSamples = new LongAdder();
+    private final LongAdder writtenFiles = new LongAdder();
+    private final long[] writtenFilesHistory = new long[RATE_WINDOW_SECONDS + 1];
+    private int historyIndex;
+    private int historySize;
+
+    public RRD4jWriter(Target target, int threads, int maxOpenFiles) {
+        this.target = target;
+        this.maxOpenFiles = Math.max(0, maxOpenFiles);
+        this.stripes = new ExecutorService[Math.max(1, threads)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(new NamedThreadFactory("RRD4j-writer-" + i));
+        }
+    }
+
+    /**
+     * Submit samples of a single file for writing.
+     *
+     * @param name name of the database
+     * @param samples samples in ascending order of their timestamps
+     */
+    public void submit(String name, List<PendingSample> samples) {
+        queuedSamples.addAndGet(samples.size());
+        try {
+            stripes[Math.floorMod(name.hashCode(), stripes.length)].execute(() -> writeFile(name, samples));
+        } catch (RejectedExecutionException e) {
+            queuedSamples.addAndGet(-samples.size());
+            logger.debug("Discarding {} samples for '{}' since the writer is stopped", samples.size(), name);
+        }
+    }
+
+    /**
+     * Stop the writer after writing all submitted samples and close all open files.
+     */
+    public void stop() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            try {
+                if (!stripe.awaitTermination(30, TimeUnit.SECONDS)) {
+                    logger.warn("Timeout while waiting for rrd4j samples to be written");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        releaseAll();
+    }
+
+    /**
+     * Open a database and keep it open for following writes and queries.
+     *
+     * @param name name of the database
+     */
+    public void preload(String name) {
+        RrdDb db = target.open(name);
+        if (db != null && !keepOpen(name, db)) {
+            close(db);
+        }
+    }
+
+    /**
+     * Release all databases kept open, which flushes their pending changes to disk.
+     */
+    public void releaseAll() {
+        List<RrdDb> toClose;
+        synchronized (openFiles) {
+            toClose = new ArrayList<>(openFiles.values());
+            openFiles.clear();
+        }
+        toClose.forEach(this::close);
+    }
+
+    /**
+     * Release the database, e.g. before deleting its file.
+     *
+     * @param name name of the database
+     */
+    public void release(String name) {
+        RrdDb db;
+        synchronized (openFiles) {
+            db = openFiles.remove(name);
+        }
+        if (db != null) {
+            close(db);
+        }
+    }
+
+    /**
+     * Remember the number of written files for calculating the write rate, has to be called every second.
+     */
+    public synchronized void tick() {
+        historyIndex = (historyIndex + 1) % writtenFilesHistory.length;
+        writtenFilesHistory[historyIndex] = writtenFiles.sum();
+        historySize = Math.min(historySize + 1, writtenFilesHistory.length);
+    }
+
+    private void writeFile(String name, List<PendingSample> samples) {
+        try {
+            RrdDb db = target.open(name);
+            if (db == null) {
+                return;
+            }
+            try {
+                for (PendingSample sample : samples) {
+                    target.write(db, name, sample);
+                }
+                writtenSamples.add(samples.size());
+                writtenFiles.increment();
+            } finally {
+                if (!keepOpen(name, db)) {
+                    close(db);
+                }
+            }
+        } finally {
+            queuedSamples.addAndGet(-samples.size());
+        }
+    }
+
+    /**
+     * Keep the database open for following writes.
+     *
+     * @return true if the database is kept open, false if the caller has to close it
+     */
+    private boolean keepOpen(String name, RrdDb db) {
+        RrdDb evicted = null;
+        synchronized (openFiles) {
+            if (maxOpenFiles == 0 || openFiles.get(name) != null) {
+                return false;
+            }
+            openFiles.put(name, db);
+            if (openFiles.size() > maxOpenFiles) {
+                Map.Entry<String, RrdDb> eldest = openFiles.entrySet().iterator().next();
+                openFiles.remove(eldest.getKey());
+                evicted = eldest.getValue();
+            }
+        }
+        if (evicted != null) {
+            close(evicted);
+        }
+        return true;
+    }
+
+    private void close(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+
+    public int getThreads() {
+        return stripes.length;
+    }
+
+    public int getMaxOpenFiles() {
+        return maxOpenFiles;
+    }
+
+    public int getOpenFiles() {
+        synchronized (openFiles) {
+            return openFiles.size();
+        }
+    }
+
+    public long getQueuedSamples() {
+        return queuedSamples.get();
+    }
+
+    public long getWrittenSamples() {
+        return writtenSamples.sum();
+    }
+
+    public long getWrittenFiles() {
+        return writtenFiles.sum();
+    }
+
+    /**
+     * @return average number of files written per second during the last minute
+     */
+    public synchronized double getFilesWrittenPerSecond() {
+        if (historySize < 2) {
+            return 0;
+        }
+        int oldestIndex = Math.floorMod(historyIndex - historySize + 1, writtenFilesHistory.length);
+        return (double) (writtenFilesHistory[historyIndex] - writtenFilesHistory[oldestIndex]) / (historySize - 1);
+    }
+}
@@ -17,12 +17,24 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -33,6 +45,7 @@ import javax.servlet.ServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
@@ -50,6 +63,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.rrd4j.ConsolFun;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.graph.RrdGraph;
@@ -105,6 +119,34 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             entry("Y", Duration.ofDays(365))//
     );
 
+    /** limit of the cache size, in bytes of the cached images (4 bytes per pixel) and the encoded images */
+    private static final long MAX_CACHED_BYTES = 16_000_000;
+    /** time a request waits for a chart to be rendered */
+    private static final Duration RENDER_TIMEOUT = Duration.ofSeconds(30);
+    /** time to finish the renderings in progress on shutdown */
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    // the theme is not part of the key, the charts are always rendered with the default theme of RRD4j
+    private record ChartKey(@Nullable String items, @Nullable String groups, long period, int width, int height,
+            @Nullable Integer dpi) {
+    }
+
+    private record RenderedChart(BufferedImage image, byte[] png, long step, long endStep) {
+        long bytes() {
+            return 4L * image.getWidth() * image.getHeight() + png.length;
+        }
+    }
+
+    private final Map<ChartKey, RenderedChart> chartCache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private final Map<ChartKey, CompletableFuture<RenderedChart>> renderings = new ConcurrentHashMap<>();
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())),
+            new NamedThreadFactory("RRD4j-chart"));
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder mergedRequests = new LongAdder();
+
     private final HttpService httpService;
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
@@ -133,6 +175,23 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        renderExecutor.shutdown();
+        try {
+            if (!renderExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                renderExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            renderExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // renderings which have not been started will never complete
+        IllegalStateException shutDown = new IllegalStateException("Chart rendering is shut down");
+        renderings.values().forEach(future -> future.completeExceptionally(shutDown));
+        renderings.clear();
+        synchronized (chartCache) {
+            chartCache.clear();
+            cachedBytes = 0;
+        }
     }
 
     @Override
@@ -149,11 +208,16 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         ZonedDateTime timeBegin = timeEnd.minus(period);
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
-                    req.getParameter("groups"), null, null, null);
+            RenderedChart chart = getChart(timeBegin, timeEnd, height, width, req.getParameter("items"),
+                    req.getParameter("groups"), null);
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            byte[] png = chart.png();
+            if (png.length > 0) {
+                res.getOutputStream().write(png);
+            } else {
+                ImageIO.write(chart.image(), getChartType().toString(), res.getOutputStream());
+            }
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
@@ -183,38 +247,50 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * @param graphDef the graph definition to fill
      * @param item the item to add a line for
      * @param counter defines the number of the datasource and is used to determine the line color
+     * @param resolution resolution of the chart in seconds per pixel
+     * @return step in seconds of the archive the line is drawn from, i.e. the interval in which the line changes
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, @Nullable String alias, int counter) {
+    protected long addLine(RrdGraphDef graphDef, Item item, @Nullable String alias, int counter, long start, long end,
+            long resolution) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
         String label = itemUIRegistry.getLabel(item.getName());
         String rrdName = RRD4jPersistenceService.getDatabasePath(alias != null ? alias : item.getName()).toString();
+        // the charts must read the databases with the configured backend, like the persistence service
+        RrdBackendFactory backendFactory = RRD4jPersistenceService.getBackendFactory();
         ConsolFun consolFun;
+        long step = 1;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(RRD4jPersistenceService.getDatabasePool());
+            builder.setBackendFactory(backendFactory);
             builder.setPath(rrdName);
 
             RrdDb db = builder.build();
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
+            try {
+                consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
+                step = db.findMatchingArchive(db.createFetchRequest(consolFun, start, end, resolution)).getArcStep();
+            } finally {
+                db.close();
+            }
         } catch (IOException e) {
             consolFun = ConsolFun.MAX;
         }
         if (item instanceof NumberItem) {
             // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun, backendFactory);
             graphDef.line(Integer.toString(counter), color, label, 2);
         } else {
             // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
+            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun, backendFactory);
             Color areaColor = AREACOLORS[counter % LINECOLORS.length];
 
             graphDef.area(Integer.toString(counter), areaColor);
             graphDef.line(Integer.toString(counter), color, label, 2);
         }
+        return step;
     }
 
     @Override
@@ -248,7 +324,97 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend)
             throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
+        // the cached image must not be changed by the caller
+        return copyOf(getChart(startTime, endTime, height, width, items, groups, dpi).image());
+    }
+
+    private static BufferedImage copyOf(BufferedImage image) {
+        ColorModel colorModel = image.getColorModel();
+        return new BufferedImage(colorModel, image.copyData(null), colorModel.isAlphaPremultiplied(), null);
+    }
+
+    /**
+     * Get a chart from the cache or render it.
+     *
+     * A cached chart is reused as long as the end time is within the same step of the archives the chart is drawn
+     * from, since the chart would not change before a new value is consolidated. Concurrent requests for the same
+     * chart wait for a single rendering.
+     */
+    private RenderedChart getChart(ZonedDateTime startTime, ZonedDateTime endTime, int height, int width,
+            @Nullable String items, @Nullable String groups, @Nullable Integer dpi) throws ItemNotFoundException {
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        ChartKey key = new ChartKey(items, groups, end - start, width, height, dpi);
+        RenderedChart cached;
+        synchronized (chartCache) {
+            cached = chartCache.get(key);
+        }
+        if (cached != null && Math.floorDiv(end, cached.step()) == cached.endStep()) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        CompletableFuture<RenderedChart> future = new CompletableFuture<>();
+        CompletableFuture<RenderedChart> pending = renderings.putIfAbsent(key, future);
+        if (pending == null) {
+            pending = future;
+            try {
+                renderExecutor.execute(() -> {
+                    try {
+                        RenderedChart chart = renderChart(start, end, height, width, items, groups);
+                        cacheChart(key, chart);
+                        future.complete(chart);
+                    } catch (ItemNotFoundException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        renderings.remove(key, future);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                renderings.remove(key, future);
+                throw new IllegalStateException("Chart rendering is shut down", e);
+            }
+        } else {
+            mergedRequests.increment();
+        }
+
+        try {
+            return pending.get(RENDER_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out while rendering chart", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering chart", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ItemNotFoundException itemNotFoundException) {
+                throw itemNotFoundException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error rendering chart", cause);
+        }
+    }
+
+    private void cacheChart(ChartKey key, RenderedChart chart) {
+        synchronized (chartCache) {
+            RenderedChart old = chartCache.put(key, chart);
+            cachedBytes += chart.bytes() - (old != null ? old.bytes() : 0);
+            Iterator<RenderedChart> iterator = chartCache.values().iterator();
+            while (cachedBytes > MAX_CACHED_BYTES && iterator.hasNext()) {
+                cachedBytes -= iterator.next().bytes();
+                iterator.remove();
+            }
+        }
+    }
+
+    private RenderedChart renderChart(long start, long end, int height, int width, @Nullable String items,
+            @Nullable String groups) throws ItemNotFoundException {
+        RrdGraphDef graphDef = new RrdGraphDef(start, end);
+        // read the data through the pool, so that databases which are already open don't have to be opened again
+        graphDef.setPoolUsed(true);
+        graphDef.setPool(RRD4jPersistenceService.getDatabasePool());
         graphDef.setWidth(width);
         graphDef.setHeight(height);
         graphDef.setAntiAliasing(true);
@@ -261,6 +427,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 .get(RRD4jPersistenceService.SERVICE_ID);
 
         int seriesCounter = 0;
+        long resolution = Math.max(1, (end - start) / Math.max(1, width));
+        long step = 1;
 
         // Loop through all the items
         if (items != null) {
@@ -268,7 +436,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String itemName : itemNames) {
                 String alias = config != null ? config.getAliases().get(itemName) : null;
                 Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, alias, seriesCounter++);
+                step = Math.max(step, addLine(graphDef, item, alias, seriesCounter++, start, end, resolution));
             }
         }
 
@@ -280,7 +448,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 if (item instanceof GroupItem groupItem) {
                     for (Item member : groupItem.getMembers()) {
                         String alias = config != null ? config.getAliases().get(member.getName()) : null;
-                        addLine(graphDef, member, alias, seriesCounter++);
+                        step = Math.max(step,
+                                addLine(graphDef, member, alias, seriesCounter++, start, end, resolution));
                     }
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
@@ -294,12 +463,31 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
                     graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
             graph.render(bi.getGraphics());
-            return bi;
+            byte[] png = graph.getRrdGraphInfo().getBytes();
+            return new RenderedChart(bi, png != null ? png : new byte[0], step, Math.floorDiv(end, step));
         } catch (IOException e) {
             throw new UncheckedIOException("Error generating RrdGraph", e);
         }
     }
 
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getMergedRequests() {
+        return mergedRequests.sum();
+    }
+
+    public int getCacheSize() {
+        synchronized (chartCache) {
+            return chartCache.size();
+        }
+    }
+
     @Override
     public ImageType getChartType() {
         return ImageType.png;
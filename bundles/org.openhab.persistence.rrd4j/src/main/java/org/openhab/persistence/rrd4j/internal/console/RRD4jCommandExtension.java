@@ -35,10 +35,15 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.registry.PersistenceServiceConfiguration;
 import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
+import org.openhab.core.ui.chart.ChartProvider;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link RRD4jCommandExtension} is responsible for handling console commands
@@ -52,13 +57,18 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
     private final ItemRegistry itemRegistry;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC, //
+            target = "(component.name=org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet)")
+    private volatile @Nullable ChartProvider chartProvider;
+
     @Activate
     public RRD4jCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry,
             final @Reference ItemRegistry itemRegistry,
@@ -89,6 +99,21 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            RRD4jWriter writer = persistenceService.getWriter();
+            console.println("Writer threads:       " + writer.getThreads());
+            console.println("Open files:           " + writer.getOpenFiles() + "/" + writer.getMaxOpenFiles());
+            console.println("Pending samples:      " + persistenceService.getPendingSamples());
+            console.println("Samples written:      " + writer.getWrittenSamples());
+            console.println("Files written:        " + writer.getWrittenFiles());
+            console.println(String.format("Files written/second: %.1f", writer.getFilesWrittenPerSecond()));
+            if (chartProvider instanceof RRD4jChartServlet chartServlet) {
+                console.println("Cached charts:        " + chartServlet.getCacheSize());
+                console.println("Chart cache hits:     " + chartServlet.getCacheHits());
+                console.println("Chart cache misses:   " + chartServlet.getCacheMisses());
+                console.println("Merged chart renders: " + chartServlet.getMergedRequests());
+            }
+            return;
         }
         printUsage(console);
     }
@@ -140,7 +165,10 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
                 if (checkOnly) {
                     console.println("  - " + filename + ": no item found");
                     nb++;
-                } else if (path.toFile().delete()) {
+                    continue;
+                }
+                persistenceService.releaseDB(name);
+                if (path.toFile().delete()) {
                     console.println("  - " + filename + ": file deleted");
                     nb++;
                 } else {
@@ -155,7 +183,8 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS, "show statistics of the writer"));
     }
 
     @Override
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.rrd4j.internal.RRD4jWriter.PendingSample;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests for {@link RRD4jWriter}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+class RRD4jWriterTest {
+
+    private final Map<String, List<PendingSample>> written = new ConcurrentHashMap<>();
+    private final Map<String, Integer> opened = new ConcurrentHashMap<>();
+    private final CountDownLatch writeAllowed = new CountDownLatch(1);
+
+    private final RRD4jWriter.Target target = new RRD4jWriter.Target() {
+        @Override
+        public @Nullable RrdDb open(String name) {
+            opened.merge(name, 1, Integer::sum);
+            return mock(RrdDb.class);
+        }
+
+        @Override
+        public void write(RrdDb db, String name, PendingSample sample) {
+            try {
+                writeAllowed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.computeIfAbsent(name, k -> Collections.synchronizedList(new ArrayList<>())).add(sample);
+        }
+    };
+
+    private final RRD4jWriter writer = new RRD4jWriter(target, 2, 0);
+
+    @AfterEach
+    void tearDown() {
+        writeAllowed.countDown();
+        writer.stop();
+    }
+
+    @Test
+    void samplesOfAFileAreWrittenInOneBatchInOrder() {
+        List<PendingSample> samples = List.of(new PendingSample(1, 1.0), new PendingSample(2, 2.0),
+                new PendingSample(3, 3.0));
+        writer.submit("item", samples);
+        writer.submit("other", List.of(new PendingSample(1, 4.0)));
+        writeAllowed.countDown();
+        writer.stop();
+
+        assertEquals(samples, written.get("item"));
+        assertEquals(List.of(new PendingSample(1, 4.0)), written.get("other"));
+        assertEquals(1, opened.get("item"));
+        assertEquals(2, writer.getWrittenFiles());
+        assertEquals(4, writer.getWrittenSamples());
+    }
+
+    @Test
+    void stopWritesAllSubmittedSamples() {
+        for (int i = 0; i < 10; i++) {
+            writer.submit("item" + i, List.of(new PendingSample(i, i)));
+        }
+        assertEquals(10, writer.getQueuedSamples());
+
+        writeAllowed.countDown();
+        writer.stop();
+
+        assertEquals(10, written.size());
+        assertEquals(0, writer.getQueuedSamples());
+    }
+
+    @Test
+    void samplesSubmittedAfterStopAreRejected() {
+        writeAllowed.countDown();
+        writer.stop();
+
+        writer.submit("item", List.of(new PendingSample(1, 1.0)));
+
+        assertEquals(0, writer.getQueuedSamples());
+        assertEquals(0, writer.getWrittenSamples());
+        assertEquals(Map.of(), written);
+    }
+}
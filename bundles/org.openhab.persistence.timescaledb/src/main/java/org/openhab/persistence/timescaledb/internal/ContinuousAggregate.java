@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A TimescaleDB continuous aggregate of the {@code items} hypertable with a fixed bucket size.
+ *
+ * <p>
+ * The bucket size is one of the allowlisted intervals of {@link DownsampleConfig#INTERVAL_MAP}, so the view name
+ * and the SQL interval are safe to format into DDL and queries.
+ *
+ * @param interval The metadata interval string, e.g. {@code "1h"}.
+ * @param sqlInterval The SQL interval literal, e.g. {@code "1 hour"}.
+ * @param bucket The bucket size.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public record ContinuousAggregate(String interval, String sqlInterval, Duration bucket) {
+
+    /** Prefix of the view names, followed by the interval, e.g. {@code items_agg_1h}. */
+    public static final String VIEW_PREFIX = "items_agg_";
+
+    /**
+     * Creates the aggregate for an allowlisted interval.
+     *
+     * @param interval The metadata interval string, e.g. {@code "1h"}.
+     * @throws IllegalArgumentException if the interval is not in the allowlist.
+     */
+    public static ContinuousAggregate of(String interval) {
+        String sqlInterval = DownsampleConfig.toSqlInterval(interval);
+        long amount = Long.parseLong(interval.substring(0, interval.length() - 1));
+        Duration bucket = switch (interval.charAt(interval.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+        return new ContinuousAggregate(interval, sqlInterval, bucket);
+    }
+
+    /**
+     * Parses a comma-separated list of intervals, e.g. {@code "1h,1d"}.
+     *
+     * @return The aggregates ordered by ascending bucket size.
+     * @throws IllegalArgumentException if an interval is not in the allowlist.
+     */
+    public static List<ContinuousAggregate> parseList(String intervals) {
+        List<ContinuousAggregate> aggregates = new ArrayList<>();
+        for (String interval : intervals.split(",")) {
+            String trimmed = interval.trim();
+            if (!trimmed.isEmpty() && aggregates.stream().noneMatch(a -> a.interval().equals(trimmed))) {
+                aggregates.add(of(trimmed));
+            }
+        }
+        aggregates.sort(Comparator.comparing(ContinuousAggregate::bucket));
+        return List.copyOf(aggregates);
+    }
+
+    /**
+     * Selects the coarsest aggregate that still returns at least {@code minPoints} buckets for the range.
+     *
+     * @param aggregates The aggregates ordered by ascending bucket size.
+     * @param range The queried time range.
+     * @param minPoints The minimum number of points the query has to return.
+     * @return The aggregate, or {@code null} if the raw data has to be queried.
+     */
+    public static @Nullable ContinuousAggregate select(List<ContinuousAggregate> aggregates, Duration range,
+            int minPoints) {
+        ContinuousAggregate selected = null;
+        for (ContinuousAggregate aggregate : aggregates) {
+            if (aggregate.bucket().multipliedBy(Math.max(1, minPoints)).compareTo(range) <= 0) {
+                selected = aggregate;
+            }
+        }
+        return selected;
+    }
+
+    public String viewName() {
+        return VIEW_PREFIX + interval;
+    }
+}
@@ -12,7 +12,12 @@
  */
 package org.openhab.persistence.timescaledb.internal;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,6 +35,8 @@ import org.osgi.service.component.annotations.Reference;
  *
  * <pre>
  * openhab:timescaledb downsample   - run the downsampling job immediately
+ * openhab:timescaledb stats        - show statistics of the asynchronous writer
+ * openhab:timescaledb aggregates   - show the freshness of the continuous aggregates
  * </pre>
  *
  * @author René Ulbricht - Initial contribution
@@ -40,7 +47,10 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
         implements ConsoleCommandCompleter {
 
     private static final String CMD_DOWNSAMPLE = "downsample";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_DOWNSAMPLE), false);
+    private static final String CMD_STATS = "stats";
+    private static final String CMD_AGGREGATES = "aggregates";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_DOWNSAMPLE, CMD_STATS, CMD_AGGREGATES), false);
 
     private final TimescaleDBPersistenceService persistenceService;
 
@@ -52,7 +62,9 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
 
     @Override
     public List<String> getUsages() {
-        return List.of(buildCommandUsage(CMD_DOWNSAMPLE, "run the downsampling/retention job immediately"));
+        return List.of(buildCommandUsage(CMD_DOWNSAMPLE, "run the downsampling/retention job immediately"),
+                buildCommandUsage(CMD_STATS, "show statistics of the asynchronous writer"),
+                buildCommandUsage(CMD_AGGREGATES, "show the freshness of the continuous aggregates"));
     }
 
     @Override
@@ -75,8 +87,51 @@ public class TimescaleDBConsoleCommandExtension extends AbstractConsoleCommandEx
             } else {
                 console.println("TimescaleDB persistence service is not active — cannot run job.");
             }
+        } else if (args.length == 1 && CMD_STATS.equals(args[0])) {
+            TimescaleDBWriter writer = persistenceService.getWriter();
+            if (writer == null) {
+                console.println("Asynchronous writing is disabled (writeBatchSize=0) or the service is not active.");
+                return;
+            }
+            console.println("Queued rows:         " + writer.getQueueDepth() + "/" + writer.getQueueCapacity());
+            console.println("Written rows:        " + writer.getWrittenRows());
+            console.println("Written batches:     " + writer.getWrittenBatches());
+            console.println("Failed rows:         " + writer.getFailedRows());
+            console.println("Dropped rows:        " + writer.getDroppedRows());
+            console.println("Backpressure events: " + writer.getBackpressureEvents());
+        } else if (args.length == 1 && CMD_AGGREGATES.equals(args[0])) {
+            showAggregates(console);
         } else {
             printUsage(console);
         }
     }
+
+    private void showAggregates(Console console) {
+        List<TimescaleDBSchema.AggregateStatus> status;
+        try {
+            status = persistenceService.getAggregateStatus();
+        } catch (SQLException e) {
+            console.println("Failed to read continuous aggregates: " + e.getMessage());
+            return;
+        }
+        if (status == null) {
+            console.println("TimescaleDB persistence service is not active.");
+            return;
+        }
+        List<String> routed = persistenceService.getAggregates().stream().map(ContinuousAggregate::viewName).toList();
+        if (status.isEmpty()) {
+            console.println("No continuous aggregates found.");
+        }
+        for (TimescaleDBSchema.AggregateStatus aggregate : status) {
+            Instant lastRefresh = aggregate.lastRefresh();
+            String age = lastRefresh != null
+                    ? Duration.between(lastRefresh, Instant.now()).truncatedTo(ChronoUnit.SECONDS) + " ago"
+                    : "never";
+            console.println(String.format("%-16s last refresh: %s (%s), next refresh: %s, status: %s%s",
+                    aggregate.viewName(), lastRefresh != null ? lastRefresh : "-", age,
+                    Objects.requireNonNullElse(aggregate.nextRefresh(), "-"),
+                    Objects.requireNonNullElse(aggregate.lastRunStatus(), "-"),
+                    routed.contains(aggregate.viewName()) ? "" : " (not used for queries)"));
+        }
+    }
 }
@@ -14,6 +14,7 @@ package org.openhab.persistence.timescaledb.internal;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -29,11 +30,13 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.common.registry.RegistryChangeListener;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.Metadata;
 import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -65,6 +68,10 @@ import com.zaxxer.hikari.HikariDataSource;
  * Item names are cached in-memory ({@code name → item_id}) to avoid a SELECT on every
  * {@link #store} call. The cache is populated lazily on first store per item.
  *
+ * <p>
+ * If {@code writeBatchSize} is greater than {@code 0}, {@link #store} only queues the state and returns. The rows are
+ * written in batches by a {@link TimescaleDBWriter} on its own thread.
+ *
  * @author René Ulbricht - Initial contribution
  */
 @NonNullByDefault
@@ -83,6 +90,11 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
     private static final String SERVICE_ID = "timescaledb";
     private static final String SERVICE_LABEL = "TimescaleDB";
 
+    // how long store() blocks when the write queue is full before the state is dropped
+    private static final long WRITE_MAX_BLOCK_MS = 5000;
+    // maximum time remove() waits for queued states to be written
+    private static final long REMOVE_FLUSH_TIMEOUT_MS = 30_000;
+
     // item name → item_id, populated lazily
     private final Map<String, Integer> itemIdCache = new ConcurrentHashMap<>();
 
@@ -91,6 +103,9 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
     private final TimescaleDBMetadataService metadataService;
 
     private @Nullable HikariDataSource dataSource;
+    private @Nullable TimescaleDBWriter writer;
+    private List<ContinuousAggregate> aggregates = List.of();
+    private int aggregateMinPoints = 500;
     private @Nullable ScheduledFuture<?> downsampleJob;
     private @Nullable TimescaleDBDownsampleJob downsampleJobInstance;
 
@@ -128,6 +143,16 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         String chunkInterval = (String) config.getOrDefault("chunkInterval", "7 days");
         int retentionDays = parseIntConfig(config, "retentionDays", 0);
         int compressionAfterDays = parseIntConfig(config, "compressionAfterDays", 0);
+        int writeBatchSize = parseIntConfig(config, "writeBatchSize", 0);
+        int writeFlushInterval = parseIntConfig(config, "writeFlushInterval", 1000);
+        int writeQueueSize = parseIntConfig(config, "writeQueueSize", 50000);
+        aggregateMinPoints = parseIntConfig(config, "aggregateMinPoints", 500);
+        try {
+            aggregates = ContinuousAggregate.parseList((String) config.getOrDefault("aggregateIntervals", ""));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Ignoring invalid aggregateIntervals: {}", e.getMessage());
+            aggregates = List.of();
+        }
 
         LOGGER.debug(
                 "Activating TimescaleDB persistence: url={}, user={}, maxConnections={}, "
@@ -144,7 +169,7 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         dataSource = ds;
 
         try (Connection conn = ds.getConnection()) {
-            TimescaleDBSchema.initialize(conn, chunkInterval, compressionAfterDays, retentionDays);
+            TimescaleDBSchema.initialize(conn, chunkInterval, compressionAfterDays, retentionDays, aggregates);
         } catch (SQLException e) {
             LOGGER.error("Failed to initialize TimescaleDB schema: {}", e.getMessage(), e);
             ds.close();
@@ -158,6 +183,13 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
                     + "already-compressed (read-only) chunks and cause SQLExceptions.", compressionAfterDays);
         }
 
+        if (writeBatchSize > 0) {
+            TimescaleDBWriter w = new TimescaleDBWriter(ds, this::resolveItemId, writeBatchSize, writeFlushInterval,
+                    writeQueueSize, WRITE_MAX_BLOCK_MS);
+            w.start();
+            writer = w;
+        }
+
         // Schedule the daily downsampling job via the openHAB shared thread pool
         TimescaleDBDownsampleJob job = new TimescaleDBDownsampleJob(ds, metadataService);
         downsampleJobInstance = job;
@@ -185,11 +217,40 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         return true;
     }
 
+    /**
+     * Returns the asynchronous writer, or {@code null} if states are written synchronously.
+     */
+    public @Nullable TimescaleDBWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Returns the freshness of the continuous aggregates.
+     *
+     * @return The status per aggregate, or {@code null} if the service is not active.
+     * @throws SQLException on any database error.
+     */
+    public @Nullable List<TimescaleDBSchema.AggregateStatus> getAggregateStatus() throws SQLException {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            return null;
+        }
+        try (Connection conn = ds.getConnection()) {
+            return TimescaleDBSchema.getContinuousAggregateStatus(conn);
+        }
+    }
+
+    /**
+     * Returns the continuous aggregates queries are routed to.
+     */
+    public List<ContinuousAggregate> getAggregates() {
+        return aggregates;
+    }
+
     @Deactivate
     public void deactivate() {
         LOGGER.debug("Deactivating TimescaleDB persistence service");
         metadataRegistry.removeRegistryChangeListener(this);
-        itemIdCache.clear();
 
         ScheduledFuture<?> job = downsampleJob;
         if (job != null) {
@@ -198,11 +259,19 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         }
         downsampleJobInstance = null;
 
+        // Write all queued rows before the connection pool is closed
+        TimescaleDBWriter w = writer;
+        if (w != null) {
+            w.stop();
+            writer = null;
+        }
+
         HikariDataSource ds = dataSource;
         if (ds != null) {
             ds.close();
             dataSource = null;
         }
+        itemIdCache.clear();
         LOGGER.info("TimescaleDB persistence service deactivated");
     }
 
@@ -258,6 +327,13 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         }
 
         String name = alias != null ? alias : item.getName();
+
+        TimescaleDBWriter w = writer;
+        if (w != null) {
+            w.enqueue(new TimescaleDBWriter.PendingRow(item, name, date, row));
+            return;
+        }
+
         @Nullable
         String label = item.getLabel();
         @Nullable
@@ -332,7 +408,13 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             return Collections.emptyList();
         }
 
+        ContinuousAggregate aggregate = selectAggregate(item, filter);
         try (Connection conn = ds.getConnection()) {
+            if (aggregate != null) {
+                AggregationFunction function = metadataService.getDownsampleConfig(queryName)
+                        .map(DownsampleConfig::function).orElse(AggregationFunction.AVG);
+                return TimescaleDBQuery.queryAggregate(conn, item, itemId, filter, aggregate, function);
+            }
             return TimescaleDBQuery.query(conn, item, itemId, filter);
         } catch (SQLException e) {
             LOGGER.error("Query failed for item '{}': {}", queryName, e.getMessage(), e);
@@ -348,6 +430,13 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
             return false;
         }
 
+        // Write the queued states first, otherwise they would be inserted after the delete
+        TimescaleDBWriter w = writer;
+        if (w != null && !w.flush(REMOVE_FLUSH_TIMEOUT_MS)) {
+            LOGGER.warn("Queued states were not written within {}ms — they are not removed for item '{}'",
+                    REMOVE_FLUSH_TIMEOUT_MS, itemName);
+        }
+
         @Nullable
         Integer itemId = itemIdCache.get(itemName);
         if (itemId == null) {
@@ -419,6 +508,34 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
     // Internal helpers
     // -------------------------------------------------------------------------
 
+    /**
+     * Selects the continuous aggregate a query is routed to: the coarsest one that still returns at least
+     * {@code aggregateMinPoints} buckets for the queried range. Only numeric items and queries with a begin and
+     * end date and without state filter are routed.
+     */
+    private @Nullable ContinuousAggregate selectAggregate(Item item, FilterCriteria filter) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (aggregates.isEmpty() || beginDate == null || endDate == null || filter.getState() != null) {
+            return null;
+        }
+        Item baseItem = item instanceof GroupItem groupItem ? groupItem.getBaseItem() : item;
+        if (!(baseItem instanceof NumberItem)) {
+            return null;
+        }
+        return ContinuousAggregate.select(aggregates, Duration.between(beginDate, endDate),
+                aggregateMinPoints);
+    }
+
+    private int resolveItemId(Connection conn, TimescaleDBWriter.PendingRow row) throws SQLException {
+        Integer cached = itemIdCache.get(row.name());
+        if (cached != null) {
+            return cached;
+        }
+        return getOrCreateItemId(conn, row.name(), row.item().getLabel(),
+                metadataService.getMetadataValueString(row.name()), metadataService.getMetadataConfigJson(row.name()));
+    }
+
     private int getOrCreateItemId(Connection conn, String name, @Nullable String label, @Nullable String value,
             @Nullable String metadataJson) throws SQLException {
         Integer cached = itemIdCache.get(name);
@@ -444,6 +561,8 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
         cfg.setMaximumPoolSize(maxConnections);
         cfg.setConnectionTimeout(connectTimeoutMs);
         cfg.setPoolName("timescaledb-persistence");
+        // Let the driver send batches of inserts as multi-row INSERT statements
+        cfg.addDataSourceProperty("reWriteBatchedInserts", "true");
         return new HikariDataSource(cfg);
     }
 
@@ -471,6 +590,6 @@ public class TimescaleDBPersistenceService implements ModifiablePersistenceServi
     static long secondsUntilMidnight() {
         ZonedDateTime now = ZonedDateTime.now();
         ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
-        return java.time.Duration.between(now, midnight).getSeconds();
+        return Duration.between(now, midnight).getSeconds();
     }
 }
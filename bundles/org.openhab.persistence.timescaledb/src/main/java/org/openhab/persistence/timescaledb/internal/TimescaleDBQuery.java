@@ -21,6 +21,7 @@ import java.sql.Types;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -66,6 +67,10 @@ public class TimescaleDBQuery {
     // --- SELECT base ---
     private static final String SQL_SELECT_BASE = "SELECT time, value, string, unit FROM items WHERE item_id = ?";
 
+    // --- SELECT from continuous aggregate ---
+    // Placeholders: aggregate column, view name, SQL interval (all from enum/allowlist)
+    private static final String SQL_SELECT_AGGREGATE_BASE = "SELECT bucket, %s, unit FROM %s WHERE item_id = ? AND bucket >= time_bucket(INTERVAL '%s', ?::timestamptz) AND bucket <= ?";
+
     // --- DELETE ---
     private static final String SQL_DELETE_BASE = "DELETE FROM items WHERE item_id = ?";
 
@@ -85,22 +90,62 @@ public class TimescaleDBQuery {
     public static void insert(Connection connection, int itemId, ZonedDateTime timestamp, TimescaleDBMapper.Row row)
             throws SQLException {
         try (PreparedStatement ps = connection.prepareStatement(SQL_INSERT)) {
-            ps.setTimestamp(1, Timestamp.from(timestamp.toInstant()));
-            ps.setInt(2, itemId);
-            Double value = row.value();
-            if (value != null) {
-                ps.setDouble(3, value);
-            } else {
-                ps.setNull(3, Types.DOUBLE);
-            }
-            ps.setString(4, row.string());
-            ps.setString(5, row.unit());
+            setInsertParameters(ps, itemId, timestamp, row);
             ps.executeUpdate();
         }
         LOGGER.debug("Stored item_id={} at {} value={} string={} unit={}", itemId, timestamp, row.value(), row.string(),
                 row.unit());
     }
 
+    /**
+     * A row of a batch insert.
+     *
+     * @param itemId The item_id from {@code item_meta}.
+     * @param timestamp The measurement timestamp.
+     * @param row The mapped state row.
+     */
+    public record BatchRow(int itemId, ZonedDateTime timestamp, TimescaleDBMapper.Row row) {
+    }
+
+    /**
+     * Inserts multiple item state rows with a single JDBC batch.
+     *
+     * <p>
+     * The statement is prepared once for all rows. With {@code reWriteBatchedInserts} enabled on the data source,
+     * the PostgreSQL driver sends the batch as multi-row {@code INSERT} statements.
+     *
+     * @param connection The JDBC connection.
+     * @param rows The rows to insert.
+     * @throws SQLException on any database error.
+     */
+    public static void insertBatch(Connection connection, List<BatchRow> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(SQL_INSERT)) {
+            for (BatchRow batchRow : rows) {
+                setInsertParameters(ps, batchRow.itemId(), batchRow.timestamp(), batchRow.row());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        LOGGER.debug("Stored {} rows with one batch", rows.size());
+    }
+
+    private static void setInsertParameters(PreparedStatement ps, int itemId, ZonedDateTime timestamp,
+            TimescaleDBMapper.Row row) throws SQLException {
+        ps.setTimestamp(1, Timestamp.from(timestamp.toInstant()));
+        ps.setInt(2, itemId);
+        Double value = row.value();
+        if (value != null) {
+            ps.setDouble(3, value);
+        } else {
+            ps.setNull(3, Types.DOUBLE);
+        }
+        ps.setString(4, row.string());
+        ps.setString(5, row.unit());
+    }
+
     /**
      * Returns the item_id for the given name, inserting or updating the {@code item_meta} row as needed.
      *
@@ -222,6 +267,72 @@ public class TimescaleDBQuery {
         return results;
     }
 
+    /**
+     * Queries one aggregated value per bucket from a continuous aggregate.
+     *
+     * <p>
+     * Each bucket is returned with the timestamp of its start. The filter must have a begin and end date, a state
+     * filter is not supported.
+     *
+     * @param connection The JDBC connection.
+     * @param item The openHAB item (used for state reconstruction).
+     * @param itemId The item_id from {@code item_meta}.
+     * @param filter The filter criteria.
+     * @param aggregate The continuous aggregate to read.
+     * @param function The aggregation function whose value is returned per bucket.
+     * @return An ordered list of matching {@link HistoricItem}s.
+     * @throws SQLException on any database error.
+     */
+    public static List<HistoricItem> queryAggregate(Connection connection, Item item, int itemId,
+            FilterCriteria filter, ContinuousAggregate aggregate, AggregationFunction function) throws SQLException {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (beginDate == null || endDate == null) {
+            throw new IllegalArgumentException("Aggregate queries require a begin and end date");
+        }
+        StringBuilder sql = new StringBuilder(SQL_SELECT_AGGREGATE_BASE.formatted(
+                function.name().toLowerCase(Locale.ROOT) + "_value", aggregate.viewName(),
+                aggregate.sqlInterval()));
+        List<Object> params = new ArrayList<>();
+        params.add(itemId);
+        params.add(Timestamp.from(beginDate.toInstant()));
+        params.add(Timestamp.from(endDate.toInstant()));
+
+        String direction = filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC";
+        sql.append(" ORDER BY bucket ").append(direction);
+
+        if (filter.getPageSize() > 0) {
+            sql.append(" LIMIT ?");
+            params.add(filter.getPageSize());
+            if (filter.getPageNumber() > 0) {
+                sql.append(" OFFSET ?");
+                params.add((long) filter.getPageNumber() * filter.getPageSize());
+            }
+        }
+
+        LOGGER.debug("Aggregate query SQL: {} params={}", sql, params);
+
+        List<HistoricItem> results = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp time = rs.getTimestamp(1);
+                    Double value = (Double) rs.getObject(2);
+                    String unit = rs.getString(3);
+
+                    State state = TimescaleDBMapper.toState(item, value, null, unit);
+                    results.add(new TimescaleDBHistoricItem(item.getName(), state, time.toInstant()));
+                }
+            }
+        }
+        LOGGER.debug("Aggregate query on {} returned {} items for item_id={}", aggregate.viewName(), results.size(),
+                itemId);
+        return results;
+    }
+
     /**
      * Deletes rows matching the filter criteria.
      *
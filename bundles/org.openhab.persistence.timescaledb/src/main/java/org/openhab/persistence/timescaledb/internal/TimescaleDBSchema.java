@@ -17,8 +17,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +37,8 @@ import org.slf4j.LoggerFactory;
  * <li>{@code item_meta} — name-to-ID lookup table for items, stores user-defined value string and full config
  * JSONB</li>
  * <li>{@code items} — single hypertable for all item states</li>
+ * <li>{@code items_agg_<interval>} — optional continuous aggregates of numeric values per bucket, see
+ * {@link ContinuousAggregate}</li>
  * </ul>
  *
  * @author René Ulbricht - Initial contribution
@@ -122,6 +130,58 @@ public class TimescaleDBSchema {
 
     private static final String SQL_ADD_RETENTION_POLICY = "SELECT add_retention_policy('items', INTERVAL '%d days', if_not_exists => TRUE)";
 
+    /**
+     * Continuous aggregate per bucket and item. {@code materialized_only = false} makes queries combine the
+     * materialized buckets with the raw rows not yet materialized, so recent data is always included.
+     * Placeholders: view name, SQL interval (both validated against the allowlist).
+     */
+    private static final String SQL_CREATE_CONTINUOUS_AGGREGATE = """
+            CREATE MATERIALIZED VIEW IF NOT EXISTS %s
+            WITH (timescaledb.continuous, timescaledb.materialized_only = false) AS
+            SELECT
+                time_bucket(INTERVAL '%s', time) AS bucket,
+                item_id,
+                AVG(value) AS avg_value,
+                MIN(value) AS min_value,
+                MAX(value) AS max_value,
+                SUM(value) AS sum_value,
+                MAX(unit)  AS unit
+            FROM items
+            WHERE value IS NOT NULL
+            GROUP BY bucket, item_id
+            WITH NO DATA
+            """;
+
+    /**
+     * Refresh policy: refreshes all invalidated buckets (including those rewritten by the downsampling job) up to
+     * the last complete bucket. Placeholders: view name, end offset, schedule interval.
+     */
+    private static final String SQL_ADD_CONTINUOUS_AGGREGATE_POLICY = "SELECT add_continuous_aggregate_policy('%s', start_offset => NULL, end_offset => INTERVAL '%s', schedule_interval => INTERVAL '%s', if_not_exists => TRUE)";
+
+    private static final String SQL_SELECT_CONTINUOUS_AGGREGATE_STATUS = """
+            SELECT ca.view_name, js.last_successful_finish, js.next_start, js.last_run_status
+            FROM timescaledb_information.continuous_aggregates ca
+            LEFT JOIN timescaledb_information.jobs j
+                ON j.hypertable_schema = ca.materialization_hypertable_schema
+                AND j.hypertable_name = ca.materialization_hypertable_name
+                AND j.proc_name = 'policy_refresh_continuous_aggregate'
+            LEFT JOIN timescaledb_information.job_stats js ON js.job_id = j.job_id
+            WHERE ca.hypertable_name = 'items' AND ca.view_name LIKE 'items_agg_%'
+            ORDER BY ca.view_name
+            """;
+
+    /**
+     * Freshness of a continuous aggregate.
+     *
+     * @param viewName The view name.
+     * @param lastRefresh End of the last successful refresh, or {@code null} if never refreshed.
+     * @param nextRefresh Start of the next scheduled refresh, or {@code null} if no policy exists.
+     * @param lastRunStatus Status of the last refresh, or {@code null} if never run.
+     */
+    public record AggregateStatus(String viewName, @Nullable Instant lastRefresh, @Nullable Instant nextRefresh,
+            @Nullable String lastRunStatus) {
+    }
+
     private TimescaleDBSchema() {
         // utility class
     }
@@ -138,6 +198,22 @@ public class TimescaleDBSchema {
      */
     public static void initialize(Connection connection, String chunkInterval, int compressionAfterDays,
             int retentionDays) throws SQLException {
+        initialize(connection, chunkInterval, compressionAfterDays, retentionDays, List.of());
+    }
+
+    /**
+     * Initializes the full schema including continuous aggregates. Throws {@link SQLException} if the TimescaleDB
+     * extension is not installed or if any DDL statement fails.
+     *
+     * @param connection An open JDBC connection.
+     * @param chunkInterval Chunk interval for the hypertable, e.g. {@code "7 days"}.
+     * @param compressionAfterDays Compress chunks older than N days. 0 = disabled.
+     * @param retentionDays Drop data older than N days via retention policy. 0 = disabled.
+     * @param aggregates Continuous aggregates to create, with a refresh policy each.
+     * @throws SQLException on any database error, including missing TimescaleDB extension.
+     */
+    public static void initialize(Connection connection, String chunkInterval, int compressionAfterDays,
+            int retentionDays, List<ContinuousAggregate> aggregates) throws SQLException {
         checkTimescaleDBExtension(connection);
         createTables(connection, chunkInterval);
         if (compressionAfterDays > 0) {
@@ -146,8 +222,33 @@ public class TimescaleDBSchema {
         if (retentionDays > 0) {
             setupRetentionPolicy(connection, retentionDays);
         }
-        LOGGER.info("TimescaleDB schema initialized (chunkInterval={}, compression={}d, retention={}d)", chunkInterval,
-                compressionAfterDays, retentionDays);
+        for (ContinuousAggregate aggregate : aggregates) {
+            setupContinuousAggregate(connection, aggregate);
+        }
+        LOGGER.info("TimescaleDB schema initialized (chunkInterval={}, compression={}d, retention={}d, aggregates={})",
+                chunkInterval, compressionAfterDays, retentionDays,
+                aggregates.stream().map(ContinuousAggregate::interval).toList());
+    }
+
+    /**
+     * Returns the freshness of all continuous aggregates of the {@code items} hypertable.
+     *
+     * @param connection An open JDBC connection.
+     * @return The status per aggregate, ordered by view name.
+     * @throws SQLException on any database error.
+     */
+    public static List<AggregateStatus> getContinuousAggregateStatus(Connection connection) throws SQLException {
+        List<AggregateStatus> result = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(SQL_SELECT_CONTINUOUS_AGGREGATE_STATUS)) {
+            while (rs.next()) {
+                Timestamp lastRefresh = rs.getTimestamp(2);
+                Timestamp nextRefresh = rs.getTimestamp(3);
+                result.add(new AggregateStatus(rs.getString(1), lastRefresh != null ? lastRefresh.toInstant() : null,
+                        nextRefresh != null ? nextRefresh.toInstant() : null, rs.getString(4)));
+            }
+        }
+        return result;
     }
 
     private static void checkTimescaleDBExtension(Connection connection) throws SQLException {
@@ -214,6 +315,20 @@ public class TimescaleDBSchema {
         }
     }
 
+    private static void setupContinuousAggregate(Connection connection, ContinuousAggregate aggregate)
+            throws SQLException {
+        // refresh at most hourly, so that coarse aggregates include recently completed buckets of the raw data
+        String scheduleInterval = aggregate.bucket().compareTo(Duration.ofHours(1)) < 0 ? aggregate.sqlInterval()
+                : "1 hour";
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(SQL_CREATE_CONTINUOUS_AGGREGATE.formatted(aggregate.viewName(), aggregate.sqlInterval()));
+            stmt.execute(SQL_ADD_CONTINUOUS_AGGREGATE_POLICY.formatted(aggregate.viewName(), aggregate.sqlInterval(),
+                    scheduleInterval));
+            LOGGER.info("Continuous aggregate {} ready (bucket {}, refreshed every {})", aggregate.viewName(),
+                    aggregate.sqlInterval(), scheduleInterval);
+        }
+    }
+
     private static void setupRetentionPolicy(Connection connection, int retentionDays) throws SQLException {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute(SQL_ADD_RETENTION_POLICY.formatted(retentionDays));
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.items.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous writer for item states.
+ *
+ * <p>
+ * {@link #enqueue} only adds the row to a bounded queue and returns immediately. A dedicated writer thread collects
+ * up to {@code batchSize} rows, or the rows received within {@code flushIntervalMs}, resolves their item_ids and
+ * stores them with a single JDBC batch on one connection (see {@link TimescaleDBQuery#insertBatch}).
+ *
+ * <p>
+ * When the queue is full, {@link #enqueue} blocks the calling thread for up to {@code maxBlockMs} before the row is
+ * dropped, so memory stays bounded even if the database is unreachable for a long time.
+ *
+ * <p>
+ * If a batch fails, its rows are written one by one, so that a single bad row doesn't cause the whole batch to be
+ * lost.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault
+public class TimescaleDBWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimescaleDBWriter.class);
+
+    private static final long STOP_TIMEOUT_MS = 30_000;
+    private static final long POLL_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * A row waiting to be written.
+     *
+     * @param item The item the state belongs to.
+     * @param name The item name or alias the row is stored for.
+     * @param timestamp The measurement timestamp.
+     * @param row The mapped state row.
+     */
+    public record PendingRow(Item item, String name, ZonedDateTime timestamp, TimescaleDBMapper.Row row) {
+    }
+
+    /**
+     * Resolves the item_id of a row, creating the {@code item_meta} entry if needed.
+     */
+    @FunctionalInterface
+    public interface ItemIdResolver {
+        int resolve(Connection connection, PendingRow row) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final ItemIdResolver itemIdResolver;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long maxBlockMs;
+    private final BlockingQueue<PendingRow> queue;
+    private final Thread thread;
+
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder droppedRows = new LongAdder();
+    private final LongAdder writtenBatches = new LongAdder();
+    private final LongAdder backpressureEvents = new LongAdder();
+
+    private final AtomicLong queuedRows = new AtomicLong();
+    private final Object processedLock = new Object();
+    private long processedRows;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param dataSource The connection pool.
+     * @param itemIdResolver Resolves the item_ids of rows.
+     * @param batchSize Maximum number of rows written with one batch.
+     * @param flushIntervalMs Maximum time in milliseconds a row waits for more rows before the batch is written.
+     * @param queueSize Maximum number of rows waiting to be written.
+     * @param maxBlockMs Maximum time in milliseconds {@link #enqueue} blocks when the queue is full.
+     */
+    public TimescaleDBWriter(DataSource dataSource, ItemIdResolver itemIdResolver, int batchSize, long flushIntervalMs,
+            int queueSize, long maxBlockMs) {
+        this.dataSource = dataSource;
+        this.itemIdResolver = itemIdResolver;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(0, flushIntervalMs);
+        this.maxBlockMs = Math.max(0, maxBlockMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.batchSize, queueSize));
+        this.thread = new NamedThreadFactory("timescaledb-writer").newThread(this::run);
+    }
+
+    public void start() {
+        thread.start();
+        LOGGER.debug("TimescaleDB writer started: batchSize={}, flushInterval={}ms, queueSize={}", batchSize,
+                flushIntervalMs, getQueueCapacity());
+    }
+
+    /**
+     * Stops the writer after all queued rows have been written.
+     */
+    public void stop() {
+        running = false;
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            LOGGER.warn("TimescaleDB writer did not finish within {}ms — {} queued rows are lost", STOP_TIMEOUT_MS,
+                    queue.size());
+            thread.interrupt();
+        }
+        LOGGER.debug("TimescaleDB writer stopped: {} rows written in {} batches, {} failed, {} dropped",
+                writtenRows.sum(), writtenBatches.sum(), failedRows.sum(), droppedRows.sum());
+    }
+
+    /**
+     * Adds a row to the queue, blocking for up to {@code maxBlockMs} if the queue is full.
+     *
+     * @return {@code true} if the row was queued, {@code false} if it was dropped.
+     */
+    public boolean enqueue(PendingRow row) {
+        if (!running) {
+            droppedRows.increment();
+            return false;
+        }
+        if (queue.offer(row)) {
+            queuedRows.incrementAndGet();
+            return true;
+        }
+        backpressureEvents.increment();
+        try {
+            if (queue.offer(row, maxBlockMs, TimeUnit.MILLISECONDS)) {
+                queuedRows.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedRows.increment();
+        LOGGER.warn("TimescaleDB write queue is full ({} rows) — dropping state of item '{}'", getQueueCapacity(),
+                row.name());
+        return false;
+    }
+
+    /**
+     * Waits until all rows queued before this call have been processed, i.e. written or counted as failed.
+     *
+     * @param timeoutMs Maximum time in milliseconds to wait.
+     * @return {@code true} if all rows have been processed, {@code false} if the timeout elapsed or the writer thread
+     *         has terminated before.
+     */
+    public boolean flush(long timeoutMs) {
+        long target = queuedRows.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (processedLock) {
+            while (processedRows < target) {
+                long wait = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (wait <= 0 || !thread.isAlive()) {
+                    return false;
+                }
+                try {
+                    processedLock.wait(Math.min(wait, 100));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    // wait in short steps, so that stop() doesn't have to wait for the flush interval
+                    PendingRow next = queue.poll(Math.min(wait, POLL_STEP_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error in TimescaleDB writer: {}", e.getMessage(), e);
+                failedRows.add(batch.size());
+            } finally {
+                synchronized (processedLock) {
+                    processedRows += batch.size();
+                    processedLock.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingRow> batch) {
+        long start = System.nanoTime();
+        try (Connection conn = dataSource.getConnection()) {
+            List<TimescaleDBQuery.BatchRow> rows = new ArrayList<>(batch.size());
+            for (PendingRow row : batch) {
+                try {
+                    rows.add(new TimescaleDBQuery.BatchRow(itemIdResolver.resolve(conn, row), row.timestamp(),
+                            row.row()));
+                } catch (SQLException e) {
+                    LOGGER.error("Failed to resolve item_id for item '{}': {}", row.name(), e.getMessage(), e);
+                    failedRows.increment();
+                }
+            }
+            try {
+                TimescaleDBQuery.insertBatch(conn, rows);
+            } catch (SQLException e) {
+                LOGGER.warn("Failed to store batch of {} rows, storing them one by one: {}", rows.size(),
+                        e.getMessage());
+                writeRowByRow(conn, rows);
+                return;
+            }
+            writtenRows.add(rows.size());
+            writtenBatches.increment();
+            LOGGER.debug("Stored {} rows in {}ms", rows.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException e) {
+            LOGGER.error("Failed to store {} rows: {}", batch.size(), e.getMessage(), e);
+            failedRows.add(batch.size());
+        }
+    }
+
+    private void writeRowByRow(Connection conn, List<TimescaleDBQuery.BatchRow> rows) {
+        for (TimescaleDBQuery.BatchRow row : rows) {
+            try {
+                TimescaleDBQuery.insert(conn, row.itemId(), row.timestamp(), row.row());
+                writtenRows.increment();
+            } catch (SQLException e) {
+                LOGGER.error("Failed to store row of item_id={} at {}: {}", row.itemId(), row.timestamp(),
+                        e.getMessage(), e);
+                failedRows.increment();
+            }
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.sum();
+    }
+
+    public long getFailedRows() {
+        return failedRows.sum();
+    }
+
+    public long getDroppedRows() {
+        return droppedRows.sum();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.sum();
+    }
+
+    public long getBackpressureEvents() {
+        return backpressureEvents.sum();
+    }
+}
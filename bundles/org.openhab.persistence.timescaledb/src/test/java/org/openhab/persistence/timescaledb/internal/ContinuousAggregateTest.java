@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ContinuousAggregate}.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault({ DefaultLocation.RETURN_TYPE, DefaultLocation.PARAMETER })
+class ContinuousAggregateTest {
+
+    @Test
+    void parseListSortsByBucketAndIgnoresDuplicates() {
+        List<ContinuousAggregate> aggregates = ContinuousAggregate.parseList(" 1d, 15m,1h,1d ,");
+
+        assertEquals(List.of("15m", "1h", "1d"), aggregates.stream().map(ContinuousAggregate::interval).toList());
+        assertEquals(Duration.ofMinutes(15), aggregates.get(0).bucket());
+        assertEquals("1 hour", aggregates.get(1).sqlInterval());
+        assertEquals("items_agg_1d", aggregates.get(2).viewName());
+    }
+
+    @Test
+    void parseListEmptyReturnsNoAggregates() {
+        assertTrue(ContinuousAggregate.parseList("").isEmpty());
+    }
+
+    @Test
+    void parseListRejectsIntervalNotInAllowlist() {
+        assertThrows(IllegalArgumentException.class, () -> ContinuousAggregate.parseList("1h,1h; DROP TABLE items"));
+    }
+
+    @Test
+    void selectReturnsCoarsestAggregateMeetingMinPoints() {
+        List<ContinuousAggregate> aggregates = ContinuousAggregate.parseList("15m,1h,1d");
+
+        assertNull(ContinuousAggregate.select(aggregates, Duration.ofDays(1), 500));
+        assertEquals("15m", ContinuousAggregate.select(aggregates, Duration.ofDays(7), 500).interval());
+        assertEquals("1h", ContinuousAggregate.select(aggregates, Duration.ofDays(30), 500).interval());
+        assertEquals("1d", ContinuousAggregate.select(aggregates, Duration.ofDays(730), 500).interval());
+    }
+}
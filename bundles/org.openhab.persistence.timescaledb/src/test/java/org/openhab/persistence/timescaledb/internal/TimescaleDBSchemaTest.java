@@ -353,4 +353,30 @@ class TimescaleDBSchemaTest {
         assertTrue(createTableIdx < migrationIdx,
                 "Migration must run after CREATE TABLE item_meta so that the ALTER runs on an existing table");
     }
+
+    @Test
+    void initializeWithaggregatesCreatesviewAndRefreshpolicy() throws SQLException {
+        var capturedSql = new java.util.ArrayList<String>();
+        doAnswer(inv -> {
+            capturedSql.add(inv.getArgument(0));
+            return false;
+        }).when(statement).execute(anyString());
+
+        TimescaleDBSchema.initialize(connection, "7 days", 0, 0, ContinuousAggregate.parseList("15m,1d"));
+
+        assertTrue(capturedSql.stream().anyMatch(s -> s.contains("CREATE MATERIALIZED VIEW IF NOT EXISTS items_agg_15m")
+                && s.contains("timescaledb.continuous") && s.contains("time_bucket(INTERVAL '15 minutes', time)")));
+        assertTrue(capturedSql.stream()
+                .anyMatch(s -> s.contains("add_continuous_aggregate_policy('items_agg_15m'")
+                        && s.contains("schedule_interval => INTERVAL '15 minutes'")));
+        assertTrue(capturedSql.stream().anyMatch(s -> s.contains("add_continuous_aggregate_policy('items_agg_1d'")
+                && s.contains("end_offset => INTERVAL '1 day'") && s.contains("schedule_interval => INTERVAL '1 hour'")));
+    }
+
+    @Test
+    void initializeWithoutaggregatesCreatesnoview() throws SQLException {
+        TimescaleDBSchema.initialize(connection, "7 days", 0, 0);
+
+        verify(statement, never()).execute(contains("CREATE MATERIALIZED VIEW"));
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.timescaledb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.DefaultLocation;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+
+/**
+ * Unit tests for {@link TimescaleDBWriter} using mocked JDBC connections.
+ *
+ * @author Jan Vybíral - Initial contribution
+ */
+@NonNullByDefault({ DefaultLocation.RETURN_TYPE, DefaultLocation.PARAMETER })
+@SuppressWarnings("null")
+class TimescaleDBWriterTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+    }
+
+    private static TimescaleDBWriter.PendingRow row(String name) {
+        return new TimescaleDBWriter.PendingRow(new NumberItem(name), name, ZonedDateTime.now(),
+                new TimescaleDBMapper.Row(1.0, null, null));
+    }
+
+    @Test
+    void stopWritesQueuedRowsInBatches() throws Exception {
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> 7, 10, 60_000, 100, 0);
+        writer.start();
+        for (int i = 0; i < 25; i++) {
+            assertTrue(writer.enqueue(row("Sensor" + i)));
+        }
+        writer.stop();
+
+        assertEquals(25, writer.getWrittenRows());
+        assertEquals(3, writer.getWrittenBatches());
+        assertEquals(0, writer.getQueueDepth());
+        verify(preparedStatement, times(25)).addBatch();
+        verify(preparedStatement, times(3)).executeBatch();
+        verify(preparedStatement, never()).executeUpdate();
+    }
+
+    @Test
+    void fullQueueDropsRows() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }, 1, 0, 2, 0);
+        writer.start();
+
+        writer.enqueue(row("Busy"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.enqueue(row("A")));
+        assertTrue(writer.enqueue(row("B")));
+        assertFalse(writer.enqueue(row("C")));
+
+        release.countDown();
+        writer.stop();
+
+        assertEquals(1, writer.getDroppedRows());
+        assertEquals(1, writer.getBackpressureEvents());
+        assertEquals(3, writer.getWrittenRows());
+    }
+
+    @Test
+    void failedItemIdResolutionSkipsOnlyThatRow() throws Exception {
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> {
+            if ("Broken".equals(row.name())) {
+                throw new SQLException("boom");
+            }
+            return 1;
+        }, 10, 60_000, 100, 0);
+        writer.start();
+        writer.enqueue(row("Broken"));
+        writer.enqueue(row("Fine"));
+        writer.stop();
+
+        assertEquals(1, writer.getFailedRows());
+        assertEquals(1, writer.getWrittenRows());
+        verify(preparedStatement, times(1)).addBatch();
+    }
+
+    @Test
+    void flushWaitsForQueuedRows() throws Exception {
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> 1, 10, 200, 100, 0);
+        writer.start();
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(row("Sensor" + i));
+        }
+
+        assertTrue(writer.flush(5000));
+        assertEquals(5, writer.getWrittenRows());
+        assertEquals(0, writer.getQueueDepth());
+        writer.stop();
+    }
+
+    @Test
+    void flushDoesNotWaitForWriterThatIsNotRunning() throws Exception {
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> 1, 10, 0, 100, 0);
+        assertTrue(writer.flush(1000));
+
+        writer.enqueue(row("Sensor"));
+        assertFalse(writer.flush(60_000));
+        assertEquals(1, writer.getQueueDepth());
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() throws Exception {
+        when(preparedStatement.executeBatch()).thenThrow(new SQLException("batch failed"));
+        when(preparedStatement.executeUpdate()).thenReturn(1).thenThrow(new SQLException("bad row")).thenReturn(1);
+        var writer = new TimescaleDBWriter(dataSource, (conn, row) -> 1, 10, 60_000, 100, 0);
+        writer.start();
+        writer.enqueue(row("A"));
+        writer.enqueue(row("B"));
+        writer.enqueue(row("C"));
+        writer.stop();
+
+        assertEquals(2, writer.getWrittenRows());
+        assertEquals(1, writer.getFailedRows());
+        assertEquals(0, writer.getWrittenBatches());
+        verify(preparedStatement, times(3)).executeUpdate();
+    }
+}
@@ -15,9 +15,11 @@ package org.openhab.transform.jinja.internal;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,13 +32,24 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * <p>
+ * The input is only parsed as JSON if the template uses <code>value_json</code>. Parsed templates are cached, so a
+ * template is parsed only once and not for every transformed value.
+ *
  * @author Jochen Klein - Initial contribution
+ * @author Jan Vybíral - Shared object mapper, lazy JSON parsing and template cache
  *
  */
 @NonNullByDefault
@@ -45,7 +58,20 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
+    private static final String VALUE_JSON = "value_json";
+    private static final char BOM = '\uFEFF';
+    private static final int MAX_CACHED_TEMPLATES = 256;
+
     private final Jinjava jinjava = new Jinjava();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Node> templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -63,17 +89,25 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        if (template.contains(VALUE_JSON)) {
+            // Jackson only skips a byte order mark when reading bytes, not when reading a string
+            String json = !value.isEmpty() && value.charAt(0) == BOM ? value.substring(1) : value;
+            if (mayBeJson(json)) {
+                try {
+                    JsonNode tree = objectMapper.readTree(json);
+                    bindings.put(VALUE_JSON, toObject(tree));
+                } catch (IOException e) {
+                    // ok, then value_json is null...
+                }
+            }
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
+        } catch (InterpretException e) {
+            throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
 
         logger.debug("transformation resulted in '{}'", transformationResult);
@@ -81,6 +115,80 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
+    /**
+     * Returns the parsed template, parsing it only if it is not cached yet. Templates with errors are not cached.
+     */
+    private Node getTemplate(String template) {
+        Node node;
+        synchronized (templateCache) {
+            node = templateCache.get(template);
+        }
+        if (node != null) {
+            return node;
+        }
+        JinjavaInterpreter interpreter = newInterpreter(Map.of());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            node = interpreter.parse(template);
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+        checkErrors(template, interpreter);
+        synchronized (templateCache) {
+            templateCache.put(template, node);
+        }
+        return node;
+    }
+
+    /**
+     * Renders a parsed template with a new interpreter, like {@link Jinjava#render(String, Map)} does for a template
+     * string.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Node node = getTemplate(template);
+        JinjavaInterpreter interpreter = newInterpreter(bindings);
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            String result = interpreter.render(node);
+            checkErrors(template, interpreter);
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    /**
+     * Creates an interpreter with its own context for the bindings. {@link Jinjava#newInterpreter()} would use the
+     * global context, which is shared by all transformations.
+     */
+    private JinjavaInterpreter newInterpreter(Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext(), bindings);
+        return new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+    }
+
+    private static void checkErrors(String template, JinjavaInterpreter interpreter) {
+        List<TemplateError> fatalErrors = interpreter.getErrorsCopy().stream()
+                .filter(error -> error.getSeverity() == ErrorType.FATAL).collect(Collectors.toList());
+        if (!fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, fatalErrors);
+        }
+    }
+
+    /**
+     * Checks if the value may be JSON, to avoid the cost of the exception thrown when parsing plain text fails.
+     */
+    private static boolean mayBeJson(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[' || c == '"' || c == '-' || (c >= '0' && c <= '9') || c == 't'
+                        || c == 'f' || c == 'n';
+            }
+        }
+        // an empty document is parsed to a missing node, i.e. value_json is null
+        return true;
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -113,4 +113,43 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testPlainValueIsNotJson() throws TransformationException {
+        assertEquals("false", processor.transform("{{ value_json is defined }}", "world"));
+        assertEquals("true", processor.transform("{{ value_json is defined }}", " [1, 2]"));
+        assertEquals("-1.5", processor.transform("{{ value_json }}", "-1.5"));
+    }
+
+    @Test
+    public void testTemplateWithoutValueJson() throws TransformationException {
+        assertEquals("{\"string\": \"world\"}", processor.transform("{{ value }}", "{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testCachedTemplateIsRenderedWithNewValue() throws TransformationException {
+        String template = "{{ value_json.string }} {{ value }}";
+        assertEquals("world {\"string\": \"world\"}", processor.transform(template, "{\"string\": \"world\"}"));
+        assertEquals("moon {\"string\": \"moon\"}", processor.transform(template, "{\"string\": \"moon\"}"));
+    }
+
+    @Test
+    public void testTemplateErrorIsReportedEveryTime() {
+        String template = "Hello {{{ value_json.string }}!";
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class, () -> processor.transform(template, "{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testJsonWithByteOrderMark() throws TransformationException {
+        assertEquals("world", processor.transform("{{ value_json.string }}", "\uFEFF{\"string\": \"world\"}"));
+    }
+
+    @Test
+    public void testBindingsAreNotKeptForTheNextValue() throws TransformationException {
+        String template = "{% if value_json is defined %}json{% else %}{{ value }}{% endif %}";
+        assertEquals("json", processor.transform(template, "{\"string\": \"world\"}"));
+        assertEquals("world", processor.transform(template, "world"));
+        assertEquals("false", processor.transform("{{ value_json is defined }}", "world"));
+    }
 }
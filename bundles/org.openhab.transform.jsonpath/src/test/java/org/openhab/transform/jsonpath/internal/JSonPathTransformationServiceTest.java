@@ -14,6 +14,9 @@ package org.openhab.transform.jsonpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -59,6 +62,63 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testSeveralPathsOnSameDocument() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("[1, 2]", processor.transform("$.*.id", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", new String(JSON_ARRAY)));
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("carol", processor.transform("$[0].name", JSON_ARRAY.replace("bob", "carol")));
+    }
+
+    @Test
+    public void testInterleavedDocumentsAreParsedOnce() throws TransformationException {
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            documents.add("{ \"id\":" + i + ", \"name\":\"sensor" + i + "\" }");
+        }
+        for (String document : documents) {
+            processor.transform("$.id", document);
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals("sensor" + i, processor.transform("$.name", documents.get(i)));
+        }
+
+        assertEquals(20, processor.getParsedDocuments());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentIsEvicted() throws TransformationException {
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            documents.add("{ \"id\":" + i + " }");
+        }
+        for (String document : documents) {
+            processor.transform("$.id", document);
+        }
+        assertEquals(65, processor.getParsedDocuments());
+
+        // the second document is still cached, the first one was evicted
+        assertEquals("1", processor.transform("$.id", documents.get(1)));
+        assertEquals(65, processor.getParsedDocuments());
+        assertEquals("0", processor.transform("$.id", documents.get(0)));
+        assertEquals(66, processor.getParsedDocuments());
+    }
+
+    @Test
+    public void testEqualSourceIsParsedAgain() throws TransformationException {
+        processor.transform("$[0].name", JSON_ARRAY);
+        processor.transform("$[0].name", new String(JSON_ARRAY));
+
+        assertEquals(2, processor.getParsedDocuments());
+    }
+
+    @Test
+    public void testInvalidJsonIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertThrows(TransformationException.class, () -> processor.transform("$.id", "{id:"));
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
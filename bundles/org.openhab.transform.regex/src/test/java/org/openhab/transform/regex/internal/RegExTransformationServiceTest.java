@@ -75,4 +75,14 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_repeated() throws TransformationException {
+        // method under test
+        assertEquals("42", processor.transform("TEMP:(\\d+)", "TEMP:42"));
+        assertNull(processor.transform("TEMP:(\\d+)", "HUM:42"));
+        assertEquals("17", processor.transform("TEMP:(\\d+)", " TEMP:17\n"));
+        assertEquals("T=17", processor.transform("s/TEMP:/T=/", "TEMP:17"));
+        assertEquals("T=42", processor.transform("s/TEMP:/T=/", "TEMP:42"));
+    }
 }
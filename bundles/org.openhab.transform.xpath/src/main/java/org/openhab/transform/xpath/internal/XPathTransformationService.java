@@ -13,12 +13,21 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,25 +44,44 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Neither {@link DocumentBuilder} nor {@link XPathExpression} are thread-safe, so every thread keeps its own parser
+ * and compiled expressions. Simple paths like <code>/a/b/text()</code> are evaluated while streaming through the
+ * input with StAX, without building the DOM.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Jan Vybíral - Reusable parsers, expression cache and streaming fast path
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 64;
+
+    /** An absolute path of element names without namespace prefix, selecting the text of the last element. */
+    private static final Pattern SIMPLE_TEXT_PATH = Pattern.compile("(/[A-Za-z_][A-Za-z0-9_.-]*)+/text\\(\\)");
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
-    @Override
-    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
-        if (xpathExpression == null || source == null) {
-            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
-        }
+    private final XMLInputFactory inputFactory = createInputFactory();
+    private final ThreadLocal<@Nullable ParserState> parserState = new ThreadLocal<>();
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+    /**
+     * The parser and the compiled expressions of a thread.
+     */
+    private static class ParserState {
+        final DocumentBuilder builder;
+        final XPath xpath = XPathFactory.newInstance().newXPath();
+        final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
 
-        StringReader stringReader = null;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        };
 
-        try {
+        ParserState() throws ParserConfigurationException {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,16 +91,52 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            builder = domFactory.newDocumentBuilder();
+        }
+
+        XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
+            }
+            return expr;
+        }
+    }
+
+    @Override
+    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
+        if (xpathExpression == null || source == null) {
+            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+        }
+
+        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+
+        if (SIMPLE_TEXT_PATH.matcher(xpathExpression).matches()) {
+            String transformationResult = streamText(xpathExpression, source);
+            if (transformationResult != null) {
+                logger.debug("transformation resulted in '{}'", transformationResult);
+                return transformationResult;
+            }
+        }
+
+        StringReader stringReader = null;
+
+        try {
+            ParserState state = getParserState();
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
             inputSource.setEncoding("UTF-8");
 
-            Document doc = builder.parse(inputSource);
+            Document doc;
+            try {
+                doc = state.builder.parse(inputSource);
+            } finally {
+                state.builder.reset();
+            }
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = state.getExpression(xpathExpression);
 
             String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
 
@@ -87,4 +151,90 @@ public class XPathTransformationService implements TransformationService {
             }
         }
     }
+
+    private ParserState getParserState() throws ParserConfigurationException {
+        ParserState state = parserState.get();
+        if (state == null) {
+            state = new ParserState();
+            parserState.set(state);
+        }
+        return state;
+    }
+
+    /**
+     * Evaluates a path matching {@link #SIMPLE_TEXT_PATH} by streaming through the input.
+     *
+     * The result is the first text node of an element at the path, or an empty string, like the XPath string value of
+     * the expression. The whole input is read, so malformed input is detected as with the DOM.
+     *
+     * @return The result, or <code>null</code> if the input has to be evaluated with the DOM, e.g. because it contains
+     *         a DTD or can't be parsed.
+     */
+    private @Nullable String streamText(String xpathExpression, String source) {
+        String[] path = xpathExpression.substring(1, xpathExpression.length() - "/text()".length()).split("/");
+        String result = null;
+        // depth of the current element, and the number of its ancestors-or-self matching the path
+        int depth = 0;
+        int matched = 0;
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(new StringReader(source));
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (matched == depth && depth < path.length && path[depth].equals(reader.getLocalName())
+                                && isEmpty(reader.getNamespaceURI())) {
+                            matched++;
+                        }
+                        depth++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (matched == depth) {
+                            matched--;
+                        }
+                        depth--;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (result == null && matched == path.length && depth == path.length) {
+                            result = reader.getText();
+                        }
+                        break;
+                    case XMLStreamConstants.DTD:
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        return null;
+                    default:
+                        break;
+                }
+            }
+            return result != null ? result : "";
+        } catch (XMLStreamException | RuntimeException e) {
+            logger.trace("Streaming evaluation of '{}' failed, falling back to DOM: {}", xpathExpression,
+                    e.getMessage());
+            return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private static boolean isEmpty(@Nullable String namespaceUri) {
+        return namespaceUri == null || namespaceUri.isEmpty();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+        return factory;
+    }
 }
@@ -38,4 +38,40 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformBySimpleTextPath() throws TransformationException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <PTZStatus version="2.0">
+                    <AbsoluteHigh>
+                        <elevation>0</elevation>
+                        <azimuth><!-- degrees -->4<![CDATA[50]]></azimuth>
+                        <azimuth>123</azimuth>
+                    </AbsoluteHigh>
+                </PTZStatus>
+                """;
+
+        assertEquals("450", processor.transform("/PTZStatus/AbsoluteHigh/azimuth/text()", xml));
+        assertEquals("0", processor.transform("/PTZStatus/AbsoluteHigh/elevation/text()", xml));
+        assertEquals("", processor.transform("/PTZStatus/AbsoluteHigh/missing/text()", xml));
+        assertEquals("", processor.transform("/AbsoluteHigh/azimuth/text()", xml));
+        assertEquals("450", processor.transform("//azimuth/text()", xml));
+    }
+
+    @Test
+    public void testSimpleTextPathIgnoresNamespacedElements() throws TransformationException {
+        String xml = """
+                <PTZStatus xmlns="http://www.hikvision.com/ver20/XMLSchema"><azimuth>450</azimuth></PTZStatus>\
+                """;
+
+        assertEquals("", processor.transform("/PTZStatus/azimuth/text()", xml));
+        assertEquals("450", processor.transform("/*[local-name()='PTZStatus']/*[local-name()='azimuth']/text()", xml));
+    }
+
+    @Test
+    public void testSimpleTextPathOnMalformedInput() {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("/root/value/text()", "<root><value>1</value>"));
+    }
 }
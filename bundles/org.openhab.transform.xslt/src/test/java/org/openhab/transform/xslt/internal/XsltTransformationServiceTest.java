@@ -13,16 +13,20 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -40,7 +44,7 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
             Files.createDirectories(transformHttpPath);
         }
 
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService(mock(WatchService.class));
     }
 
     @Test
@@ -54,4 +58,23 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testChangedStylesheetIsReloaded() throws TransformationException, IOException {
+        Path file = transformHttpPath.resolve("cached_weather.xsl");
+        String stylesheet = new String(
+                Objects.requireNonNull(getClass().getResourceAsStream("google_weather.xsl")).readAllBytes());
+        Files.writeString(file, stylesheet);
+
+        assertEquals("8", processor.transform("http/cached_weather.xsl", source));
+
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        Files.writeString(file, stylesheet.replace("temp_c", "temp_f"));
+        // the change is detected by the modification time, even before the file watcher reports it
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified.toMillis() + 2000));
+        assertEquals("46", processor.transform("http/cached_weather.xsl", source));
+
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("http", "cached_weather.xsl"));
+        assertEquals("46", processor.transform("http/cached_weather.xsl", source));
+    }
 }